@@ -0,0 +1,19 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/BenchmarkMain.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// JMH'nin komut satırı seçeneklerini kabul eder; gc profiler her zaman eklenir,
+// böylece throughput'un yanında gc.alloc.rate ve gc.alloc.rate.norm (işlem başına bayt) raporlanır.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
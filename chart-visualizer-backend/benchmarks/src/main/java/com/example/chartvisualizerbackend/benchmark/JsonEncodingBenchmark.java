@@ -0,0 +1,95 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/JsonEncodingBenchmark.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import com.example.chartvisualizerbackend.result.ColumnarBinaryWriter;
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.example.chartvisualizerbackend.service.BenchmarkCursors;
+import com.example.chartvisualizerbackend.service.QueryCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Bellekteki bir sonucun cevap gövdesine yazılması (veritabanı okuması hariç):
+// {"columns", "data"} satır Map'leri (varsayılan JSON cevabı), sütun bazlı JSON ve ikili sütun formatı.
+// ObjectMapper, Spring Boot'un kullandığı Jackson2ObjectMapperBuilder varsayılanlarıyla kurulur.
+// Kurulumda her formatın gövde boyutu (ham ve gzip'li) yazdırılır; format karşılaştırmalarındaki boyutlar buradan alınır.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class JsonEncodingBenchmark {
+
+    @Param({"narrow", "wide"})
+    public String shape;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> rowPayload;
+    private ColumnarResult columnarPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String sql = SyntheticData.query(shape, rows);
+        try (Connection connection = SyntheticData.connect()) {
+            try (QueryCursor cursor = BenchmarkCursors.open(connection, sql, 1000)) {
+                List<Map<String, Object>> data = new ArrayList<>();
+                while (cursor.next()) {
+                    data.add(cursor.readRow());
+                }
+                rowPayload = new HashMap<>();
+                rowPayload.put("columns", cursor.columns());
+                rowPayload.put("data", data);
+            }
+            try (QueryCursor cursor = BenchmarkCursors.open(connection, sql, 1000)) {
+                columnarPayload = ColumnarResult.read(cursor);
+            }
+        }
+        printSize("jsonRowMaps", out -> objectMapper.writeValue(out, rowPayload));
+        printSize("jsonColumnar", out -> objectMapper.writeValue(out, columnarPayload));
+        printSize("binaryColumnar", out -> ColumnarBinaryWriter.write(columnarPayload, out));
+    }
+
+    private interface Encoder {
+        void write(OutputStream out) throws Exception;
+    }
+
+    private void printSize(String format, Encoder encoder) throws Exception {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        encoder.write(raw);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            raw.writeTo(gzip);
+        }
+        System.out.printf("%n# %s shape=%s rows=%d: %d bytes, gzip %d bytes%n", format, shape, rows, raw.size(), compressed.size());
+    }
+
+    @Benchmark
+    public void jsonRowMaps() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), rowPayload);
+    }
+
+    @Benchmark
+    public void jsonColumnar() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), columnarPayload);
+    }
+
+    @Benchmark
+    public void binaryColumnar() throws Exception {
+        ColumnarBinaryWriter.write(columnarPayload, OutputStream.nullOutputStream());
+    }
+}
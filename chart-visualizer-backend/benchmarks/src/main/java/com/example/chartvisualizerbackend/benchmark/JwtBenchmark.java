@@ -0,0 +1,78 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/JwtBenchmark.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import com.example.chartvisualizerbackend.filter.JwtAuthFilter;
+import com.example.chartvisualizerbackend.jwt.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Her korumalı istekte çalışan token doğrulaması:
+// - verifyCached: aynı token'ın sonraki istekleri (doğrulanmış token önbelleği)
+// - verifyUncached: önbellek kapalıyken imza doğrulama ve claim çözümleme
+// - authFilter: JwtAuthFilter'ın tamamı (başlık okuma, doğrulama, kullanıcı yükleme, SecurityContext)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1rZXktb25seS1mb3Itam1oLXJ1bnMtMzItYnl0ZXM=";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private JwtAuthFilter authFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = newJwtUtil(10_000);
+        uncachedJwtUtil = newJwtUtil(0);
+        token = cachedJwtUtil.generateToken("bench");
+
+        UserDetailsService userDetailsService = username -> User.withUsername(username).password("{noop}x").roles("USER").build();
+        authFilter = new JwtAuthFilter(userDetailsService);
+        ReflectionTestUtils.setField(authFilter, "jwtUtil", cachedJwtUtil);
+        ReflectionTestUtils.setField(authFilter, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    private static JwtUtil newJwtUtil(int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken verifyCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Object authFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/charts/data");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            authFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/QueryBuildingBenchmark.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.query.ChartQueryCompiler;
+import com.example.chartvisualizerbackend.query.ChartQueryPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// İstek parametrelerinden SQL üretimi: fonksiyon çağrısının parametre bağlama listesi,
+// SELECT * sarmalaması ve aggregation planının gruplayan SQL'e derlenmesi.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBuildingBenchmark {
+
+    private final List<Map<String, Object>> params = List.of(
+            Map.of("name", "p_city", "value", "Ankara"),
+            Map.of("name", "p_limit", "value", 100),
+            Map.of("name", "p_since", "value", "2024-01-01"));
+    private final List<Map<String, String>> paramTypes = List.of(
+            Map.of("name", "p_city", "type", "text"),
+            Map.of("name", "p_limit", "type", "integer"),
+            Map.of("name", "p_since", "type", "date"));
+    private final List<Map<String, String>> columns = List.of(
+            Map.of("name", "id", "type", "int8"),
+            Map.of("name", "ts", "type", "timestamp"),
+            Map.of("name", "value", "type", "float8"),
+            Map.of("name", "region", "type", "text"));
+    private final Map<String, Object> timeAggregation = Map.of("x", "ts", "y", "value", "function", "avg", "bucket", "day");
+    private final Map<String, Object> groupAggregation = Map.of("x", "region", "y", "value", "function", "sum");
+
+    @Benchmark
+    public BoundQuery viewSelectAll() {
+        return ChartQueryCompiler.selectAll(ChartQueryCompiler.relation("metrics_view", null, null));
+    }
+
+    @Benchmark
+    public BoundQuery functionSelectAll() {
+        return ChartQueryCompiler.selectAll(ChartQueryCompiler.relation("get_customers_by_city", params, paramTypes));
+    }
+
+    @Benchmark
+    public BoundQuery timeBucketAggregation() {
+        BoundQuery relation = ChartQueryCompiler.relation("metrics_view", null, null);
+        return ChartQueryCompiler.compile(ChartQueryPlan.from(timeAggregation), relation, columns);
+    }
+
+    @Benchmark
+    public BoundQuery groupByAggregation() {
+        BoundQuery relation = ChartQueryCompiler.relation("get_customers_by_city", params, paramTypes);
+        return ChartQueryCompiler.compile(ChartQueryPlan.from(groupAggregation), relation, columns);
+    }
+}
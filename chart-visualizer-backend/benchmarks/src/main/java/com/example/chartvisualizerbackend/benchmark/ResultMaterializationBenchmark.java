@@ -0,0 +1,79 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/ResultMaterializationBenchmark.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import com.example.chartvisualizerbackend.result.ChartDataJsonWriter;
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.example.chartvisualizerbackend.service.BenchmarkCursors;
+import com.example.chartvisualizerbackend.service.QueryCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// ResultSet -> cevap dönüşümü: imleçten okunan satırların
+// - satır başına Map listesine (executeDynamicQuery),
+// - sütun bazlı ilkel tamponlara (ColumnarResult, "format": "columnar"),
+// - doğrudan JSON akışına (ChartDataJsonWriter, "stream": true)
+// çevrilmesi. Ölçülen süre sorgunun H2'de üretilmesini de içerir; üç yol için aynıdır.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ResultMaterializationBenchmark {
+
+    @Param({"narrow", "wide"})
+    public String shape;
+
+    @Param({"1000", "100000", "1000000", "5000000"})
+    public int rows;
+
+    private Connection connection;
+    private String sql;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = SyntheticData.connect();
+        sql = SyntheticData.query(shape, rows);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    public void rowMaps(Blackhole blackhole) throws Exception {
+        try (QueryCursor cursor = BenchmarkCursors.open(connection, sql, 1000)) {
+            List<Map<String, Object>> data = new ArrayList<>();
+            while (cursor.next()) {
+                data.add(cursor.readRow());
+            }
+            blackhole.consume(data);
+        }
+    }
+
+    @Benchmark
+    public ColumnarResult columnar() throws Exception {
+        try (QueryCursor cursor = BenchmarkCursors.open(connection, sql, 1000)) {
+            return ColumnarResult.read(cursor);
+        }
+    }
+
+    @Benchmark
+    public long streamJson() throws Exception {
+        try (QueryCursor cursor = BenchmarkCursors.open(connection, sql, 1000)) {
+            return new ChartDataJsonWriter(objectMapper).write(cursor, OutputStream.nullOutputStream());
+        }
+    }
+}
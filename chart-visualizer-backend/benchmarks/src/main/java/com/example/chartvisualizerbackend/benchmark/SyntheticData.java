@@ -0,0 +1,47 @@
+// src/main/java/com/example/chartvisualizerbackend/benchmark/SyntheticData.java
+package com.example.chartvisualizerbackend.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+// PostgreSQL modundaki H2 üzerinde sentetik sonuç kümeleri.
+// Satırlar tabloda tutulmaz, SYSTEM_RANGE'den sorgu anında üretilir; LAZY_QUERY_EXECUTION sayesinde
+// H2 sonucu bellekte biriktirmeden satır satır döndürür (5M satırda da heap'i benchmark edilen kod kullanır).
+final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=1");
+    }
+
+    // narrow: zaman serisi (id, ts, value); wide: 20 sütunlu, sayı/metin/tarih karışık satırlar.
+    // DATABASE_TO_LOWER ile SYSTEM_RANGE'in "X" sütununa erişilemediği için sütun r(x) olarak yeniden adlandırılır.
+    static String query(String shape, int rows) {
+        if ("narrow".equals(shape)) {
+            return "SELECT X AS id, DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') AS ts, "
+                    + "CAST(MOD(X * 7919, 100000) AS DOUBLE PRECISION) / 100 AS \"value\" FROM SYSTEM_RANGE(1, " + rows + ") AS r(x)";
+        }
+        if ("wide".equals(shape)) {
+            StringBuilder sql = new StringBuilder("SELECT X AS id, DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') AS ts");
+            for (int i = 1; i <= 6; i++) {
+                sql.append(", CAST(MOD(X * ").append(31 * i).append(", 1000) AS INTEGER) AS i").append(i);
+            }
+            for (int i = 1; i <= 6; i++) {
+                sql.append(", CAST(MOD(X * ").append(17 * i).append(", 100000) AS DOUBLE PRECISION) / 100 AS d").append(i);
+            }
+            // Düşük kardinaliteli metinler (şehir, bölge gibi) ve her satırda farklı bir metin
+            sql.append(", CASEWHEN(MOD(X, 3) = 0, 'İstanbul', CASEWHEN(MOD(X, 3) = 1, 'Ankara', 'İzmir')) AS city");
+            sql.append(", CASEWHEN(MOD(X, 2) = 0, 'eu', 'us') AS region");
+            sql.append(", CONCAT('customer-', X) AS customer");
+            sql.append(", CAST(MOD(X, 997) AS NUMERIC(10, 2)) AS amount");
+            sql.append(", CASEWHEN(MOD(X, 10) = 0, NULL, CAST(X AS BIGINT)) AS nullable_id");
+            sql.append(", CAST(TIMESTAMP '2024-01-01 00:00:00' AS DATE) AS \"day\"");
+            sql.append(" FROM SYSTEM_RANGE(1, ").append(rows).append(") AS r(x)");
+            return sql.toString();
+        }
+        throw new IllegalArgumentException("Bilinmeyen şekil: " + shape);
+    }
+}
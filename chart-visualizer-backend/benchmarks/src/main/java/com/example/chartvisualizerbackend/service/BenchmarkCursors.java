@@ -0,0 +1,43 @@
+// src/main/java/com/example/chartvisualizerbackend/service/BenchmarkCursors.java
+package com.example.chartvisualizerbackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// QueryCursor'ın yapıcısı paket içidir; benchmark'lar imleci bu yardımcıyla, havuz ve bulkhead olmadan açar.
+// Sorgu kaydı ve metrikler uygulamadaki gibi çalışır (süre sınırı yok, metrikler bellekteki registry'e yazılır).
+public final class BenchmarkCursors {
+
+    private static final RunningQueryRegistry RUNNING_QUERIES = new RunningQueryRegistry();
+    private static final QueryMetrics QUERY_METRICS = new QueryMetrics();
+
+    static {
+        ReflectionTestUtils.setField(QUERY_METRICS, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    private BenchmarkCursors() {
+    }
+
+    // fetchSize: DynamicConnectionService'teki chart.query.fetch-size karşılığı
+    public static QueryCursor open(Connection connection, String sql, int fetchSize) throws SQLException {
+        QueryContext context = QueryContext.none();
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        RunningQueryRegistry.RunningQuery running = RUNNING_QUERIES.register(context, null, statement);
+        ResultSet resultSet = statement.executeQuery();
+        return new QueryCursor(connection, statement, resultSet, null, running, new BorrowedConnection(),
+                QUERY_METRICS.scope("h2", "bench", context));
+    }
+
+    // Bağlantı benchmark boyunca açık kalır; imleç kapanınca yalnızca transaction kapatılır
+    private static final class BorrowedConnection extends TargetSession {
+        private BorrowedConnection() {
+            super("h2", "bench", null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/example/chartvisualizerbackend/config/MetricsConfig.java
+package com.example.chartvisualizerbackend.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Obje adı istekten gelir; sınırdan sonraki yeni obje adları için metrik üretilmez (zaman serisi sayısı patlamasın)
+    @Bean
+    public MeterFilter chartObjectTagLimit(@Value("${chart.metrics.max-objects:200}") int maxObjects) {
+        return MeterFilter.maximumAllowableTags("chart.", "object", maxObjects, MeterFilter.deny());
+    }
+}
@@ -4,9 +4,12 @@ package com.example.chartvisualizerbackend.config;
 // import com.example.chartvisualizerbackend.filter.JwtAuthFilter; // <-- BU IMPORT'U KALDIRDIK
 import com.example.chartvisualizerbackend.filter.JwtAuthFilter;
 import com.example.chartvisualizerbackend.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -40,6 +43,29 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    // Actuator uç noktaları: health herkese açık; prometheus metrikleri hedef host/veritabanı/kullanıcı adlarını
+    // (hikaricp havuz adları, "target" ve "object" etiketleri) içerdiği için kimlik doğrulaması ister.
+    // Prometheus toplayıcısı uzun ömürlü kimlik bilgisiyle (basic_auth) ya da geçerli bir JWT ile çekebilir.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, JwtAuthFilter authFilter) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().authenticated()
+                )
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .httpBasic(Customizer.withDefaults())
+                .authenticationProvider(authenticationProvider())
+                .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
     // filterChain metoduna JwtAuthFilter'ı parametre olarak enjekte ettik.
     // Spring, bu bean'i kendi otomatik olarak oluşturacaktır.
     @Bean
@@ -57,6 +83,8 @@ public class SecurityConfig {
                 }))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/api/auth/login").permitAll()
+                        // SSE/stream cevapları tamamlanınca yapılan async dispatch'te JWT tekrar okunmaz; istek zaten doğrulanmıştı
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
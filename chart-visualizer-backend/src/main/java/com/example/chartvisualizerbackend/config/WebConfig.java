@@ -0,0 +1,19 @@
+// src/main/java/com/example/chartvisualizerbackend/config/WebConfig.java
+package com.example.chartvisualizerbackend.config;
+
+import com.example.chartvisualizerbackend.result.ColumnarBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // İkili sütun formatı listenin sonuna eklenir; Accept başlığı onu açıkça istemedikçe JSON seçilir
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarBinaryHttpMessageConverter());
+    }
+}
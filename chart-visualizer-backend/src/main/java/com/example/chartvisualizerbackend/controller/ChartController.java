@@ -1,13 +1,42 @@
 // src/main/java/com/example/chartvisualizerbackend/controller/ChartController.java
 package com.example.chartvisualizerbackend.controller;
 
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.result.ChartDataJsonWriter;
+import com.example.chartvisualizerbackend.result.ColumnarBinaryWriter;
+import com.example.chartvisualizerbackend.result.SnapshotQuery;
+import com.example.chartvisualizerbackend.service.CatalogService;
+import com.example.chartvisualizerbackend.service.ChartDataService;
+import com.example.chartvisualizerbackend.service.ConnectionPoolRegistry;
+import com.example.chartvisualizerbackend.service.DashboardBatchService;
 import com.example.chartvisualizerbackend.service.DynamicConnectionService;
+import com.example.chartvisualizerbackend.service.LiveChartHub;
+import com.example.chartvisualizerbackend.service.PartitionedScanService;
+import com.example.chartvisualizerbackend.service.QueryContext;
+import com.example.chartvisualizerbackend.service.QueryCursor;
+import com.example.chartvisualizerbackend.service.QueryMetrics;
+import com.example.chartvisualizerbackend.service.ResultCache;
+import com.example.chartvisualizerbackend.service.RunningQueryRegistry;
+import com.example.chartvisualizerbackend.service.SnapshotStore;
+import com.example.chartvisualizerbackend.service.TargetBulkhead;
+import com.example.chartvisualizerbackend.service.TargetBusyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,56 +48,324 @@ public class ChartController {
     @Autowired
     private DynamicConnectionService dynamicConnectionService;
 
+    @Autowired
+    private ChartDataService chartDataService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ConnectionPoolRegistry connectionPoolRegistry;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private TargetBulkhead targetBulkhead;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    @Autowired
+    private LiveChartHub liveChartHub;
+
+    @Autowired
+    private DashboardBatchService dashboardBatchService;
+
+    @Autowired
+    private SnapshotStore snapshotStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/data")
-    public ResponseEntity<?> getChartData(@RequestBody Map<String, Object> requestBody) {
+    public ResponseEntity<?> getChartData(@RequestBody Map<String, Object> requestBody, HttpServletRequest request,
+                                          HttpServletResponse response, Principal principal,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        QueryContext context = null;
         try {
+            // "requestId" verilirse sorgu /cancel/{requestId} ile iptal edilebilir, "timeoutMs" süre sınırını kısaltır
+            context = QueryContext.from(requestBody, principal.getName());
+
             String host = (String) requestBody.get("host");
             String dbName = (String) requestBody.get("dbName");
             String user = (String) requestBody.get("user");
             String password = (String) requestBody.get("password");
-            String objectName = (String) requestBody.get("objectName");
-            List<Map<String, Object>> params = (List<Map<String, Object>>) requestBody.get("parameters");
-
-            String sqlQuery;
-            if (params != null && !params.isEmpty()) {
-                StringBuilder paramString = new StringBuilder();
-                for (int i = 0; i < params.size(); i++) {
-                    Map<String, Object> param = params.get(i);
-                    String paramValue = String.valueOf(param.get("value"));
-                    String paramType = String.valueOf(param.get("type")).toLowerCase(); // Tipi küçük harfe çevir
-
-                    // Parametre tipine göre değeri formatla
-                    // PostgreSQL veri tiplerini daha kapsamlı ele alalım
-                    if (paramType.contains("char") || paramType.contains("text") || paramType.contains("date") || paramType.contains("time") || paramType.contains("uuid")) {
-                        // String türündeki değerleri tek tırnak içine al ve SQL enjeksiyonuna karşı kaçış karakteri kullan
-                        paramString.append("'").append(paramValue.replace("'", "''")).append("'");
-                    } else if (paramType.contains("int") || paramType.contains("numeric") || paramType.contains("decimal") || paramType.contains("float") || paramType.contains("double")) {
-                        // Sayısal değerleri doğrudan kullan
-                        paramString.append(paramValue);
-                    } else {
-                        // Bilinmeyen tipler için varsayılan olarak string muamelesi yap
-                        paramString.append("'").append(paramValue.replace("'", "''")).append("'");
-                    }
+            // Cevap boyutu ve yazılma süresi bu etiketlerle kaydedilir (bkz. ResponseMetricsFilter)
+            request.setAttribute(QueryMetrics.TARGET_ATTRIBUTE, QueryMetrics.target(host, dbName));
+            request.setAttribute(QueryMetrics.OBJECT_ATTRIBUTE, context.getObjectName());
 
-                    if (i < params.size() - 1) {
-                        paramString.append(", ");
+            // "preview" verilmişse önce örneklemden yaklaşık sonuç, ardından kesin sonuç yazılır (NDJSON)
+            if (requestBody.get("preview") != null) {
+                previewThenExact(requestBody, context, response);
+                return null; // Cevap doğrudan yazıldı
+            }
+
+            // "stream": true ise satırlar bellekte toplanmadan, imleçten okundukça cevaba yazılır
+            if (Boolean.TRUE.equals(requestBody.get("stream"))) {
+                request.setAttribute(QueryMetrics.STREAMED_ATTRIBUTE, true);
+                // "partition" verilmişse satırlar paralel okunan bölümlerden geldikçe yazılır
+                if (requestBody.get("partition") != null) {
+                    try (PartitionedScanService.Scan scan = chartDataService.openPartitionedScan(requestBody, context)) {
+                        try {
+                            streamChartData(scan, response);
+                        } catch (IOException e) {
+                            scan.cancel(RunningQueryRegistry.CancelReason.DISCONNECTED);
+                            throw e;
+                        }
+                    }
+                    return null; // Cevap doğrudan yazıldı
+                }
+                BoundQuery query = chartDataService.buildQuery(requestBody, context);
+                try (QueryCursor cursor = dynamicConnectionService.openCursor(host, dbName, user, password, query, context)) {
+                    try {
+                        streamChartData(cursor, response);
+                    } catch (IOException e) {
+                        // İstemci bağlantıyı kapattı; sorgu veritabanında boşuna çalışmaya devam etmesin
+                        cursor.cancel(RunningQueryRegistry.CancelReason.DISCONNECTED);
+                        throw e;
                     }
                 }
-                sqlQuery = String.format("SELECT * FROM %s(%s)", objectName, paramString.toString());
-            } else {
-                sqlQuery = String.format("SELECT * FROM %s", objectName);
+                return null; // Cevap doğrudan yazıldı
             }
 
-            Map<String, Object> result = dynamicConnectionService.executeDynamicQuery(host, dbName, user, password, sqlQuery);
-            return ResponseEntity.ok(result);
+            // İkili sütun formatı istendiyse sonuç sütun bazlı okunur (downsample, series, partition ve watermark cevapları JSON kalır)
+            if (accept != null && accept.contains(ColumnarBinaryWriter.MEDIA_TYPE) && !requestBody.containsKey("downsample")
+                    && !requestBody.containsKey("series") && !requestBody.containsKey("partition")
+                    && !requestBody.containsKey("watermark")) {
+                requestBody.put("format", "columnar");
+            }
+            return ResponseEntity.ok(chartDataService.getChartData(requestBody, context));
 
-        } catch (SQLException e) {
+        } catch (Exception e) {
+            // Akış sırasında cevap gönderilmeye başlandıysa hata gövdesi yazılamaz; eksik JSON istemcide hata olarak görünür
+            if (response.isCommitted()) return null;
+            return errorResponse(e, context);
+        }
+    }
+
+    // Cevap NDJSON'dur, her satır bir aşamadır:
+    // {"phase": "preview", "fraction", "limit", "result"} -> {"phase": "exact", "status": 200, "result"}
+    // Kesin sonuç önbellekte hazırsa ön izleme satırı yazılmaz. "preview": {"exact": false} yalnızca ön izlemeyi döndürür.
+    // Ön izleme sorgusunun hatası normal hata cevabıdır; kesin sonucun hatası {"phase": "exact", "status", "error"} satırıdır.
+    private void previewThenExact(Map<String, Object> requestBody, QueryContext context, HttpServletResponse response) throws Exception {
+        Map<String, Object> preview = (Map<String, Object>) requestBody.get("preview");
+        boolean exact = !Boolean.FALSE.equals(preview.get("exact"));
+        Map<String, Object> exactBody = new LinkedHashMap<>(requestBody);
+        exactBody.remove("preview");
+
+        Map<String, Object> previewLine = null;
+        if (!exact || !chartDataService.isCached(exactBody)) {
+            previewLine = new LinkedHashMap<>();
+            previewLine.put("phase", "preview");
+            previewLine.putAll(chartDataService.getPreviewData(requestBody, context));
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        if (previewLine != null) {
+            out.write(objectMapper.writeValueAsBytes(previewLine));
+            out.write('\n');
+            out.flush();
+        }
+        if (!exact) return;
+
+        Map<String, Object> exactLine = new LinkedHashMap<>();
+        exactLine.put("phase", "exact");
+        try {
+            Object result = chartDataService.getChartData(exactBody, context);
+            exactLine.put("status", HttpStatus.OK.value());
+            exactLine.put("result", result);
+        } catch (Exception e) {
+            ResponseEntity<?> error = errorResponse(e, context);
+            exactLine.put("status", error.getStatusCode().value());
+            exactLine.put("error", error.getBody());
+        }
+        out.write(objectMapper.writeValueAsBytes(exactLine));
+        out.write('\n');
+        out.flush();
+    }
+
+    // Grafik sorgusu hatasını durum koduna çevirir (/data ve /batch satırları için ortak)
+    private ResponseEntity<?> errorResponse(Exception e, QueryContext context) {
+        if (e instanceof TargetBusyException busy) {
+            return targetBusy(busy);
+        }
+        // 57014: query_canceled (süre sınırı, açık iptal ya da paylaşılan sorgunun iptali)
+        if (e instanceof SQLException sqlException
+                && ((context != null && context.getCancelReason() != null) || "57014".equals(sqlException.getSQLState()))) {
+            return queryCancelled(context != null ? context.getCancelReason() : null);
+        }
+        if (e instanceof SQLException) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Veritabanı hatası: " + e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Geçersiz istek: " + e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Beklenmedik bir hata oluştu: " + e.getMessage());
+    }
+
+    // Grafik sonucunun sütun istatistikleri: dolu/null sayısı, yaklaşık farklı değer sayısı,
+    // sayısal ve tarih sütunlarında min/max/ortalama ve yaklaşık yüzdelikler (bkz. ColumnStatistics).
+    // Gövde /data ile aynıdır; isteğe bağlı "columns" ve "quantiles" alanları alır.
+    @PostMapping("/stats")
+    public ResponseEntity<?> getColumnStatistics(@RequestBody Map<String, Object> requestBody, Principal principal) {
+        QueryContext context = null;
+        try {
+            context = QueryContext.from(requestBody, principal.getName());
+            return ResponseEntity.ok(chartDataService.getColumnStatistics(requestBody, context));
+        } catch (ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Geçersiz istek: " + e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(e, context);
+        }
+    }
+
+    // Grafiğin sonucunu sunucuda anlık görüntü olarak saklar; gövde /data ile aynıdır.
+    // Cevap: {"snapshotId", "objectName", "rowCount", "columns", "bytes", "createdAt", "expiresAt"}
+    @PostMapping("/snapshots")
+    public ResponseEntity<?> createSnapshot(@RequestBody Map<String, Object> requestBody, Principal principal) {
+        QueryContext context = null;
+        try {
+            context = QueryContext.from(requestBody, principal.getName());
+            SnapshotStore.Snapshot snapshot = chartDataService.createSnapshot(requestBody, context);
+            return ResponseEntity.ok(snapshot.describe(snapshotStore.getTtlMs()));
+        } catch (Exception e) {
+            return errorResponse(e, context);
+        }
+    }
+
+    // Anlık görüntüyü veritabanına gitmeden yeniden şekillendirir: sütun seçimi, filtre, sıralama, sayfalama
+    // ve "aggregation" (bkz. SnapshotQuery). Cevap /data ile aynı şekildedir.
+    @PostMapping("/snapshots/{snapshotId}/query")
+    public ResponseEntity<?> querySnapshot(@PathVariable String snapshotId, @RequestBody Map<String, Object> requestBody,
+                                           Principal principal) {
+        SnapshotStore.Snapshot snapshot = snapshotStore.get(snapshotId, principal.getName());
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Anlık görüntü bulunamadı ya da süresi doldu: " + snapshotId);
+        }
+        try {
+            return ResponseEntity.ok(SnapshotQuery.run(snapshot.data(), requestBody));
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Geçersiz istek: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Beklenmedik bir hata oluştu: " + e.getMessage());
         }
     }
 
+    // Kullanıcının anlık görüntüleri
+    @GetMapping("/snapshots")
+    public ResponseEntity<?> listSnapshots(Principal principal) {
+        return ResponseEntity.ok(snapshotStore.list(principal.getName()));
+    }
+
+    @DeleteMapping("/snapshots/{snapshotId}")
+    public ResponseEntity<?> deleteSnapshot(@PathVariable String snapshotId, Principal principal) {
+        return ResponseEntity.ok(Map.of("deleted", snapshotStore.delete(snapshotId, principal.getName())));
+    }
+
+    // Anlık görüntü sayısı, disk kullanımı ve silinen anlık görüntüler
+    @GetMapping("/snapshots/stats")
+    public ResponseEntity<?> getSnapshotStats() {
+        return ResponseEntity.ok(snapshotStore.getStats());
+    }
+
+    // Dashboard'un grafiklerini tek istekte çalıştırır (bkz. DashboardBatchService).
+    // Cevap NDJSON'dur: her grafik bittiğinde bir satır yazılır, satırlar grafik sırasıyla değil bitiş sırasıyla gelir.
+    // Satır: {"id", "index", "status": 200, "result": ...} ya da {"id", "index", "status": 4xx/5xx, "error": "..."}
+    @PostMapping("/batch")
+    public ResponseEntity<?> getBatchChartData(@RequestBody Map<String, Object> requestBody, HttpServletResponse response, Principal principal) {
+        DashboardBatchService.Batch batch;
+        try {
+            batch = dashboardBatchService.start(requestBody, principal.getName());
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Geçersiz istek: " + e.getMessage());
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            OutputStream out = response.getOutputStream();
+            for (int i = 0; i < batch.size(); i++) {
+                DashboardBatchService.Outcome outcome = batch.take();
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("id", outcome.id());
+                line.put("index", outcome.index());
+                if (outcome.error() == null) {
+                    line.put("status", HttpStatus.OK.value());
+                    line.put("result", outcome.result());
+                } else {
+                    ResponseEntity<?> error = errorResponse(outcome.error(), outcome.context());
+                    line.put("status", error.getStatusCode().value());
+                    line.put("error", error.getBody());
+                }
+                out.write(objectMapper.writeValueAsBytes(line));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattı; kalan grafikler başlatılmaz, çalışanlar iptal edilir
+            batch.cancel(RunningQueryRegistry.CancelReason.DISCONNECTED);
+        } catch (InterruptedException e) {
+            batch.cancel(RunningQueryRegistry.CancelReason.CANCELLED);
+            Thread.currentThread().interrupt();
+        }
+        return null; // Cevap doğrudan yazıldı
+    }
+
+    // Hedef veritabanının sorgu kuyruğu doluysa 429, kuyrukta bekleme süresi dolduysa 503 döner
+    private ResponseEntity<?> targetBusy(TargetBusyException e) {
+        HttpStatus status = e.isQueueFull() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body("Veritabanı meşgul: " + e.getMessage());
+    }
+
+    // Süresi dolan sorgular 504, iptal edilen ya da aynı requestId ile yenisi başlatılan sorgular 409 döner
+    private ResponseEntity<?> queryCancelled(RunningQueryRegistry.CancelReason reason) {
+        if (reason == RunningQueryRegistry.CancelReason.TIMEOUT) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("Sorgu süre sınırını aştı ve iptal edildi.");
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Sorgu iptal edildi.");
+    }
+
+    // İmleç yazmaya başlamadan önce açıldığı için SQL hataları hâlâ 400 olarak dönebilir.
+    // Satırlar yazılmaya başladıktan sonra oluşan hatalarda durum kodu değiştirilemez, cevap yarıda kesilir.
+    private void streamChartData(QueryCursor cursor, HttpServletResponse response) throws Exception {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        new ChartDataJsonWriter(objectMapper).write(cursor, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    private void streamChartData(PartitionedScanService.Scan scan, HttpServletResponse response) throws Exception {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        new ChartDataJsonWriter(objectMapper).write(scan.columns(), scan, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    // Grafiği canlı izler (Server-Sent Events). Gövde /data ile aynıdır; "intervalMs" grafiği ilk açan abonenin yenileme aralığıdır.
+    // Aynı grafiği izleyen tüm istemciler sunucudaki tek bir yenileme görevini paylaşır.
+    // Olaylar: "data" (grafik sonucu; watermark'lı grafiklerde yalnızca yeni satırlar) ve "error".
+    @PostMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestBody Map<String, Object> requestBody) {
+        try {
+            return liveChartHub.subscribe(requestBody);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz istek: " + e.getMessage(), e);
+        }
+    }
+
+    // Çalışan canlı grafikler, abone sayıları ve yavaş istemciler için atlanan olaylar
+    @GetMapping("/live")
+    public ResponseEntity<?> getLiveCharts() {
+        return ResponseEntity.ok(liveChartHub.getStats());
+    }
+
     // ... (diğer metodlar: getDatabaseObjects, getObjectParameters aynı kalır)
     @PostMapping("/objects")
     public ResponseEntity<?> getDatabaseObjects(@RequestBody Map<String, String> connectionInfo) {
@@ -80,6 +377,8 @@ public class ChartController {
 
             List<String> objects = dynamicConnectionService.getDatabaseObjects(host, dbName, user, password);
             return ResponseEntity.ok(objects);
+        } catch (TargetBusyException e) {
+            return targetBusy(e);
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Veritabanı bağlantı hatası: " + e.getMessage());
         } catch (Exception e) {
@@ -98,10 +397,75 @@ public class ChartController {
 
             List<Map<String, String>> parameters = dynamicConnectionService.getFunctionParameters(host, dbName, user, password, objectName);
             return ResponseEntity.ok(parameters);
+        } catch (TargetBusyException e) {
+            return targetBusy(e);
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Veritabanı hatası: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Beklenmedik bir hata oluştu: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Hedefin tüm kataloğunu (View'lar, fonksiyonlar ve parametreleri) tek cevapta döndürür
+    @PostMapping("/catalog")
+    public ResponseEntity<?> getCatalog(@RequestBody Map<String, String> connectionInfo) {
+        try {
+            return ResponseEntity.ok(catalogService.getCatalog(connectionInfo.get("host"), connectionInfo.get("dbName"),
+                    connectionInfo.get("user"), connectionInfo.get("password")));
+        } catch (TargetBusyException e) {
+            return targetBusy(e);
+        } catch (SQLException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Veritabanı hatası: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Beklenmedik bir hata oluştu: " + e.getMessage());
+        }
+    }
+
+    // Kataloğu süresinin dolmasını beklemeden yeniden yükler (ör. veritabanına yeni bir View eklendiğinde)
+    @PostMapping("/catalog/refresh")
+    public ResponseEntity<?> refreshCatalog(@RequestBody Map<String, String> connectionInfo) {
+        try {
+            return ResponseEntity.ok(catalogService.refreshCatalog(connectionInfo.get("host"), connectionInfo.get("dbName"),
+                    connectionInfo.get("user"), connectionInfo.get("password")));
+        } catch (TargetBusyException e) {
+            return targetBusy(e);
+        } catch (SQLException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Veritabanı hatası: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Beklenmedik bir hata oluştu: " + e.getMessage());
+        }
+    }
+
+    // Hedef veritabanı başına açık bağlantı havuzlarının durumunu döndürür
+    @GetMapping("/pools")
+    public ResponseEntity<?> getPoolStats() {
+        return ResponseEntity.ok(connectionPoolRegistry.getPoolStats());
+    }
+
+    // Kullanıcının verilen requestId ile çalışan sorgusunu iptal eder
+    @PostMapping("/cancel/{requestId}")
+    public ResponseEntity<?> cancelQuery(@PathVariable String requestId, Principal principal) {
+        boolean cancelled = runningQueryRegistry.cancel(principal.getName(), requestId);
+        return ResponseEntity.ok(Map.of("cancelled", cancelled));
+    }
+
+    // Hedef veritabanı başına çalışan/bekleyen sorgu sayıları ve reddedilen istekler
+    @GetMapping("/bulkheads")
+    public ResponseEntity<?> getBulkheadStats() {
+        return ResponseEntity.ok(targetBulkhead.getStats());
+    }
+
+    // Sonuç önbelleğinin isabet/ıskalama/atma sayaçları ve toplam boyutu
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(resultCache.getStats());
+    }
+
+    // Verilen host/dbName/objectName ile eşleşen önbellek girdilerini siler; boş gövde tüm önbelleği temizler
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<?> invalidateCache(@RequestBody(required = false) Map<String, String> requestBody) {
+        Map<String, String> filter = requestBody != null ? requestBody : Map.of();
+        int removed = resultCache.invalidate(filter.get("host"), filter.get("dbName"), filter.get("objectName"));
+        return ResponseEntity.ok(Map.of("removed", removed));
+    }
+}
@@ -2,6 +2,9 @@
 package com.example.chartvisualizerbackend.filter;
 
 import com.example.chartvisualizerbackend.jwt.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +14,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService; // UserDetailsService'i import et
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,6 +27,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // CustomUserDetailsService yerine UserDetailsService tipinde bir field tanımlıyoruz.
     // Bunun @Autowired olması döngüyü yeniden başlatabilir, o yüzden bunu SecurityConfig'ten enjekte edeceğiz.
     private final UserDetailsService userDetailsService; // <-- BURAYI DEĞİŞTİRDİK: @Autowired kaldırıldı ve final yapıldı
@@ -38,24 +45,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
-        }
+        if (authHeader != null && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Token doğrulama ve kullanıcı yükleme süresi: chart.jwt.filter{outcome=valid|invalid}
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "invalid";
+            try {
+                // İmza tek seferde doğrulanır; aynı token'ın sonraki isteklerinde önbellekten gelir
+                JwtUtil.VerifiedToken verified = jwtUtil.verify(authHeader.substring(7));
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // userDetailsService'i constructor'dan aldığımız için doğrudan kullanabiliriz.
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // userDetailsService'i constructor'dan aldığımız için doğrudan kullanabiliriz.
+                UserDetails userDetails = userDetailsService.loadUserByUsername(verified.username());
 
-            if (jwtUtil.validateToken(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                outcome = "valid";
+            } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+                // Geçersiz ya da süresi dolmuş token: istek kimliksiz devam eder, korumalı uçlar erişimi reddeder
+            } finally {
+                sample.stop(Timer.builder("chart.jwt.filter").tag("outcome", outcome).register(meterRegistry));
             }
         }
         filterChain.doFilter(request, response);
@@ -0,0 +1,103 @@
+// src/main/java/com/example/chartvisualizerbackend/filter/ResponseMetricsFilter.java
+package com.example.chartvisualizerbackend.filter;
+
+import com.example.chartvisualizerbackend.service.QueryMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// /api/charts/data cevaplarının boyutunu ve yazılma süresini (serialize aşaması) ölçer.
+// Controller isteğe hedef ve obje etiketlerini bırakır (QueryMetrics.TARGET_ATTRIBUTE / OBJECT_ATTRIBUTE);
+// süre ilk baytın yazılmasından isteğin bitişine kadardır. Sayılan boyut sıkıştırma öncesidir.
+@Component
+public class ResponseMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/charts/data");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        filterChain.doFilter(request, counting);
+
+        Object target = request.getAttribute(QueryMetrics.TARGET_ATTRIBUTE);
+        // Hata cevaplarının etiketleri doğrulanmamış hedef/obje adları olabilir; yalnızca başarılı cevaplar sayılır
+        if (target == null || counting.firstWriteAt == 0 || counting.getStatus() >= 400) return;
+        // Akışta satırlar okundukça yazılır; o süre fetch aşamasına aittir, yalnızca boyut kaydedilir
+        long serializeNanos = Boolean.TRUE.equals(request.getAttribute(QueryMetrics.STREAMED_ATTRIBUTE))
+                ? -1 : System.nanoTime() - counting.firstWriteAt;
+        queryMetrics.recordResponse((String) target, (String) request.getAttribute(QueryMetrics.OBJECT_ATTRIBUTE),
+                counting.bytes, serializeNanos);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private ServletOutputStream stream;
+        private long bytes;
+        private long firstWriteAt;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        count(1);
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        count(len);
+                        delegate.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        private void count(int length) {
+            if (firstWriteAt == 0) firstWriteAt = System.nanoTime();
+            bytes += length;
+        }
+    }
+}
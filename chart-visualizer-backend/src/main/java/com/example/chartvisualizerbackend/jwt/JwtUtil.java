@@ -2,10 +2,12 @@
 package com.example.chartvisualizerbackend.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -24,6 +27,58 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    // Doğrulanmış token önbelleğinin en fazla tutacağı token sayısı
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // Anahtar ve parser uygulama açılışında bir kez oluşturulur; JwtParser thread-safe'dir
+    private Key signKey;
+    private JwtParser jwtParser;
+
+    // İmzası doğrulanmış token'lar, süreleri dolana kadar tekrar doğrulanmaz.
+    // accessOrder = true: sınır aşılınca en uzun süredir kullanılmayan token atılır.
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    // İmzası doğrulanmış bir token'ın kullanıcı adı ve son geçerlilik anı (epoch ms)
+    public record VerifiedToken(String username, long expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signKey = getSignKey();
+        jwtParser = Jwts.parserBuilder().setSigningKey(signKey).build();
+        verifiedTokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
+    }
+
+    // Token'ı tek bir ayrıştırmayla doğrular ve kullanıcı adını döndürür.
+    // Daha önce doğrulanmış ve süresi dolmamış token'lar için imza tekrar kontrol edilmez.
+    // Geçersiz, süresi dolmuş ya da imzası tutmayan token'larda JwtException fırlatır.
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        synchronized (verifiedTokens) {
+            VerifiedToken cached = verifiedTokens.get(token);
+            if (cached != null) {
+                if (cached.expiresAt() > now) return cached;
+                verifiedTokens.remove(token);
+            }
+        }
+
+        // parseClaimsJws imzayı ve son kullanma tarihini kontrol eder
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
+
     // JWT'den kullanıcı adını çıkarır
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -42,18 +97,13 @@ public class JwtUtil {
 
     // JWT'deki tüm claim'leri çıkarır
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    // JWT'nin geçerlilik süresinin dolup dolmadığını kontrol eder
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     // Kullanıcı detaylarına göre JWT doğrulaması yapar
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (verified.username().equals(userDetails.getUsername()) && verified.expiresAt() > System.currentTimeMillis());
     }
 
     // Yeni bir JWT oluşturur
@@ -72,7 +122,7 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(expirationTime))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -0,0 +1,177 @@
+// src/main/java/com/example/chartvisualizerbackend/query/BoundQuery.java
+package com.example.chartvisualizerbackend.query;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// "?" yer tutuculu SQL metni ve sırasıyla bağlanacak değerler.
+// Parametre değerleri SQL metnine yazılmadığı için aynı sorgu farklı değerlerle aynı metni üretir;
+// PgJDBC bu metni bağlantı başına sunucu tarafında hazırlanmış (prepared) ifade olarak önbelleğe alabilir.
+public record BoundQuery(String sql, List<Bind> binds) {
+
+    // Bağlanacak değer ve JDBC tipi (java.sql.Types). Types.OTHER ile bağlanan metinlerin
+    // tipini Postgres fonksiyon imzasından kendisi çıkarır.
+    public record Bind(Object value, int sqlType) {
+    }
+
+    public BoundQuery {
+        binds = List.copyOf(binds);
+    }
+
+    public static BoundQuery of(String sql) {
+        return new BoundQuery(sql, List.of());
+    }
+
+    // Aynı bağlanan değerlerle SQL metnini önek/sonek ile genişletir (örn. SELECT * FROM ... AS src)
+    public BoundQuery wrap(String prefix, String suffix) {
+        return new BoundQuery(prefix + sql + suffix, binds);
+    }
+
+    // Sonekte yeni "?" yer tutucuları varsa onların değerleri mevcut değerlerin arkasına eklenir
+    public BoundQuery wrap(String prefix, String suffix, Bind... suffixBinds) {
+        List<Bind> all = new ArrayList<>(binds);
+        all.addAll(Arrays.asList(suffixBinds));
+        return new BoundQuery(prefix + sql + suffix, all);
+    }
+
+    public void bind(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < binds.size(); i++) {
+            Bind bind = binds.get(i);
+            if (bind.value() == null) {
+                statement.setNull(i + 1, bind.sqlType());
+            } else {
+                statement.setObject(i + 1, bind.value(), bind.sqlType());
+            }
+        }
+    }
+
+    // JDBC'den okunmuş bir değeri (örn. önceki sonucun son satırı) kendi Java tipine uygun JDBC tipiyle bağlar
+    public static Bind bindOf(Object value) {
+        if (value instanceof Integer) return new Bind(value, Types.INTEGER);
+        if (value instanceof Long) return new Bind(value, Types.BIGINT);
+        if (value instanceof Short) return new Bind(value, Types.SMALLINT);
+        if (value instanceof BigDecimal) return new Bind(value, Types.NUMERIC);
+        if (value instanceof Double) return new Bind(value, Types.DOUBLE);
+        if (value instanceof Float) return new Bind(value, Types.REAL);
+        if (value instanceof java.sql.Timestamp) return new Bind(value, Types.TIMESTAMP);
+        if (value instanceof java.sql.Date) return new Bind(value, Types.DATE);
+        return new Bind(value == null ? null : String.valueOf(value), Types.OTHER);
+    }
+
+    // İstekten gelen değeri fonksiyon parametresinin PostgreSQL tipine (format_type adı) göre çevirir.
+    // Boş değerler NULL olarak bağlanır; çevrilemeyen değerler IllegalArgumentException fırlatır.
+    public static Bind bindFor(Object value, String pgType) {
+        String type = normalizeType(pgType);
+        int sqlType = sqlTypeOf(type);
+        if (value == null || (value instanceof String text && text.isEmpty() && sqlType != Types.VARCHAR)) {
+            return new Bind(null, sqlType);
+        }
+
+        String text = String.valueOf(value).trim();
+        try {
+            switch (sqlType) {
+                case Types.SMALLINT:
+                    return new Bind(value instanceof Number number ? number.shortValue() : Short.parseShort(text), sqlType);
+                case Types.INTEGER:
+                    return new Bind(value instanceof Number number ? number.intValue() : Integer.parseInt(text), sqlType);
+                case Types.BIGINT:
+                    return new Bind(value instanceof Number number ? number.longValue() : Long.parseLong(text), sqlType);
+                case Types.NUMERIC:
+                    return new Bind(new BigDecimal(text), sqlType);
+                case Types.REAL:
+                    return new Bind(value instanceof Number number ? number.floatValue() : Float.parseFloat(text), sqlType);
+                case Types.DOUBLE:
+                    return new Bind(value instanceof Number number ? number.doubleValue() : Double.parseDouble(text), sqlType);
+                case Types.BOOLEAN:
+                    return new Bind(value instanceof Boolean bool ? bool : parseBoolean(text), sqlType);
+                case Types.DATE:
+                    return new Bind(LocalDate.parse(text), sqlType);
+                case Types.TIMESTAMP:
+                    return new Bind(parseTimestamp(text), sqlType);
+                case Types.VARCHAR:
+                    return new Bind(String.valueOf(value), sqlType);
+                default:
+                    return new Bind(String.valueOf(value), Types.OTHER);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Parametre değeri '" + value + "' " + pgType + " tipine çevrilemedi.");
+        }
+    }
+
+    // "character varying(50)", "numeric(10,2)" gibi tip adlarından uzunluk/ölçek kısmını atar
+    private static String normalizeType(String pgType) {
+        if (pgType == null) return "";
+        String type = pgType.toLowerCase(Locale.ROOT).trim();
+        int paren = type.indexOf('(');
+        if (paren >= 0) {
+            int close = type.indexOf(')', paren);
+            type = (type.substring(0, paren) + (close >= 0 ? type.substring(close + 1) : "")).trim();
+        }
+        return type;
+    }
+
+    private static int sqlTypeOf(String type) {
+        switch (type) {
+            case "smallint":
+            case "int2":
+                return Types.SMALLINT;
+            case "integer":
+            case "int":
+            case "int4":
+                return Types.INTEGER;
+            case "bigint":
+            case "int8":
+                return Types.BIGINT;
+            case "numeric":
+            case "decimal":
+                return Types.NUMERIC;
+            case "real":
+            case "float4":
+                return Types.REAL;
+            case "double precision":
+            case "float8":
+                return Types.DOUBLE;
+            case "boolean":
+            case "bool":
+                return Types.BOOLEAN;
+            case "date":
+                return Types.DATE;
+            case "timestamp":
+            case "timestamp without time zone":
+                return Types.TIMESTAMP;
+            case "text":
+            case "character varying":
+            case "varchar":
+                return Types.VARCHAR;
+            default:
+                // char(n), timestamptz, uuid, json vb. metin olarak gönderilir, dönüşümü sunucu yapar
+                return Types.OTHER;
+        }
+    }
+
+    private static boolean parseBoolean(String text) {
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "t", "yes", "1":
+                return true;
+            case "false", "f", "no", "0":
+                return false;
+            default:
+                throw new NumberFormatException(text);
+        }
+    }
+
+    // "2024-01-31", "2024-01-31 10:00:00" ve "2024-01-31T10:00" biçimlerini kabul eder
+    private static LocalDateTime parseTimestamp(String text) {
+        if (text.length() == 10) return LocalDate.parse(text).atStartOfDay();
+        return LocalDateTime.parse(text.replace(' ', 'T'));
+    }
+}
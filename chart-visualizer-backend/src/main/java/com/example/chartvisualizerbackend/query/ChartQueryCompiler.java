@@ -0,0 +1,228 @@
+// src/main/java/com/example/chartvisualizerbackend/query/ChartQueryCompiler.java
+package com.example.chartvisualizerbackend.query;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Grafik isteklerini SQL'e çevirir.
+// Kullanıcıdan gelen sütun adları, objenin gerçek sütun bilgileriyle karşılaştırılıp tırnak içine alınarak yazılır;
+// toplama fonksiyonu ve zaman kovası sabit listelerden seçildiği için SQL'e serbest metin girmez.
+public final class ChartQueryCompiler {
+
+    // Obje adı: şema ile nitelendirilmiş ya da nitelendirilmemiş basit tanımlayıcı (örn. sales_view, public.get_sales)
+    private static final Pattern OBJECT_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+
+    private static final List<String> TEMPORAL_TYPES = List.of("date", "timestamp", "timestamptz");
+    private static final List<String> INTEGER_TYPES = List.of("int2", "int4", "int8");
+    private static final List<String> DECIMAL_TYPES = List.of("float4", "float8", "numeric");
+
+    private ChartQueryCompiler() {
+    }
+
+    // FROM ifadesinde kullanılacak kaynak: view adı ya da "?" yer tutuculu fonksiyon çağrısı (fn(?, ?)).
+    // paramTypes: fonksiyonun katalogdaki IN parametreleri ("name"/"type"), değerler bu tiplere göre bağlanır.
+    // Katalogda karşılığı olmayan parametrelerde istekteki "type" alanı kullanılır.
+    public static BoundQuery relation(String objectName, List<Map<String, Object>> params, List<Map<String, String>> paramTypes) {
+        if (objectName == null || !OBJECT_NAME.matcher(objectName).matches()) {
+            throw new IllegalArgumentException("Geçersiz obje adı: " + objectName);
+        }
+        if (params == null || params.isEmpty()) {
+            return BoundQuery.of(objectName);
+        }
+
+        StringBuilder placeholders = new StringBuilder();
+        List<BoundQuery.Bind> binds = new ArrayList<>(params.size());
+        for (int i = 0; i < params.size(); i++) {
+            Map<String, Object> param = params.get(i);
+            String paramType = paramTypes != null && i < paramTypes.size()
+                    ? paramTypes.get(i).get("type")
+                    : (String) param.get("type");
+            binds.add(BoundQuery.bindFor(param.get("value"), paramType));
+
+            if (i > 0) placeholders.append(", ");
+            placeholders.append('?');
+        }
+        return new BoundQuery(objectName + "(" + placeholders + ")", binds);
+    }
+
+    // Objenin sütun bilgisini (ad ve tip) satır çekmeden öğrenmek için kullanılan sorgu
+    public static BoundQuery describeQuery(BoundQuery relation) {
+        return relation.wrap("SELECT * FROM ", " AS src LIMIT 0");
+    }
+
+    // Kaynağın rastgele örneklemi: her satır fraction olasılıkla seçilir, en fazla limit satır okunur.
+    // Objeler view ya da fonksiyon olduğu için TABLESAMPLE kullanılamaz; limit dolunca tarama erken biter
+    // (bu durumda örneklem taramada önce gelen satırlara kayar). Bunu önlemek için fraction, beklenen örneklem
+    // limitin altında kalacak şekilde seçilmelidir (bkz. estimateRows).
+    // Sonuç relation() gibi FROM ifadesinde kullanılır (selectAll, compile).
+    public static BoundQuery sample(BoundQuery relation, double fraction, int limit) {
+        return relation.wrap("(SELECT * FROM ", " AS sampled WHERE random() < ? LIMIT ?)",
+                new BoundQuery.Bind(fraction, Types.DOUBLE), new BoundQuery.Bind(limit, Types.INTEGER));
+    }
+
+    // Kaynağın planlayıcı tahminine göre satır sayısı; sorgu çalıştırılmaz, ilk plan satırındaki "rows=" okunur
+    public static BoundQuery estimateRows(BoundQuery relation) {
+        return relation.wrap("EXPLAIN SELECT * FROM ", " AS src");
+    }
+
+    // Objenin tüm satır ve sütunlarını seçen sorgu
+    public static BoundQuery selectAll(BoundQuery relation) {
+        return relation.wrap("SELECT * FROM ", "");
+    }
+
+    // Bölümleme sütununun en küçük ve en büyük değeri (paralel okumada aralıkları belirlemek için)
+    public static BoundQuery bounds(BoundQuery relation, String column) {
+        String quoted = quoteIdentifier(column);
+        return relation.wrap("SELECT min(" + quoted + "), max(" + quoted + ") FROM ", " AS src");
+    }
+
+    // Bölümleme sütununun [min, max] aralığını count eşit genişlikte parçaya bölen iç sınırlar (count - 1 değer).
+    // min/max veritabanından (Number, Timestamp, Date) ya da istekten (sayı, "yyyy-mm-dd[ hh:mm:ss]" metni) gelebilir.
+    // Dar aralıklarda tekrarlanan sınırlar atlanır; min/max null ise (sütun tamamen boş) tek bölüm kalır.
+    public static List<Object> splitPoints(String column, String type, Object min, Object max, int count) {
+        boolean integer = INTEGER_TYPES.contains(type);
+        boolean decimal = DECIMAL_TYPES.contains(type);
+        boolean temporal = TEMPORAL_TYPES.contains(type);
+        if (!integer && !decimal && !temporal) {
+            throw new IllegalArgumentException("Bölümleme sütunu sayısal ya da tarih/zaman olmalıdır: " + column);
+        }
+        List<Object> splits = new ArrayList<>();
+        if (min == null || max == null) return splits;
+
+        double lo = integer ? toLong(min) : decimal ? toDouble(min) : toEpochMillis(min);
+        double hi = integer ? toLong(max) : decimal ? toDouble(max) : toEpochMillis(max);
+        // Tamsayılarda üst sınır dahil edilerek bölünür (1..8 dört parçada 3, 5, 7 sınırlarını verir)
+        double width = (hi - lo + (integer ? 1 : 0)) / count;
+        double previous = lo;
+        for (int k = 1; k < count; k++) {
+            double point = lo + width * k;
+            Object split;
+            if (integer) {
+                point = Math.floor(point);
+                split = (long) point;
+            } else if (decimal) {
+                split = "numeric".equals(type) ? BigDecimal.valueOf(point) : (Object) point;
+            } else if ("date".equals(type)) {
+                split = java.sql.Date.valueOf(new java.sql.Date((long) point).toLocalDate());
+                point = ((java.sql.Date) split).getTime();
+            } else {
+                split = new Timestamp((long) point);
+            }
+            // Boş kalacak bölüm açılmasın: sınır bir öncekinden büyük olmalı ve üst sınırı aşmamalı
+            if (point <= previous || point > hi) continue;
+            splits.add(split);
+            previous = point;
+        }
+        return splits;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value).trim());
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.parseDouble(String.valueOf(value).trim());
+    }
+
+    private static long toEpochMillis(Object value) {
+        if (value instanceof java.util.Date date) return date.getTime();
+        String text = String.valueOf(value).trim();
+        try {
+            return text.length() == 10 ? java.sql.Date.valueOf(text).getTime() : Timestamp.valueOf(text.replace('T', ' ')).getTime();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz tarih/zaman sınırı: " + text);
+        }
+    }
+
+    // Sütun değeri [from, to) aralığında olan satırlar. from null ise alt sınır yoktur; to null ise üst sınır yoktur
+    // ve sütunu null olan satırlar da bu (son) bölüme girer. Böylece bölümler tüm satırları tam bir kez kapsar.
+    // ordered: satırlar sütuna göre sıralanır (null'lar sonda), bölümler sırayla eklenince sonuç da sıralı olur.
+    public static BoundQuery range(BoundQuery relation, String column, Object from, Object to, boolean ordered) {
+        String quoted = quoteIdentifier(column);
+        List<String> conditions = new ArrayList<>();
+        List<BoundQuery.Bind> binds = new ArrayList<>();
+        if (from != null) {
+            conditions.add(quoted + " >= ?");
+            binds.add(BoundQuery.bindOf(from));
+        }
+        if (to != null) {
+            conditions.add(quoted + " < ?");
+            binds.add(BoundQuery.bindOf(to));
+        } else if (from != null) {
+            conditions.set(0, "(" + conditions.get(0) + " OR " + quoted + " IS NULL)");
+        }
+        String suffix = " AS src" + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + (ordered ? " ORDER BY " + quoted : "");
+        return relation.wrap("SELECT * FROM ", suffix, binds.toArray(new BoundQuery.Bind[0]));
+    }
+
+    // Planı, yalnızca gereken sütunları seçen ve Postgres'te gruplayan SQL'e çevirir.
+    // columns: objenin gerçek sütunları (describeQuery ile alınan "name"/"type" listesi)
+    public static BoundQuery compile(ChartQueryPlan plan, BoundQuery relation, List<Map<String, String>> columns) {
+        String x = quoteIdentifier(plan.xColumn());
+        String xExpression = xExpression(plan, columns);
+
+        String yExpression;
+        String yAlias;
+        if (plan.yColumn() == null) {
+            yExpression = "count(*)";
+            yAlias = "count";
+        } else {
+            findColumn(columns, plan.yColumn());
+            yExpression = plan.aggregate().name().toLowerCase() + "(" + quoteIdentifier(plan.yColumn()) + ")";
+            yAlias = plan.yColumn();
+        }
+
+        return relation.wrap("SELECT " + xExpression + " AS " + x + ", " + yExpression + " AS " + quoteIdentifier(yAlias)
+                + " FROM ", " AS src GROUP BY 1 ORDER BY 1");
+    }
+
+    // Seri ayrımı için satırları gruplamadan yalnızca x (kovalanmış), y ve seri sütununu seçer;
+    // gruplama ve çevirme sunucuda yapılır (bkz. SeriesPivot). y verilmemişse (count) seçilmez.
+    public static BoundQuery project(ChartQueryPlan plan, String seriesColumn, BoundQuery relation, List<Map<String, String>> columns) {
+        if (seriesColumn == null || seriesColumn.equals(plan.xColumn()) || seriesColumn.equals(plan.yColumn())) {
+            throw new IllegalArgumentException("Seri sütunu zorunludur ve x/y sütunlarından farklı olmalıdır: " + seriesColumn);
+        }
+        findColumn(columns, seriesColumn);
+        StringBuilder select = new StringBuilder("SELECT ")
+                .append(xExpression(plan, columns)).append(" AS ").append(quoteIdentifier(plan.xColumn()));
+        if (plan.yColumn() != null) {
+            findColumn(columns, plan.yColumn());
+            select.append(", ").append(quoteIdentifier(plan.yColumn()));
+        }
+        select.append(", ").append(quoteIdentifier(seriesColumn));
+        return relation.wrap(select + " FROM ", " AS src");
+    }
+
+    private static String xExpression(ChartQueryPlan plan, List<Map<String, String>> columns) {
+        Map<String, String> xColumn = findColumn(columns, plan.xColumn());
+        String x = quoteIdentifier(plan.xColumn());
+        if (plan.timeBucket() != null) {
+            if (!TEMPORAL_TYPES.contains(xColumn.get("type"))) {
+                throw new IllegalArgumentException("Zaman kovası yalnızca tarih/zaman sütunlarında kullanılabilir: " + plan.xColumn());
+            }
+            return "date_trunc('" + plan.timeBucket() + "', " + x + ")";
+        }
+        if (plan.numericBucket() != null) {
+            return "floor(" + x + " / " + plan.numericBucket() + ") * " + plan.numericBucket();
+        }
+        return x;
+    }
+
+    // Sütun adını PostgreSQL tanımlayıcısı olarak tırnak içine alır
+    public static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    public static Map<String, String> findColumn(List<Map<String, String>> columns, String name) {
+        for (Map<String, String> column : columns) {
+            if (column.get("name").equals(name)) return column;
+        }
+        throw new IllegalArgumentException("Sütun bulunamadı: " + name);
+    }
+}
@@ -0,0 +1,58 @@
+// src/main/java/com/example/chartvisualizerbackend/query/ChartQueryPlan.java
+package com.example.chartvisualizerbackend.query;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Grafiğin ihtiyaç duyduğu indirgemeyi tarif eden küçük sorgu planı:
+// yalnızca x ve y sütunları seçilir, y bir toplama fonksiyonuyla özetlenir, x isteğe bağlı olarak kovalara ayrılır.
+// İstek gövdesindeki karşılığı: "aggregation": {"x": "order_date", "y": "total_amount", "function": "sum", "bucket": "month"}
+public record ChartQueryPlan(String xColumn, String yColumn, Aggregate aggregate, String timeBucket, Double numericBucket) {
+
+    public enum Aggregate {
+        SUM, AVG, COUNT, MIN, MAX;
+
+        public static Aggregate from(String name) {
+            if (name == null || name.isBlank()) return SUM;
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bilinmeyen toplama fonksiyonu: " + name);
+            }
+        }
+    }
+
+    // date_trunc'a verilebilecek zaman birimleri
+    public static final Set<String> TIME_BUCKETS = Set.of("minute", "hour", "day", "week", "month", "quarter", "year");
+
+    // İstek gövdesindeki "aggregation" nesnesinden planı oluşturur.
+    // "bucket" bir zaman birimi ("day", "month"...) ya da sayısal x sütunları için kova genişliği (örn. 100) olabilir.
+    public static ChartQueryPlan from(Map<String, Object> aggregation) {
+        String xColumn = (String) aggregation.get("x");
+        String yColumn = (String) aggregation.get("y");
+        Aggregate aggregate = Aggregate.from((String) aggregation.get("function"));
+        if (xColumn == null || xColumn.isBlank()) {
+            throw new IllegalArgumentException("aggregation için x sütunu zorunludur.");
+        }
+        if (yColumn == null && aggregate != Aggregate.COUNT) {
+            throw new IllegalArgumentException("aggregation için y sütunu zorunludur (count hariç).");
+        }
+
+        Object bucket = aggregation.get("bucket");
+        String timeBucket = null;
+        Double numericBucket = null;
+        if (bucket instanceof Number width) {
+            if (width.doubleValue() <= 0) {
+                throw new IllegalArgumentException("Kova genişliği pozitif olmalıdır.");
+            }
+            numericBucket = width.doubleValue();
+        } else if (bucket != null) {
+            timeBucket = bucket.toString().toLowerCase(Locale.ROOT);
+            if (!TIME_BUCKETS.contains(timeBucket)) {
+                throw new IllegalArgumentException("Bilinmeyen zaman kovası: " + bucket);
+            }
+        }
+        return new ChartQueryPlan(xColumn, yColumn, aggregate, timeBucket, numericBucket);
+    }
+}
@@ -0,0 +1,109 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ChartDataJsonWriter.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.service.QueryCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Açık bir imleçteki satırları, imleçten geldikleri anda JSON olarak yazar.
+// Çıktı, /api/charts/data'nın normal cevabıyla aynı şekildedir: {"columns": [...], "data": [{...}, ...]}
+// Satırlar bellekte biriktirilmediği için heap kullanımı satır sayısından bağımsızdır.
+public class ChartDataJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    // Her hücreden sonra flush yapılmasın; çıktı generator'ın tamponu doldukça gönderilir
+    private final ObjectWriter valueWriter;
+
+    // İmleç dışındaki satır kaynakları (ör. paralel bölümlerden birleştirilen satırlar).
+    // next() satırın değerlerini sütun sırasıyla döndürür; satırlar bitince null döner.
+    public interface Rows {
+        Object[] next() throws SQLException;
+    }
+
+    public ChartDataJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public long write(QueryCursor cursor, OutputStream out) throws IOException, SQLException {
+        long rowCount = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writeStart(generator, cursor.columns());
+            ResultSet resultSet = cursor.resultSet();
+            int columnCount = cursor.columnCount();
+            while (cursor.next()) {
+                generator.writeStartObject();
+                for (int i = 0; i < columnCount; i++) {
+                    generator.writeFieldName(cursor.columnName(i));
+                    writeValue(generator, resultSet.getObject(i + 1));
+                }
+                generator.writeEndObject();
+                rowCount++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return rowCount;
+    }
+
+    public long write(List<Map<String, String>> columns, Rows rows, OutputStream out) throws IOException, SQLException {
+        long rowCount = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writeStart(generator, columns);
+            Object[] values;
+            while ((values = rows.next()) != null) {
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(columns.get(i).get("name"));
+                    writeValue(generator, values[i]);
+                }
+                generator.writeEndObject();
+                rowCount++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return rowCount;
+    }
+
+    private void writeStart(JsonGenerator generator, List<Map<String, String>> columns) throws IOException {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Okuma yarıda kesilirse açık dizi/nesneler otomatik kapatılmasın; eksik cevap geçerli JSON gibi görünmemeli
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.writeStartObject();
+        generator.writeFieldName("columns");
+        valueWriter.writeValue(generator, columns);
+        generator.writeArrayFieldStart("data");
+    }
+
+    // Sık görülen tipler doğrudan yazılır, diğerleri (tarih vb.) uygulamanın ObjectMapper ayarlarıyla serileştirilir
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Double number) {
+            generator.writeNumber(number);
+        } else if (value instanceof BigDecimal number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Boolean flag) {
+            generator.writeBoolean(flag);
+        } else {
+            valueWriter.writeValue(generator, value);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnStatistics.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.service.QueryCursor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.*;
+
+// Sonucun sütun istatistikleri, satırlar bellekte tutulmadan tek geçişte hesaplanır:
+// dolu/null sayısı, yaklaşık farklı değer sayısı (HyperLogLog) ve sayısal/tarih sütunlarında
+// en küçük/en büyük değer, ortalama (yalnızca sayılar) ve yaklaşık yüzdelikler (KLL).
+// Sütun başına bellek sabittir (birkaç KB), cevap kaynağın boyutundan bağımsızdır.
+// Aynı sütunlarla hesaplanan iki sonuç merge ile birleştirilebilir (bölümler paralel okunabilir).
+public class ColumnStatistics {
+
+    public static final double[] DEFAULT_QUANTILES = {0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99};
+
+    private final List<Column> columns = new ArrayList<>();
+    private long rows;
+
+    // columns: sütun adları ve tipleri ("name"/"type", QueryCursor.columns ile aynı)
+    public ColumnStatistics(List<Map<String, String>> columns) {
+        for (Map<String, String> column : columns) {
+            this.columns.add(new Column(column.get("name"), column.get("type")));
+        }
+    }
+
+    // İmleçteki satırları okur. selected boşsa tüm sütunlar, değilse yalnızca verilenler hesaplanır.
+    public static ColumnStatistics read(QueryCursor cursor, List<String> selected) throws SQLException {
+        List<Integer> indexes = new ArrayList<>();
+        if (selected == null || selected.isEmpty()) {
+            for (int i = 0; i < cursor.columnCount(); i++) indexes.add(i);
+        } else {
+            for (String name : selected) indexes.add(columnIndex(cursor, name));
+        }
+        List<Map<String, String>> columnInfo = new ArrayList<>(indexes.size());
+        for (int index : indexes) columnInfo.add(cursor.columns().get(index));
+
+        ColumnStatistics statistics = new ColumnStatistics(columnInfo);
+        ResultSet resultSet = cursor.resultSet();
+        while (cursor.next()) {
+            for (int i = 0; i < indexes.size(); i++) {
+                statistics.columns.get(i).add(resultSet.getObject(indexes.get(i) + 1));
+            }
+            statistics.rows++;
+        }
+        return statistics;
+    }
+
+    // Satırdaki değerleri sütun sırasıyla ekler
+    public void addRow(Object... values) {
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).add(values[i]);
+        }
+        rows++;
+    }
+
+    public void merge(ColumnStatistics other) {
+        if (other.columns.size() != columns.size()) {
+            throw new IllegalArgumentException("Farklı sütunlarla hesaplanan istatistikler birleştirilemez.");
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).merge(other.columns.get(i));
+        }
+        rows += other.rows;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Column column(int index) {
+        return columns.get(index);
+    }
+
+    // Cevap: {"rows", "columns": [{"name", "type", "count", "nulls", "distinct", "min", "max", "mean", "quantiles"}]}
+    public Map<String, Object> toMap(double[] quantiles) {
+        List<Map<String, Object>> columnMaps = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            columnMaps.add(column.toMap(quantiles));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", rows);
+        result.put("columns", columnMaps);
+        return result;
+    }
+
+    private static int columnIndex(QueryCursor cursor, String columnName) {
+        for (int i = 0; i < cursor.columnCount(); i++) {
+            if (cursor.columnName(i).equals(columnName)) return i;
+        }
+        throw new IllegalArgumentException("Sütun bulunamadı: " + columnName);
+    }
+
+    public static final class Column {
+        private final String name;
+        private final String type;
+        private final HyperLogLog distinct = new HyperLogLog();
+        private long count;
+        private long nulls;
+        // Sayısal ve tarih değerleri; tarihler epoch milisaniye olarak tutulur
+        private KllSketch values;
+        private Object sample;
+        private double sum;
+        private double compensation;
+
+        public Column(String name, String type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        public void add(Object value) {
+            if (value == null) {
+                nulls++;
+                return;
+            }
+            count++;
+            distinct.add(value);
+
+            if (value instanceof Number number) {
+                double x = number.doubleValue();
+                // NaN ve sonsuz değerler aralığı ve ortalamayı bozmasın
+                if (!Double.isFinite(x) || !accepts(value)) return;
+                addValue(x);
+                // Kahan toplamı: milyonlarca satırda ortalamanın yuvarlama hatası birikmesin
+                double y = x - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            } else if (value instanceof Date date && accepts(value)) { // java.sql.Date ve Timestamp dahil
+                addValue(date.getTime());
+            }
+        }
+
+        public void merge(Column other) {
+            count += other.count;
+            nulls += other.nulls;
+            distinct.merge(other.distinct);
+            if (other.values != null && (sample == null || isNumeric() == other.isNumeric())) {
+                if (values == null) {
+                    values = new KllSketch();
+                    sample = other.sample;
+                }
+                values.merge(other.values);
+                double y = other.sum - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            }
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long nulls() {
+            return nulls;
+        }
+
+        // Tahmin dolu değer sayısını geçemez
+        public long distinct() {
+            return Math.min(distinct.estimate(), count);
+        }
+
+        // Sütunun ilk dolu değeri sayıysa yalnızca sayılar, tarihse yalnızca tarihler özetlenir
+        private boolean accepts(Object value) {
+            if (sample == null) {
+                sample = value;
+                return true;
+            }
+            return (sample instanceof Number) == (value instanceof Number);
+        }
+
+        private boolean isNumeric() {
+            return sample instanceof Number;
+        }
+
+        private void addValue(double x) {
+            if (values == null) values = new KllSketch();
+            values.add(x);
+        }
+
+        public Map<String, Object> toMap(double[] quantiles) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", name);
+            result.put("type", type);
+            result.put("count", count);
+            result.put("nulls", nulls);
+            result.put("distinct", distinct());
+            if (values != null && values.count() > 0) {
+                result.put("min", valueOf(values.min()));
+                result.put("max", valueOf(values.max()));
+                if (isNumeric()) {
+                    result.put("mean", sum / values.count());
+                }
+                Map<String, Object> quantileValues = new LinkedHashMap<>();
+                for (double q : quantiles) {
+                    quantileValues.put(String.valueOf(q), valueOf(values.quantile(q)));
+                }
+                result.put("quantiles", quantileValues);
+            }
+            return result;
+        }
+
+        // Tarih sütunlarında değer sütunun kendi tipine geri çevrilir
+        private Object valueOf(double x) {
+            if (isNumeric()) return x;
+            long millis = (long) x;
+            if (sample instanceof java.sql.Date) return new java.sql.Date(millis);
+            if (sample instanceof Time) return new Time(millis);
+            return new Timestamp(millis);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnVector.java
+package com.example.chartvisualizerbackend.result;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Tek bir sütunun tüm değerlerini tutan tampon.
+// Sayısal sütunlar kutulanmadan ilkel dizilerde, metin sütunları sözlük (dictionary) kodlamasıyla saklanır.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public abstract class ColumnVector {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    protected int size;
+    private final BitSet nulls = new BitSet();
+
+    // Vektörün JSON ve ikili formatlarda görünen kodlama adı (long, double, dictionary, object)
+    public abstract String getEncoding();
+
+    // ResultSet'in geçerli satırındaki değeri indeksle okuyup vektörün sonuna ekler
+    public abstract void read(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    // Okuma bittikten sonra tamponları gerçek boyuta küçültür
+    protected abstract void trim();
+
+    // Satır indeksindeki değeri kutulanmış olarak döndürür (satır bazlı dönüşümler için)
+    public abstract Object get(int row);
+
+    public int size() {
+        return size;
+    }
+
+    // Tamponların heap'te kapladığı yaklaşık bayt sayısı (önbellek boyut sınırı için)
+    public abstract long estimateBytes();
+
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    // Null olan satırların indeksleri; hiç null yoksa alan JSON'a yazılmaz
+    public int[] getNulls() {
+        return nulls.isEmpty() ? null : nulls.stream().toArray();
+    }
+
+    protected int getNullCount() {
+        return nulls.cardinality();
+    }
+
+    protected void markNull(int row) {
+        nulls.set(row);
+    }
+
+    protected static int grow(int capacity, int required) {
+        return Math.max(required, capacity + (capacity >> 1));
+    }
+
+    // PostgreSQL tip adına göre uygun vektörü seçer
+    public static ColumnVector forType(String pgType) {
+        String type = pgType == null ? "" : pgType.toLowerCase();
+        switch (type) {
+            case "int2":
+            case "int4":
+            case "int8":
+            case "oid":
+            // SQL standardı adları (JDBC sürücüsü bunları bildirirse, örn. H2)
+            case "smallint":
+            case "integer":
+            case "bigint":
+                return new LongColumnVector();
+            case "float4":
+            case "float8":
+            case "numeric":
+            case "real":
+            case "double":
+            case "double precision":
+                return new DoubleColumnVector();
+            case "text":
+            case "varchar":
+            case "bpchar":
+            case "name":
+            case "character varying":
+            case "character":
+                return new DictionaryColumnVector();
+            default:
+                return new ObjectColumnVector();
+        }
+    }
+
+    public static final class LongColumnVector extends ColumnVector {
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        @Override
+        public String getEncoding() {
+            return "long";
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            long value = resultSet.getLong(columnIndex);
+            if (size == values.length) values = Arrays.copyOf(values, grow(values.length, size + 1));
+            if (resultSet.wasNull()) markNull(size);
+            values[size++] = value;
+        }
+
+        @Override
+        protected void trim() {
+            if (values.length != size) values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        public long estimateBytes() {
+            return 16L + 8L * values.length;
+        }
+
+        public long getLong(int row) {
+            return values[row];
+        }
+
+        public long[] getValues() {
+            return values;
+        }
+    }
+
+    public static final class DoubleColumnVector extends ColumnVector {
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        @Override
+        public String getEncoding() {
+            return "double";
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            double value = resultSet.getDouble(columnIndex);
+            if (size == values.length) values = Arrays.copyOf(values, grow(values.length, size + 1));
+            if (resultSet.wasNull()) markNull(size);
+            values[size++] = value;
+        }
+
+        @Override
+        protected void trim() {
+            if (values.length != size) values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        public long estimateBytes() {
+            return 16L + 8L * values.length;
+        }
+
+        public double getDouble(int row) {
+            return values[row];
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+    }
+
+    // Her farklı metin bir kez sözlüğe yazılır, satırlar yalnızca sözlük indeksini (kod) tutar. Null için kod -1'dir.
+    public static final class DictionaryColumnVector extends ColumnVector {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] codes = new int[INITIAL_CAPACITY];
+
+        @Override
+        public String getEncoding() {
+            return "dictionary";
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            String value = resultSet.getString(columnIndex);
+            if (size == codes.length) codes = Arrays.copyOf(codes, grow(codes.length, size + 1));
+            if (value == null) {
+                markNull(size);
+                codes[size++] = -1;
+                return;
+            }
+            Integer code = index.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                index.put(value, code);
+                dictionary.add(value);
+            }
+            codes[size++] = code;
+        }
+
+        @Override
+        protected void trim() {
+            if (codes.length != size) codes = Arrays.copyOf(codes, size);
+        }
+
+        @Override
+        public Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        public long estimateBytes() {
+            long bytes = 16L + 4L * codes.length;
+            for (String value : dictionary) {
+                // Sözlük listesi, HashMap girdisi ve String'in kendisi
+                bytes += 8 + 48 + 40 + 2L * value.length();
+            }
+            return bytes;
+        }
+
+        public int getCode(int row) {
+            return codes[row];
+        }
+
+        public List<String> getDictionary() {
+            return dictionary;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        // Null satırlar zaten -1 koduyla işaretli
+        @Override
+        public int[] getNulls() {
+            return null;
+        }
+    }
+
+    // Tarih, boolean gibi özel kodlaması olmayan tipler için satır başına nesne tutar
+    public static final class ObjectColumnVector extends ColumnVector {
+        private final List<Object> values = new ArrayList<>();
+
+        @Override
+        public String getEncoding() {
+            return "object";
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            Object value = resultSet.getObject(columnIndex);
+            if (value == null) markNull(size);
+            values.add(value);
+            size++;
+        }
+
+        @Override
+        protected void trim() {
+            ((ArrayList<Object>) values).trimToSize();
+        }
+
+        @Override
+        public Object get(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        public long estimateBytes() {
+            return 16L + 8L * values.size() + 32L * (values.size() - getNullCount());
+        }
+
+        public List<Object> getValues() {
+            return values;
+        }
+
+        // Null değerler listede zaten null olarak görünür
+        @Override
+        public int[] getNulls() {
+            return null;
+        }
+    }
+}
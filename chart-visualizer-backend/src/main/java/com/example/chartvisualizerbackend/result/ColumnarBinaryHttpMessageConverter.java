@@ -0,0 +1,45 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnarBinaryHttpMessageConverter.java
+package com.example.chartvisualizerbackend.result;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// İstemci "Accept: application/vnd.chartvisualizer.columnar" gönderdiğinde ColumnarResult'ı ikili formatta yazar.
+// Yalnızca yazma yönünde çalışır; JSON varsayılan format olarak kalır.
+public class ColumnarBinaryHttpMessageConverter extends AbstractHttpMessageConverter<ColumnarResult> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(ColumnarBinaryWriter.MEDIA_TYPE);
+
+    public ColumnarBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ColumnarResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ColumnarResult readInternal(Class<? extends ColumnarResult> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("İkili sütun formatı yalnızca cevaplarda kullanılır.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ColumnarResult result, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputMessage.getBody(), 64 * 1024);
+        ColumnarBinaryWriter.write(result, out);
+        out.flush();
+    }
+}
@@ -0,0 +1,237 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnarBinaryWriter.java
+package com.example.chartvisualizerbackend.result;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// ColumnarResult'ı uzunluk önekli ikili formatta yazar (application/vnd.chartvisualizer.columnar).
+// Tüm sayılar big-endian'dır. Metinler: int32 bayt uzunluğu + UTF-8 baytları (-1 = null).
+// Değerler sütunun kendi genişliğinde yazılır; tarih ve zaman damgaları metin değil sayıdır.
+//
+//   "CVC2"                      4 bayt sihirli değer ve sürüm
+//   int32 rowCount
+//   int32 columnCount
+//   her sütun için:
+//     string name, string type  (PostgreSQL tip adı)
+//     int8   encoding           1 = int64, 2 = double, 3 = dictionary, 4 = string,
+//                               5 = int32, 6 = int16, 7 = timestamp, 8 = date
+//     int32  nullCount, ardından int32[nullCount] null satır indeksleri (dictionary ve string için 0)
+//     int64:      int64[rowCount]   (int8, oid)
+//     int32:      int32[rowCount]   (int4)
+//     int16:      int16[rowCount]   (int2)
+//     double:     float64[rowCount]
+//     timestamp:  int64[rowCount]   Unix epoch'tan bu yana mikrosaniye (UTC anı; JSON cevabındaki anla aynı)
+//     date:       int32[rowCount]   1970-01-01'den bu yana gün
+//     dictionary: int32 dictionarySize, string[dictionarySize], int32[rowCount] kodlar (-1 = null)
+//     string:     string[rowCount]  (diğer tipler; boolean: true/false)
+//   Null satırların değer alanı 0'dır.
+public final class ColumnarBinaryWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.chartvisualizer.columnar";
+
+    static final byte[] MAGIC = {'C', 'V', 'C', '2'};
+    static final byte ENCODING_LONG = 1;
+    static final byte ENCODING_DOUBLE = 2;
+    static final byte ENCODING_DICTIONARY = 3;
+    static final byte ENCODING_STRING = 4;
+    static final byte ENCODING_INT = 5;
+    static final byte ENCODING_SHORT = 6;
+    static final byte ENCODING_TIMESTAMP = 7;
+    static final byte ENCODING_DATE = 8;
+
+    // İlkel diziler bu boyutta parçalar halinde toplu olarak kopyalanır
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private ColumnarBinaryWriter() {
+    }
+
+    public static void write(ColumnarResult result, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+        int rowCount = result.getRowCount();
+
+        data.write(MAGIC);
+        data.writeInt(rowCount);
+        data.writeInt(result.getColumns().size());
+
+        List<ColumnVector> vectors = result.getVectors();
+        for (int c = 0; c < vectors.size(); c++) {
+            Map<String, String> column = result.getColumns().get(c);
+            writeString(data, column.get("name"));
+            writeString(data, column.get("type"));
+
+            ColumnVector vector = vectors.get(c);
+            String type = column.get("type") == null ? "" : column.get("type").toLowerCase(Locale.ROOT);
+            if (vector instanceof ColumnVector.LongColumnVector longVector) {
+                byte encoding = longEncoding(type);
+                data.writeByte(encoding);
+                writeNulls(data, vector.getNulls());
+                if (encoding == ENCODING_SHORT) writeShorts(data, chunk, longVector.getValues(), rowCount);
+                else if (encoding == ENCODING_INT) writeInts(data, chunk, longVector.getValues(), rowCount);
+                else writeLongs(data, chunk, longVector.getValues(), rowCount);
+            } else if (vector instanceof ColumnVector.DoubleColumnVector doubleVector) {
+                data.writeByte(ENCODING_DOUBLE);
+                writeNulls(data, vector.getNulls());
+                writeDoubles(data, chunk, doubleVector.getValues(), rowCount);
+            } else if (vector instanceof ColumnVector.DictionaryColumnVector dictionaryVector) {
+                data.writeByte(ENCODING_DICTIONARY);
+                data.writeInt(0);
+                List<String> dictionary = dictionaryVector.getDictionary();
+                data.writeInt(dictionary.size());
+                for (String value : dictionary) {
+                    writeString(data, value);
+                }
+                writeInts(data, chunk, dictionaryVector.getCodes(), rowCount);
+            } else if (isTimestamp(type) && allInstancesOf(vector, Timestamp.class, rowCount)) {
+                data.writeByte(ENCODING_TIMESTAMP);
+                writeNulls(data, nullRows(vector, rowCount));
+                long[] micros = new long[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (vector.get(row) instanceof Timestamp timestamp) micros[row] = epochMicros(timestamp);
+                }
+                writeLongs(data, chunk, micros, rowCount);
+            } else if ("date".equals(type) && allInstancesOf(vector, java.sql.Date.class, rowCount)) {
+                data.writeByte(ENCODING_DATE);
+                writeNulls(data, nullRows(vector, rowCount));
+                int[] days = new int[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (vector.get(row) instanceof java.sql.Date date) days[row] = (int) date.toLocalDate().toEpochDay();
+                }
+                writeInts(data, chunk, days, rowCount);
+            } else {
+                data.writeByte(ENCODING_STRING);
+                data.writeInt(0);
+                for (int row = 0; row < rowCount; row++) {
+                    writeString(data, toText(vector.get(row)));
+                }
+            }
+        }
+        data.flush();
+    }
+
+    // int2 ve int4 sütunları okunurken long'a genişletilir; dosyaya yine kendi genişlikleriyle yazılır
+    static byte longEncoding(String type) {
+        return switch (type) {
+            case "int2", "smallint" -> ENCODING_SHORT;
+            case "int4", "integer" -> ENCODING_INT;
+            default -> ENCODING_LONG;
+        };
+    }
+
+    static boolean isTimestamp(String type) {
+        return "timestamp".equals(type) || "timestamptz".equals(type);
+    }
+
+    // Sürücü beklenmeyen bir tip döndürdüyse (ör. sonsuz tarih) sütun metin olarak yazılır
+    private static boolean allInstancesOf(ColumnVector vector, Class<?> type, int rowCount) {
+        for (int row = 0; row < rowCount; row++) {
+            Object value = vector.get(row);
+            if (value != null && !type.isInstance(value)) return false;
+        }
+        return true;
+    }
+
+    private static int[] nullRows(ColumnVector vector, int rowCount) {
+        int[] rows = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (vector.get(row) == null) rows[count++] = row;
+        }
+        return count == 0 ? null : Arrays.copyOf(rows, count);
+    }
+
+    static long epochMicros(Timestamp timestamp) {
+        return Math.floorDiv(timestamp.getTime(), 1000L) * 1_000_000L + timestamp.getNanos() / 1000;
+    }
+
+    private static void writeNulls(DataOutputStream data, int[] nulls) throws IOException {
+        if (nulls == null) {
+            data.writeInt(0);
+            return;
+        }
+        data.writeInt(nulls.length);
+        for (int row : nulls) {
+            data.writeInt(row);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream data, ByteBuffer chunk, long[] values, int count) throws IOException {
+        int perChunk = CHUNK_BYTES / Long.BYTES;
+        for (int offset = 0; offset < count; offset += perChunk) {
+            int length = Math.min(perChunk, count - offset);
+            chunk.clear();
+            chunk.asLongBuffer().put(values, offset, length);
+            data.write(chunk.array(), 0, length * Long.BYTES);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream data, ByteBuffer chunk, double[] values, int count) throws IOException {
+        int perChunk = CHUNK_BYTES / Double.BYTES;
+        for (int offset = 0; offset < count; offset += perChunk) {
+            int length = Math.min(perChunk, count - offset);
+            chunk.clear();
+            chunk.asDoubleBuffer().put(values, offset, length);
+            data.write(chunk.array(), 0, length * Double.BYTES);
+        }
+    }
+
+    private static void writeInts(DataOutputStream data, ByteBuffer chunk, int[] values, int count) throws IOException {
+        int perChunk = CHUNK_BYTES / Integer.BYTES;
+        for (int offset = 0; offset < count; offset += perChunk) {
+            int length = Math.min(perChunk, count - offset);
+            chunk.clear();
+            chunk.asIntBuffer().put(values, offset, length);
+            data.write(chunk.array(), 0, length * Integer.BYTES);
+        }
+    }
+
+    private static void writeInts(DataOutputStream data, ByteBuffer chunk, long[] values, int count) throws IOException {
+        int perChunk = CHUNK_BYTES / Integer.BYTES;
+        for (int offset = 0; offset < count; offset += perChunk) {
+            int length = Math.min(perChunk, count - offset);
+            chunk.clear();
+            for (int i = 0; i < length; i++) {
+                chunk.putInt((int) values[offset + i]);
+            }
+            data.write(chunk.array(), 0, length * Integer.BYTES);
+        }
+    }
+
+    private static void writeShorts(DataOutputStream data, ByteBuffer chunk, long[] values, int count) throws IOException {
+        int perChunk = CHUNK_BYTES / Short.BYTES;
+        for (int offset = 0; offset < count; offset += perChunk) {
+            int length = Math.min(perChunk, count - offset);
+            chunk.clear();
+            for (int i = 0; i < length; i++) {
+                chunk.putShort((short) values[offset + i]);
+            }
+            data.write(chunk.array(), 0, length * Short.BYTES);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    // Özel kodlaması olmayan değerlerin metin hali
+    private static String toText(Object value) {
+        if (value == null) return null;
+        if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime().toString();
+        if (value instanceof java.sql.Date date) return date.toLocalDate().toString();
+        return String.valueOf(value);
+    }
+}
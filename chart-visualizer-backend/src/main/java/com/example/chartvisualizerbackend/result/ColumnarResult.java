@@ -0,0 +1,96 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnarResult.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.service.QueryCursor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Sütun bazlı (columnar) sorgu sonucu: her sütun için tek bir dizi.
+// Sütun adları satır başına tekrarlanmaz, sayısal değerler kutulanmaz.
+// JSON şekli: {"format": "columnar", "rowCount": N, "columns": [{name, type}], "vectors": [{encoding, values | dictionary + codes, nulls}]}
+public class ColumnarResult {
+
+    private final List<Map<String, String>> columns;
+    private final List<ColumnVector> vectors;
+    private final int rowCount;
+
+    public ColumnarResult(List<Map<String, String>> columns, List<ColumnVector> vectors, int rowCount) {
+        this.columns = columns;
+        this.vectors = vectors;
+        this.rowCount = rowCount;
+    }
+
+    // İmleçteki tüm satırları sütun tamponlarına okur. Hücrelere ada göre değil indeksle erişilir.
+    public static ColumnarResult read(QueryCursor cursor) throws SQLException {
+        int columnCount = cursor.columnCount();
+        List<ColumnVector> vectors = new ArrayList<>(columnCount);
+        for (Map<String, String> column : cursor.columns()) {
+            vectors.add(ColumnVector.forType(column.get("type")));
+        }
+
+        ResultSet resultSet = cursor.resultSet();
+        int rowCount = 0;
+        while (cursor.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                vectors.get(i).read(resultSet, i + 1);
+            }
+            rowCount++;
+        }
+        for (ColumnVector vector : vectors) {
+            vector.trim();
+        }
+        return new ColumnarResult(cursor.columns(), vectors, rowCount);
+    }
+
+    public String getFormat() {
+        return "columnar";
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Map<String, String>> getColumns() {
+        return columns;
+    }
+
+    public List<ColumnVector> getVectors() {
+        return vectors;
+    }
+
+    // Sonucun heap'te kapladığı yaklaşık bayt sayısı
+    public long estimateBytes() {
+        long bytes = 64;
+        for (ColumnVector vector : vectors) {
+            bytes += vector.estimateBytes();
+        }
+        return bytes;
+    }
+
+    // İki sonucun sütunları ve tüm hücreleri aynı mı (canlı grafiklerde değişmeyen sonucu yeniden göndermemek için)
+    public boolean sameContent(ColumnarResult other) {
+        if (other == this) return true;
+        if (other == null || rowCount != other.rowCount || !columns.equals(other.columns)) return false;
+        for (int i = 0; i < vectors.size(); i++) {
+            ColumnVector vector = vectors.get(i);
+            ColumnVector otherVector = other.vectors.get(i);
+            if (!vector.getEncoding().equals(otherVector.getEncoding())) return false;
+            for (int row = 0; row < rowCount; row++) {
+                if (!Objects.equals(vector.get(row), otherVector.get(row))) return false;
+            }
+        }
+        return true;
+    }
+
+    // Sütun adına göre vektörü bulur; yoksa null döner
+    @JsonIgnore
+    public ColumnVector getVector(String columnName) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).get("name").equals(columnName)) return vectors.get(i);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,428 @@
+// src/main/java/com/example/chartvisualizerbackend/result/ColumnarSnapshot.java
+package com.example.chartvisualizerbackend.result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// ColumnarBinaryWriter'ın yazdığı "CVC2" dosyasının bellek eşlemeli (memory-mapped) okuyucusu.
+// Değerler Java heap'ine kopyalanmaz; sütunlara dosyadaki konumlarından indeksle erişilir.
+// Heap'te yalnızca sözlük kodlu sütunların sözlükleri tutulur. Tarih ve zaman damgaları sayı olarak okunur ve
+// karşılaştırılır; yalnızca değer istendiğinde Timestamp/Date'e çevrilir. Metin kodlu sütunların satır konumları
+// heap dışı (direct) bir tamponda tutulur.
+// Tek bir eşleme 2 GB ile sınırlıdır.
+public final class ColumnarSnapshot {
+
+    private final int rowCount;
+    private final List<Map<String, String>> columns;
+    private final List<Column> vectors;
+
+    private ColumnarSnapshot(int rowCount, List<Map<String, String>> columns, List<Column> vectors) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.vectors = vectors;
+    }
+
+    public static ColumnarSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Anlık görüntü dosyası 2 GB'tan büyük: " + file);
+            }
+            // Eşleme kanal kapandıktan sonra da geçerlidir
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // buffer: "CVC2" formatında, konumu 0 olan tampon
+    public static ColumnarSnapshot parse(ByteBuffer buffer) throws IOException {
+        ByteBuffer data = buffer.duplicate();
+        byte[] magic = new byte[ColumnarBinaryWriter.MAGIC.length];
+        data.get(magic);
+        if (!Arrays.equals(magic, ColumnarBinaryWriter.MAGIC)) {
+            throw new IOException("Geçersiz anlık görüntü dosyası (CVC2 bekleniyordu).");
+        }
+        int rowCount = data.getInt();
+        int columnCount = data.getInt();
+
+        List<Map<String, String>> columns = new ArrayList<>(columnCount);
+        List<Column> vectors = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            String name = readString(data);
+            String type = readString(data);
+            Map<String, String> column = new HashMap<>();
+            column.put("name", name);
+            column.put("type", type);
+            columns.add(column);
+
+            byte encoding = data.get();
+            int nullCount = data.getInt();
+            int nullsAt = data.position();
+            data.position(nullsAt + nullCount * Integer.BYTES);
+            switch (encoding) {
+                case ColumnarBinaryWriter.ENCODING_LONG -> {
+                    vectors.add(new LongColumn(name, type, buffer, nullsAt, nullCount, data.position(), Long.BYTES));
+                    data.position(data.position() + rowCount * Long.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_INT -> {
+                    vectors.add(new LongColumn(name, type, buffer, nullsAt, nullCount, data.position(), Integer.BYTES));
+                    data.position(data.position() + rowCount * Integer.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_SHORT -> {
+                    vectors.add(new LongColumn(name, type, buffer, nullsAt, nullCount, data.position(), Short.BYTES));
+                    data.position(data.position() + rowCount * Short.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_TIMESTAMP -> {
+                    vectors.add(new TemporalColumn(name, type, buffer, nullsAt, nullCount, data.position(), false));
+                    data.position(data.position() + rowCount * Long.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_DATE -> {
+                    vectors.add(new TemporalColumn(name, type, buffer, nullsAt, nullCount, data.position(), true));
+                    data.position(data.position() + rowCount * Integer.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_DOUBLE -> {
+                    vectors.add(new DoubleColumn(name, type, buffer, nullsAt, nullCount, data.position()));
+                    data.position(data.position() + rowCount * Double.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_DICTIONARY -> {
+                    int dictionarySize = data.getInt();
+                    String[] dictionary = new String[dictionarySize];
+                    for (int i = 0; i < dictionarySize; i++) {
+                        dictionary[i] = readString(data);
+                    }
+                    vectors.add(new DictionaryColumn(name, type, buffer, data.position(), dictionary));
+                    data.position(data.position() + rowCount * Integer.BYTES);
+                }
+                case ColumnarBinaryWriter.ENCODING_STRING -> {
+                    IntBuffer offsets = ByteBuffer.allocateDirect(rowCount * Integer.BYTES).asIntBuffer();
+                    for (int row = 0; row < rowCount; row++) {
+                        offsets.put(row, data.position());
+                        int length = data.getInt();
+                        if (length > 0) data.position(data.position() + length);
+                    }
+                    vectors.add(new TextColumn(name, type, buffer, offsets));
+                }
+                default -> throw new IOException("Bilinmeyen sütun kodlaması: " + encoding);
+            }
+        }
+        return new ColumnarSnapshot(rowCount, Collections.unmodifiableList(columns), vectors);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Map<String, String>> getColumns() {
+        return columns;
+    }
+
+    public Column column(String name) {
+        for (Column column : vectors) {
+            if (column.name.equals(name)) return column;
+        }
+        throw new IllegalArgumentException("Sütun bulunamadı: " + name);
+    }
+
+    public List<Column> getVectors() {
+        return vectors;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Tek bir sütun. Sayısal sütunlarda getDouble, diğerlerinde get/getText kullanılır.
+    public abstract static class Column {
+        protected final String name;
+        protected final String type;
+        protected final ByteBuffer buffer;
+
+        private Column(String name, String type, ByteBuffer buffer) {
+            this.name = name;
+            this.type = type;
+            this.buffer = buffer;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public abstract boolean isNull(int row);
+
+        // /data cevabındaki değerle aynı tipte (sayı, metin, Timestamp, Date...)
+        public abstract Object get(int row);
+
+        public boolean isNumeric() {
+            return false;
+        }
+
+        public double getDouble(int row) {
+            return Double.NaN;
+        }
+
+        // İki satırı karşılaştırır, null değerler en sondadır
+        public abstract int compare(int a, int b);
+    }
+
+    // Null satır indeksleri artan sırada yazıldığı için ikili aramayla bulunur
+    private abstract static class PrimitiveColumn extends Column {
+        private final int nullsAt;
+        private final int nullCount;
+        protected final int valuesAt;
+
+        private PrimitiveColumn(String name, String type, ByteBuffer buffer, int nullsAt, int nullCount, int valuesAt) {
+            super(name, type, buffer);
+            this.nullsAt = nullsAt;
+            this.nullCount = nullCount;
+            this.valuesAt = valuesAt;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            int low = 0;
+            int high = nullCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = buffer.getInt(nullsAt + mid * Integer.BYTES);
+                if (value < row) low = mid + 1;
+                else if (value > row) high = mid - 1;
+                else return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public int compare(int a, int b) {
+            boolean aNull = isNull(a);
+            boolean bNull = isNull(b);
+            if (aNull || bNull) return Boolean.compare(aNull, bNull);
+            return compareValues(a, b);
+        }
+
+        protected abstract int compareValues(int a, int b);
+    }
+
+    // int8 sütunları 8, int4 sütunları 4, int2 sütunları 2 bayt genişliğindedir; hepsi long olarak okunur
+    public static final class LongColumn extends PrimitiveColumn {
+        private final int width;
+
+        private LongColumn(String name, String type, ByteBuffer buffer, int nullsAt, int nullCount, int valuesAt, int width) {
+            super(name, type, buffer, nullsAt, nullCount, valuesAt);
+            this.width = width;
+        }
+
+        public long getLong(int row) {
+            return switch (width) {
+                case Short.BYTES -> buffer.getShort(valuesAt + row * Short.BYTES);
+                case Integer.BYTES -> buffer.getInt(valuesAt + row * Integer.BYTES);
+                default -> buffer.getLong(valuesAt + row * Long.BYTES);
+            };
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : getLong(row);
+        }
+
+        @Override
+        protected int compareValues(int a, int b) {
+            return Long.compare(getLong(a), getLong(b));
+        }
+    }
+
+    public static final class DoubleColumn extends PrimitiveColumn {
+        private DoubleColumn(String name, String type, ByteBuffer buffer, int nullsAt, int nullCount, int valuesAt) {
+            super(name, type, buffer, nullsAt, nullCount, valuesAt);
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return buffer.getDouble(valuesAt + row * Double.BYTES);
+        }
+
+        @Override
+        public Object get(int row) {
+            return isNull(row) ? null : getDouble(row);
+        }
+
+        @Override
+        protected int compareValues(int a, int b) {
+            return Double.compare(getDouble(a), getDouble(b));
+        }
+    }
+
+    // Satırlar yalnızca sözlük kodunu tutar (-1 = null); sıralama kodların sözlükteki sırasıyla yapılır
+    public static final class DictionaryColumn extends Column {
+        private final int codesAt;
+        private final String[] dictionary;
+        private int[] ranks;
+
+        private DictionaryColumn(String name, String type, ByteBuffer buffer, int codesAt, String[] dictionary) {
+            super(name, type, buffer);
+            this.codesAt = codesAt;
+            this.dictionary = dictionary;
+        }
+
+        public int getCode(int row) {
+            return buffer.getInt(codesAt + row * Integer.BYTES);
+        }
+
+        public String[] getDictionary() {
+            return dictionary;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            return getCode(row) < 0;
+        }
+
+        @Override
+        public Object get(int row) {
+            int code = getCode(row);
+            return code < 0 ? null : dictionary[code];
+        }
+
+        @Override
+        public int compare(int a, int b) {
+            int[] order = ranks();
+            int codeA = getCode(a);
+            int codeB = getCode(b);
+            return Integer.compare(codeA < 0 ? Integer.MAX_VALUE : order[codeA], codeB < 0 ? Integer.MAX_VALUE : order[codeB]);
+        }
+
+        private synchronized int[] ranks() {
+            if (ranks == null) {
+                Integer[] codes = new Integer[dictionary.length];
+                for (int i = 0; i < codes.length; i++) codes[i] = i;
+                Arrays.sort(codes, Comparator.comparing(code -> dictionary[code]));
+                int[] result = new int[dictionary.length];
+                for (int rank = 0; rank < codes.length; rank++) result[codes[rank]] = rank;
+                ranks = result;
+            }
+            return ranks;
+        }
+    }
+
+    // Tarih (epoch'tan bu yana gün) ve zaman damgası (epoch'tan bu yana mikrosaniye) sütunları.
+    // Filtre ve sıralama sayı üzerinden yapılır; sayısal sütun sayılmaz (toplama ve sayısal kova kullanılamaz).
+    public static final class TemporalColumn extends PrimitiveColumn {
+        private final boolean date;
+
+        private TemporalColumn(String name, String type, ByteBuffer buffer, int nullsAt, int nullCount, int valuesAt, boolean date) {
+            super(name, type, buffer, nullsAt, nullCount, valuesAt);
+            this.date = date;
+        }
+
+        public boolean isDate() {
+            return date;
+        }
+
+        // Zaman damgasında mikrosaniye, tarihte gün
+        public long getEpoch(int row) {
+            return date ? buffer.getInt(valuesAt + row * Integer.BYTES) : buffer.getLong(valuesAt + row * Long.BYTES);
+        }
+
+        // /data cevabındaki gibi JVM saat dilimindeki yerel tarih/zaman
+        public LocalDateTime getLocalDateTime(int row) {
+            return date ? LocalDate.ofEpochDay(getEpoch(row)).atStartOfDay() : toTimestamp(getEpoch(row)).toLocalDateTime();
+        }
+
+        // Yerel tarih/zamanı bu sütunun sayısal değerine çevirir (filtre değerleri için)
+        public long toEpoch(LocalDateTime value) {
+            return date ? value.toLocalDate().toEpochDay() : ColumnarBinaryWriter.epochMicros(Timestamp.valueOf(value));
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return false;
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return Double.NaN;
+        }
+
+        @Override
+        public Object get(int row) {
+            if (isNull(row)) return null;
+            long value = getEpoch(row);
+            return date ? java.sql.Date.valueOf(LocalDate.ofEpochDay(value)) : toTimestamp(value);
+        }
+
+        @Override
+        protected int compareValues(int a, int b) {
+            return Long.compare(getEpoch(a), getEpoch(b));
+        }
+
+        private static Timestamp toTimestamp(long micros) {
+            Timestamp timestamp = new Timestamp(Math.floorDiv(micros, 1_000_000L) * 1000L);
+            timestamp.setNanos((int) Math.floorMod(micros, 1_000_000L) * 1000);
+            return timestamp;
+        }
+    }
+
+    // Özel kodlaması olmayan sütunlar metin olarak yazılır (boolean: true/false)
+    public static final class TextColumn extends Column {
+        private final IntBuffer offsets;
+
+        private TextColumn(String name, String type, ByteBuffer buffer, IntBuffer offsets) {
+            super(name, type, buffer);
+            this.offsets = offsets;
+        }
+
+        public String getText(int row) {
+            int at = offsets.get(row);
+            int length = buffer.getInt(at);
+            if (length < 0) return null;
+            byte[] bytes = new byte[length];
+            buffer.get(at + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            return buffer.getInt(offsets.get(row)) < 0;
+        }
+
+        @Override
+        public Object get(int row) {
+            String text = getText(row);
+            if (text == null) return null;
+            if ("bool".equals(type)) return Boolean.valueOf(text);
+            return text;
+        }
+
+        @Override
+        public int compare(int a, int b) {
+            String textA = getText(a);
+            String textB = getText(b);
+            if (textA == null || textB == null) return Boolean.compare(textA == null, textB == null);
+            return textA.compareTo(textB);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+// src/main/java/com/example/chartvisualizerbackend/result/Downsampler.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.service.QueryCursor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Çizgi grafikler için noktaları tek geçişte, sabit bellekle azaltır.
+// Noktalar geldikçe sabit sayıda kovaya (bucket) toplanır; her kova yalnızca ilk, son, en küçük ve en büyük
+// noktasını saklar. Kova sayısı sınırı aşınca komşu kovalar birleştirilip kova genişliği ikiye katlanır.
+// Böylece toplam satır sayısı bilinmeden bellek kullanımı hedef nokta sayısıyla orantılı kalır.
+// Sonunda aday noktalar üzerinde LTTB (Largest-Triangle-Three-Buckets) ya da kova başına min/max seçimi yapılır.
+public class Downsampler {
+
+    public enum Algorithm {
+        LTTB, MINMAX;
+
+        public static Algorithm from(String name) {
+            if (name == null || name.isBlank()) return LTTB;
+            try {
+                return valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bilinmeyen downsampling algoritması: " + name);
+            }
+        }
+    }
+
+    // index: kaynak satır sırası; xValue/yValue: cevaba yazılacak orijinal değerler
+    public record Point(long index, double x, double y, Object xValue, Object yValue) {
+    }
+
+    private final Algorithm algorithm;
+    private final int targetPoints;
+    private final int maxBuckets;
+
+    private final List<Bucket> buckets = new ArrayList<>();
+    private Bucket current;
+    private long bucketWidth = 1;
+    private long count;
+
+    public Downsampler(Algorithm algorithm, int targetPoints) {
+        if (targetPoints < 3) {
+            throw new IllegalArgumentException("targetPoints en az 3 olmalıdır.");
+        }
+        this.algorithm = algorithm;
+        this.targetPoints = targetPoints;
+        this.maxBuckets = targetPoints * 2;
+    }
+
+    // İmleçteki satırları tek geçişte okuyup seçilen x/y sütunlarını azaltır.
+    // Cevap normal /data cevabıyla aynı şekildedir, yalnızca x ve y sütunlarını içerir.
+    public static Map<String, Object> downsample(QueryCursor cursor, String xColumn, String yColumn,
+                                                 Algorithm algorithm, int targetPoints) throws SQLException {
+        int xIndex = columnIndex(cursor, xColumn);
+        int yIndex = columnIndex(cursor, yColumn);
+        Downsampler downsampler = new Downsampler(algorithm, targetPoints);
+
+        ResultSet resultSet = cursor.resultSet();
+        long sourceRows = 0;
+        while (cursor.next()) {
+            Object xValue = resultSet.getObject(xIndex + 1);
+            Object yValue = resultSet.getObject(yIndex + 1);
+            double y = toDouble(yValue);
+            if (!Double.isNaN(y)) {
+                double x = toDouble(xValue);
+                // Sayısal ya da tarih olmayan x değerlerinde satır sırası eksen olarak kullanılır
+                downsampler.add(Double.isNaN(x) ? sourceRows : x, y, xValue, yValue);
+            }
+            sourceRows++;
+        }
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (Point point : downsampler.result()) {
+            Map<String, Object> row = new HashMap<>();
+            row.put(xColumn, point.xValue());
+            row.put(yColumn, point.yValue());
+            data.add(row);
+        }
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("algorithm", algorithm.name().toLowerCase());
+        info.put("targetPoints", targetPoints);
+        info.put("sourceRows", sourceRows);
+        info.put("points", data.size());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("columns", List.of(cursor.columns().get(xIndex), cursor.columns().get(yIndex)));
+        response.put("data", data);
+        response.put("downsampling", info);
+        return response;
+    }
+
+    private static int columnIndex(QueryCursor cursor, String columnName) {
+        for (int i = 0; i < cursor.columnCount(); i++) {
+            if (cursor.columnName(i).equals(columnName)) return i;
+        }
+        throw new IllegalArgumentException("Sütun bulunamadı: " + columnName);
+    }
+
+    // Sayıları ve tarihleri (epoch milisaniye) double'a çevirir; çevrilemeyen değerler için NaN döner
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) return number.doubleValue();
+        if (value instanceof java.util.Date date) return date.getTime(); // java.sql.Date ve Timestamp dahil
+        return Double.NaN;
+    }
+
+    public void add(double x, double y, Object xValue, Object yValue) {
+        Point point = new Point(count++, x, y, xValue, yValue);
+        if (current == null) {
+            current = new Bucket(point);
+        } else {
+            current.add(point);
+        }
+        if (current.size == bucketWidth) {
+            buckets.add(current);
+            current = null;
+            if (buckets.size() >= maxBuckets) {
+                mergePairs();
+            }
+        }
+    }
+
+    // Okunan toplam nokta sayısı
+    public long count() {
+        return count;
+    }
+
+    public List<Point> result() {
+        List<Bucket> all = new ArrayList<>(buckets);
+        if (current != null) all.add(current);
+
+        if (algorithm == Algorithm.MINMAX) {
+            // Her kovadan iki nokta (min ve max) seçileceği için kova sayısını hedefin yarısına indir
+            while (all.size() > Math.max(1, (targetPoints - 2) / 2)) {
+                all = mergePairs(all);
+            }
+            List<Point> points = new ArrayList<>();
+            for (Bucket bucket : all) bucket.addMinMax(points);
+            return ensureEnds(points, all);
+        }
+
+        List<Point> candidates = new ArrayList<>();
+        for (Bucket bucket : all) bucket.addCandidates(candidates);
+        return lttb(candidates, targetPoints);
+    }
+
+    private void mergePairs() {
+        List<Bucket> merged = mergePairs(buckets);
+        buckets.clear();
+        buckets.addAll(merged);
+        bucketWidth *= 2;
+    }
+
+    private static List<Bucket> mergePairs(List<Bucket> source) {
+        List<Bucket> merged = new ArrayList<>((source.size() + 1) / 2);
+        for (int i = 0; i < source.size(); i += 2) {
+            Bucket bucket = source.get(i);
+            if (i + 1 < source.size()) bucket.merge(source.get(i + 1));
+            merged.add(bucket);
+        }
+        return merged;
+    }
+
+    // min/max seçiminde serinin başı ve sonu kaybolmasın
+    private static List<Point> ensureEnds(List<Point> points, List<Bucket> all) {
+        if (all.isEmpty()) return points;
+        Point first = all.get(0).first;
+        Point last = all.get(all.size() - 1).last;
+        if (points.get(0).index() != first.index()) points.add(0, first);
+        if (points.get(points.size() - 1).index() != last.index()) points.add(last);
+        return points;
+    }
+
+    // Klasik LTTB: her kovadan, bir önceki seçilen nokta ile sonraki kovanın ortalamasıyla
+    // en büyük üçgeni oluşturan nokta seçilir.
+    static List<Point> lttb(List<Point> data, int threshold) {
+        int n = data.size();
+        if (threshold >= n) return data;
+
+        List<Point> sampled = new ArrayList<>(threshold);
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        sampled.add(data.get(a));
+
+        for (int i = 0; i < threshold - 2; i++) {
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += data.get(j).x();
+                avgY += data.get(j).y();
+            }
+            int avgLength = avgEnd - avgStart;
+            avgX /= avgLength;
+            avgY /= avgLength;
+
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            Point pointA = data.get(a);
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                Point candidate = data.get(j);
+                double area = Math.abs((pointA.x() - avgX) * (candidate.y() - pointA.y())
+                        - (pointA.x() - candidate.x()) * (avgY - pointA.y()));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled.add(data.get(next));
+            a = next;
+        }
+
+        sampled.add(data.get(n - 1));
+        return sampled;
+    }
+
+    // Ardışık noktalardan oluşan bir kovanın özet noktaları
+    private static final class Bucket {
+        private Point first;
+        private Point last;
+        private Point min;
+        private Point max;
+        private long size;
+
+        private Bucket(Point point) {
+            first = last = min = max = point;
+            size = 1;
+        }
+
+        private void add(Point point) {
+            last = point;
+            if (point.y() < min.y()) min = point;
+            if (point.y() > max.y()) max = point;
+            size++;
+        }
+
+        private void merge(Bucket other) {
+            last = other.last;
+            if (other.min.y() < min.y()) min = other.min;
+            if (other.max.y() > max.y()) max = other.max;
+            size += other.size;
+        }
+
+        // İlk, son, min ve max noktaları kaynak sırasıyla ve tekrarsız ekler
+        private void addCandidates(List<Point> target) {
+            Point[] points = {first, min, max, last};
+            Arrays.sort(points, (p1, p2) -> Long.compare(p1.index(), p2.index()));
+            long previous = -1;
+            for (Point point : points) {
+                if (point.index() != previous) target.add(point);
+                previous = point.index();
+            }
+        }
+
+        private void addMinMax(List<Point> target) {
+            Point lower = min.index() <= max.index() ? min : max;
+            Point upper = lower == min ? max : min;
+            target.add(lower);
+            if (upper.index() != lower.index()) target.add(upper);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+// src/main/java/com/example/chartvisualizerbackend/result/KllSketch.java
+package com.example.chartvisualizerbackend.result;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sayısal bir sütunun yaklaşık yüzdelikleri (KLL sketch, Karnin-Lang-Liberty).
+// Değerler seviyelere ayrılmış tamponlarda tutulur; h. seviyedeki her değer 2^h kaynak değeri temsil eder.
+// Bir seviye dolunca sıralanır ve rastgele seçilen tek ya da çift sıradaki değerler bir üst seviyeye taşınır.
+// Bellek k ile sınırlıdır (k = 200 için birkaç bin double); sıra hatası yaklaşık 1.65 / k * 100 yüzdedir.
+// Sketch'ler seviye seviye birleştirilebilir, bölümler paralel hesaplanabilir.
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[0][];
+    private int[] sizes = new int[0];
+    private int[] capacities = new int[0];
+    private int retained;
+    private int maxRetained;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("KLL k değeri en az 8 olmalıdır.");
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // NaN değerler eklenmez
+    public void add(double value) {
+        if (Double.isNaN(value)) return;
+        if (count == 0 || value < min) min = value;
+        if (count == 0 || value > max) max = value;
+        count++;
+        append(0, value);
+        if (retained >= maxRetained) compress();
+    }
+
+    public void merge(KllSketch other) {
+        if (other.count == 0) return;
+        while (levels.length < other.levels.length) addLevel();
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        if (count == 0 || other.min < min) min = other.min;
+        if (count == 0 || other.max > max) max = other.max;
+        count += other.count;
+        while (retained >= maxRetained) compress();
+    }
+
+    // q (0..1) yüzdeliğindeki yaklaşık değer; 0 ve 1 tam en küçük ve en büyük değerdir
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Yüzdelik 0 ile 1 arasında olmalıdır: " + q);
+        }
+        if (count == 0) return Double.NaN;
+        if (q == 0) return min;
+        if (q == 1) return max;
+
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+        for (long weight : weights) totalWeight += weight;
+        double target = q * totalWeight;
+        long cumulative = 0;
+        for (int i : order) {
+            cumulative += weights[i];
+            if (cumulative >= target) return values[i];
+        }
+        return max;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    // Dolu olan en alt seviyeyi sıkıştırır: değerlerin yarısı bir üst seviyeye iki kat ağırlıkla taşınır
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            int size = sizes[h];
+            if (size < capacities[h]) continue;
+            if (h + 1 == levels.length) addLevel();
+
+            double[] level = levels[h];
+            Arrays.sort(level, 0, size);
+            // Tek sayıda değer varsa en küçüğü bu seviyede kalır
+            int start = size % 2;
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            for (int i = start + offset; i < size; i += 2) {
+                append(h + 1, level[i]);
+            }
+            retained -= size - start;
+            sizes[h] = start;
+            return;
+        }
+    }
+
+    private void append(int h, double value) {
+        int size = sizes[h];
+        if (size == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(8, size * 2));
+        }
+        levels[h][size] = value;
+        sizes[h] = size + 1;
+        retained++;
+    }
+
+    // Yeni seviye eklenince alt seviyelerin kapasitesi küçülür, kapasiteler yeniden hesaplanır
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new double[8];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        capacities = new int[levels.length];
+        maxRetained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            // En üst seviye k kadar değer tutar, her alt seviyenin kapasitesi 2/3'ü kadardır (en az 2)
+            int depth = levels.length - 1 - h;
+            capacities[h] = Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+            maxRetained += capacities[h];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/example/chartvisualizerbackend/result/LongIntHashMap.java
+package com.example.chartvisualizerbackend.result;
+
+import java.util.Arrays;
+
+// long anahtardan int değere açık adresli (linear probing) hash tablosu.
+// Anahtar ve değerler ilkel dizilerde tutulur; HashMap<Long, Integer>'daki kutulama ve girdi nesneleri yoktur.
+// Değerler negatif olamaz: -1 boş yuva ve "bulunamadı" anlamına gelir.
+final class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        int slot = slot(key);
+        while (values[slot] >= 0) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Anahtar yoksa değeri ekler ve -1 döndürür; varsa mevcut değeri döndürür
+    int putIfAbsent(long key, int value) {
+        int slot = slot(key);
+        while (values[slot] >= 0) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > LOAD_FACTOR * values.length) rehash();
+        return -1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, -1);
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] < 0) continue;
+            int slot = slot(oldKeys[i]);
+            while (values[slot] >= 0) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/example/chartvisualizerbackend/result/RowRingBuffer.java
+package com.example.chartvisualizerbackend.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Son eklenen "capacity" kadar satırı tutan dairesel tampon.
+// Her satıra 1'den başlayan, artan bir sıra numarası verilir; istemciler son gördükleri sıra numarasını
+// göndererek yalnızca sonrasında eklenen satırları alabilir. Tampon dolunca en eski satırın üzerine yazılır.
+public class RowRingBuffer<T> {
+
+    private final Object[] rows;
+    private long lastSequence;
+    private int size;
+
+    public RowRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Tampon kapasitesi en az 1 olmalıdır.");
+        }
+        this.rows = new Object[capacity];
+    }
+
+    public void add(T row) {
+        lastSequence++;
+        rows[(int) ((lastSequence - 1) % rows.length)] = row;
+        if (size < rows.length) size++;
+    }
+
+    public void clear() {
+        Arrays.fill(rows, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return rows.length;
+    }
+
+    // Son eklenen satırın sıra numarası (hiç satır eklenmediyse 0)
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    // Tamponda hâlâ duran en eski satırın sıra numarası
+    public long firstSequence() {
+        return lastSequence - size + 1;
+    }
+
+    // Verilen sıra numarasından sonra eklenen satırları eskiden yeniye döndürür.
+    // İstenen satırların bir kısmı tampondan çıkmışsa null döner (istemci tüm pencereyi yeniden almalı).
+    public List<T> since(long sequence) {
+        if (sequence > lastSequence || sequence < firstSequence() - 1) return null;
+        return range(sequence + 1);
+    }
+
+    // Tampondaki tüm satırlar, eskiden yeniye
+    public List<T> all() {
+        return range(firstSequence());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> range(long fromSequence) {
+        List<T> result = new ArrayList<>((int) (lastSequence - fromSequence + 1));
+        for (long sequence = fromSequence; sequence <= lastSequence; sequence++) {
+            result.add((T) rows[(int) ((sequence - 1) % rows.length)]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,384 @@
+// src/main/java/com/example/chartvisualizerbackend/result/SeriesPivot.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.query.ChartQueryPlan;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.IntStream;
+
+// Uzun formatlı sonucu (x, y, seri) seri sütununa göre çevirir: her seri için x eksenine hizalanmış bir değer dizisi.
+// Cevap: {"columns": [x, y], "by", "x": [...], "series": [{"name", "rows", "values": [...]}, ...], "totalSeries", "totalRows"}
+// - x değerleri artan sıradadır (null en sonda); bir seride karşılığı olmayan x için değer null'dur.
+// - En çok satırı olan maxSeries seri ayrı döner, kalanlar tek bir {"other": true} serisinde birleştirilir.
+// - Gruplama kutulamasız yapılır: her sütunun değeri long bir anahtara çevrilir (sayılar, sözlük kodu, zaman damgası)
+//   ve LongIntHashMap ile yoğun grup numaralarına eşlenir.
+// - Satır sayısı parallelThreshold'u aşarsa satırlar parçalara bölünür; her parça kendi tablosunda toplanır,
+//   parçalar sonra birleştirilir.
+public final class SeriesPivot {
+
+    private final ChartQueryPlan.Aggregate aggregate;
+    private final int maxSeries;
+    private final int parallelThreshold;
+
+    public SeriesPivot(ChartQueryPlan.Aggregate aggregate, int maxSeries, int parallelThreshold) {
+        if (maxSeries <= 0) {
+            throw new IllegalArgumentException("Seri sınırı pozitif olmalıdır: " + maxSeries);
+        }
+        this.aggregate = aggregate;
+        this.maxSeries = maxSeries;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // yColumn null ise her hücre satır sayısıdır (count(*))
+    public Map<String, Object> pivot(ColumnarResult result, String xColumn, String yColumn, String seriesColumn) {
+        ColumnVector x = vector(result, xColumn);
+        ColumnVector series = vector(result, seriesColumn);
+        ColumnVector y = yColumn == null ? null : vector(result, yColumn);
+        if (y != null && !(y instanceof ColumnVector.LongColumnVector || y instanceof ColumnVector.DoubleColumnVector)
+                && aggregate != ChartQueryPlan.Aggregate.COUNT) {
+            throw new IllegalArgumentException("Toplama fonksiyonu yalnızca sayısal sütunlarda kullanılabilir: " + yColumn);
+        }
+        Keys xKeys = Keys.of(x);
+        Keys seriesKeys = Keys.of(series);
+        int rowCount = result.getRowCount();
+
+        int chunks = rowCount < parallelThreshold ? 1 : Math.max(2, Runtime.getRuntime().availableProcessors());
+        List<Partial> partials = chunks == 1
+                ? List.of(new Partial(xKeys, seriesKeys, y, 0, rowCount))
+                : IntStream.range(0, chunks).parallel()
+                        .mapToObj(i -> new Partial(xKeys, seriesKeys, y, (int) ((long) rowCount * i / chunks),
+                                (int) ((long) rowCount * (i + 1) / chunks)))
+                        .toList();
+        Partial total = partials.get(0);
+        for (int i = 1; i < partials.size(); i++) total.merge(partials.get(i));
+
+        // x sırası: değerlere göre artan, null en sonda
+        Integer[] xOrder = new Integer[total.x.size];
+        for (int i = 0; i < xOrder.length; i++) xOrder[i] = i;
+        Arrays.sort(xOrder, Comparator.comparing(id -> (Comparable<Object>) x.get(total.x.rows[id]),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        int[] xPosition = new int[xOrder.length];
+        List<Object> xValues = new ArrayList<>(xOrder.length);
+        for (int position = 0; position < xOrder.length; position++) {
+            xPosition[xOrder[position]] = position;
+            xValues.add(x.get(total.x.rows[xOrder[position]]));
+        }
+
+        // Seriler satır sayısına göre azalan sırada; sınırı aşanlar "other" serisine (son çıktı indeksi) düşer
+        Integer[] seriesOrder = new Integer[total.series.size];
+        for (int i = 0; i < seriesOrder.length; i++) seriesOrder[i] = i;
+        Arrays.sort(seriesOrder, Comparator.comparingLong((Integer id) -> -total.seriesRows[id])
+                .thenComparing(id -> (Comparable<Object>) series.get(total.series.rows[id]),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        int kept = Math.min(maxSeries, seriesOrder.length);
+        boolean hasOther = seriesOrder.length > kept;
+        int[] output = new int[seriesOrder.length];
+        for (int rank = 0; rank < seriesOrder.length; rank++) output[seriesOrder[rank]] = Math.min(rank, kept);
+
+        Cells cells = new Cells(xOrder.length * (kept + (hasOther ? 1 : 0)));
+        for (int cell = 0; cell < total.cells.size; cell++) {
+            int target = output[total.cells.series[cell]] * xOrder.length + xPosition[total.cells.x[cell]];
+            cells.mergeInto(target, total.cells, cell);
+        }
+
+        List<Map<String, Object>> seriesList = new ArrayList<>(kept + 1);
+        for (int rank = 0; rank < kept + (hasOther ? 1 : 0); rank++) {
+            List<Object> values = new ArrayList<>(xOrder.length);
+            for (int position = 0; position < xOrder.length; position++) {
+                values.add(cells.summary(aggregate, y == null, rank * xOrder.length + position));
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            if (rank < kept) {
+                entry.put("name", series.get(total.series.rows[seriesOrder[rank]]));
+                entry.put("rows", total.seriesRows[seriesOrder[rank]]);
+            } else {
+                long rows = 0;
+                for (int i = kept; i < seriesOrder.length; i++) rows += total.seriesRows[seriesOrder[i]];
+                entry.put("other", true);
+                entry.put("series", seriesOrder.length - kept);
+                entry.put("rows", rows);
+            }
+            entry.put("values", values);
+            seriesList.add(entry);
+        }
+
+        String yAlias = yColumn == null ? "count" : yColumn;
+        boolean counts = y == null || aggregate == ChartQueryPlan.Aggregate.COUNT;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("columns", List.of(column(result, xColumn), Map.of("name", yAlias, "type", counts ? "int8" : "float8")));
+        response.put("by", seriesColumn);
+        response.put("x", xValues);
+        response.put("series", seriesList);
+        response.put("totalSeries", seriesOrder.length);
+        response.put("totalRows", rowCount);
+        return response;
+    }
+
+    private static ColumnVector vector(ColumnarResult result, String name) {
+        ColumnVector vector = result.getVector(name);
+        if (vector == null) {
+            throw new IllegalArgumentException("Sütun bulunamadı: " + name);
+        }
+        return vector;
+    }
+
+    private static Map<String, String> column(ColumnarResult result, String name) {
+        for (Map<String, String> column : result.getColumns()) {
+            if (column.get("name").equals(name)) return column;
+        }
+        throw new IllegalArgumentException("Sütun bulunamadı: " + name);
+    }
+
+    // Bir sütunun satırlarını long gruplama anahtarına çevirir. Eşit değerler eşit anahtar verir.
+    private interface Keys {
+        boolean isNull(int row);
+
+        long key(int row);
+
+        // Anahtarlar 0..codes()-1 aralığındaki yoğun kodlarsa kod sayısı (hash yerine dizi kullanılır), değilse -1
+        default int codes() {
+            return -1;
+        }
+
+        static Keys of(ColumnVector vector) {
+            if (vector instanceof ColumnVector.LongColumnVector longs) {
+                return new Keys() {
+                    public boolean isNull(int row) {
+                        return longs.isNull(row);
+                    }
+
+                    public long key(int row) {
+                        return longs.getLong(row);
+                    }
+                };
+            }
+            if (vector instanceof ColumnVector.DoubleColumnVector doubles) {
+                return new Keys() {
+                    public boolean isNull(int row) {
+                        return doubles.isNull(row);
+                    }
+
+                    // -0.0 ve 0.0 aynı grupta; doubleToLongBits tüm NaN'ları tek değere indirger
+                    public long key(int row) {
+                        double value = doubles.getDouble(row);
+                        return value == 0 ? 0L : Double.doubleToLongBits(value);
+                    }
+                };
+            }
+            int[] codes;
+            int distinct;
+            if (vector instanceof ColumnVector.DictionaryColumnVector dictionary) {
+                codes = dictionary.getCodes();
+                distinct = dictionary.getDictionary().size();
+            } else {
+                // Zaman damgaları mikrosaniye anahtarıyla, diğer nesneler bir kez sırayla kodlanarak gruplanır
+                List<Object> values = ((ColumnVector.ObjectColumnVector) vector).getValues();
+                if (values.stream().allMatch(value -> value == null || value instanceof java.util.Date)) {
+                    return new Keys() {
+                        public boolean isNull(int row) {
+                            return values.get(row) == null;
+                        }
+
+                        public long key(int row) {
+                            java.util.Date value = (java.util.Date) values.get(row);
+                            return value instanceof Timestamp timestamp
+                                    ? Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000 + timestamp.getNanos() / 1000
+                                    : value.getTime() * 1000;
+                        }
+                    };
+                }
+                codes = new int[values.size()];
+                Map<Object, Integer> index = new HashMap<>();
+                for (int row = 0; row < codes.length; row++) {
+                    Object value = values.get(row);
+                    codes[row] = value == null ? -1 : index.computeIfAbsent(value, v -> index.size());
+                }
+                distinct = index.size();
+            }
+            return new Keys() {
+                public boolean isNull(int row) {
+                    return codes[row] < 0;
+                }
+
+                public long key(int row) {
+                    return codes[row];
+                }
+
+                public int codes() {
+                    return distinct;
+                }
+            };
+        }
+    }
+
+    // Anahtarlardan yoğun grup numaralarına eşleme; her grubun ilk satırı değerini göstermek için saklanır
+    private static final class Groups {
+        private final Keys keys;
+        private final LongIntHashMap ids;
+        private final int[] codeIds;
+        private int nullId = -1;
+        private int[] rows = new int[64];
+        private int size;
+
+        private Groups(Keys keys) {
+            this.keys = keys;
+            int codes = keys.codes();
+            if (codes >= 0) {
+                codeIds = new int[codes];
+                Arrays.fill(codeIds, -1);
+                ids = null;
+            } else {
+                codeIds = null;
+                ids = new LongIntHashMap(64);
+            }
+        }
+
+        private int idOf(int row) {
+            if (keys.isNull(row)) {
+                if (nullId < 0) nullId = add(row);
+                return nullId;
+            }
+            long key = keys.key(row);
+            if (codeIds != null) {
+                int id = codeIds[(int) key];
+                if (id < 0) codeIds[(int) key] = id = add(row);
+                return id;
+            }
+            int id = ids.get(key);
+            if (id < 0) {
+                id = add(row);
+                ids.putIfAbsent(key, id);
+            }
+            return id;
+        }
+
+        private int add(int row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size] = row;
+            return size++;
+        }
+    }
+
+    // (x, seri) hücrelerinin toplama durumları: satır sayısı, null olmayan y sayısı, toplam, en küçük, en büyük
+    private static final class Cells {
+        private int[] x;
+        private int[] series;
+        private long[] rows;
+        private long[] counts;
+        private double[] sums;
+        private double[] mins;
+        private double[] maxs;
+        private int size;
+
+        private Cells(int capacity) {
+            x = new int[capacity];
+            series = new int[capacity];
+            rows = new long[capacity];
+            counts = new long[capacity];
+            sums = new double[capacity];
+            mins = new double[capacity];
+            maxs = new double[capacity];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        private int add(int xId, int seriesId) {
+            if (size == x.length) {
+                int capacity = size * 2;
+                x = Arrays.copyOf(x, capacity);
+                series = Arrays.copyOf(series, capacity);
+                rows = Arrays.copyOf(rows, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+                Arrays.fill(mins, size, capacity, Double.POSITIVE_INFINITY);
+                Arrays.fill(maxs, size, capacity, Double.NEGATIVE_INFINITY);
+            }
+            x[size] = xId;
+            series[size] = seriesId;
+            return size++;
+        }
+
+        private void add(int cell, double value) {
+            counts[cell]++;
+            sums[cell] += value;
+            if (value < mins[cell]) mins[cell] = value;
+            if (value > maxs[cell]) maxs[cell] = value;
+        }
+
+        private void mergeInto(int cell, Cells other, int otherCell) {
+            rows[cell] += other.rows[otherCell];
+            counts[cell] += other.counts[otherCell];
+            sums[cell] += other.sums[otherCell];
+            mins[cell] = Math.min(mins[cell], other.mins[otherCell]);
+            maxs[cell] = Math.max(maxs[cell], other.maxs[otherCell]);
+        }
+
+        // SQL'deki gibi: hücrede satır yoksa null, y'lerin hepsi null ise özet null (count için 0)
+        private Object summary(ChartQueryPlan.Aggregate aggregate, boolean countRows, int cell) {
+            if (rows[cell] == 0) return null;
+            if (countRows) return rows[cell];
+            if (aggregate == ChartQueryPlan.Aggregate.COUNT) return counts[cell];
+            if (counts[cell] == 0) return null;
+            return switch (aggregate) {
+                case SUM -> sums[cell];
+                case AVG -> sums[cell] / counts[cell];
+                case MIN -> mins[cell];
+                default -> maxs[cell];
+            };
+        }
+    }
+
+    // Bir satır aralığının kendi grup numaralarıyla toplanmış hali
+    private static final class Partial {
+        private final Groups x;
+        private final Groups series;
+        private final Cells cells = new Cells(256);
+        private final LongIntHashMap cellIds = new LongIntHashMap(256);
+        private long[] seriesRows = new long[64];
+
+        private Partial(Keys xKeys, Keys seriesKeys, ColumnVector y, int from, int to) {
+            x = new Groups(xKeys);
+            series = new Groups(seriesKeys);
+            ColumnVector.LongColumnVector longs = y instanceof ColumnVector.LongColumnVector vector ? vector : null;
+            ColumnVector.DoubleColumnVector doubles = y instanceof ColumnVector.DoubleColumnVector vector ? vector : null;
+            for (int row = from; row < to; row++) {
+                int cell = cell(x.idOf(row), series.idOf(row), 1);
+                if (y == null || y.isNull(row)) continue;
+                if (doubles != null) cells.add(cell, doubles.getDouble(row));
+                else if (longs != null) cells.add(cell, longs.getLong(row));
+                else cells.counts[cell]++; // count(y): sayısal olmayan sütunlarda yalnızca dolu değerler sayılır
+            }
+        }
+
+        private int cell(int xId, int seriesId, long rows) {
+            if (seriesId >= seriesRows.length) seriesRows = Arrays.copyOf(seriesRows, Math.max(seriesId + 1, seriesRows.length * 2));
+            seriesRows[seriesId] += rows;
+            long key = ((long) xId << 32) | seriesId;
+            int cell = cellIds.get(key);
+            if (cell < 0) {
+                cell = cells.add(xId, seriesId);
+                cellIds.putIfAbsent(key, cell);
+            }
+            cells.rows[cell] += rows;
+            return cell;
+        }
+
+        // Diğer parçanın gruplarını bu parçanın numaralarına çevirip hücrelerini ekler
+        private void merge(Partial other) {
+            int[] xIds = new int[other.x.size];
+            for (int i = 0; i < xIds.length; i++) xIds[i] = x.idOf(other.x.rows[i]);
+            int[] seriesIds = new int[other.series.size];
+            for (int i = 0; i < seriesIds.length; i++) seriesIds[i] = series.idOf(other.series.rows[i]);
+            for (int otherCell = 0; otherCell < other.cells.size; otherCell++) {
+                int cell = cell(xIds[other.cells.x[otherCell]], seriesIds[other.cells.series[otherCell]], 0);
+                cells.mergeInto(cell, other.cells, otherCell);
+            }
+            for (int i = 0; i < seriesIds.length; i++) {
+                seriesRows[seriesIds[i]] += other.seriesRows[i];
+            }
+        }
+    }
+}
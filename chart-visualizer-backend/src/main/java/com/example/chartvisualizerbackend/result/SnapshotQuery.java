@@ -0,0 +1,342 @@
+// src/main/java/com/example/chartvisualizerbackend/result/SnapshotQuery.java
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.query.ChartQueryPlan;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+// Bellek eşlemeli anlık görüntü (ColumnarSnapshot) üzerinde veritabanına gitmeden çalışan sorgu:
+// filtreleme, sıralama, sütun seçimi, sayfalama ve /data'daki "aggregation" ile aynı gruplama.
+// İstek: {"columns": [...], "filters": [{"column", "op", "value"}], "sort": [{"column", "direction"}],
+//         "offset", "limit", "aggregation": {"x", "y", "function", "bucket"}}
+// op: eq, ne, lt, lte, gt, gte, in (value liste), isNull, notNull
+// Cevap /data ile aynı şekildedir: {"columns": [{name, type}], "data": [...], "totalRows": filtreden geçen satır sayısı}
+public final class SnapshotQuery {
+
+    private SnapshotQuery() {
+    }
+
+    public static Map<String, Object> run(ColumnarSnapshot snapshot, Map<String, Object> request) {
+        int[] rows = filter(snapshot, (List<Map<String, Object>>) request.get("filters"));
+
+        Map<String, Object> aggregation = (Map<String, Object>) request.get("aggregation");
+        if (aggregation != null) {
+            return aggregate(snapshot, rows, ChartQueryPlan.from(aggregation));
+        }
+
+        List<Map<String, Object>> sort = (List<Map<String, Object>>) request.get("sort");
+        if (sort != null && !sort.isEmpty()) {
+            sortRows(rows, comparator(snapshot, sort));
+        }
+
+        List<ColumnarSnapshot.Column> selected = new ArrayList<>();
+        List<String> names = (List<String>) request.get("columns");
+        if (names == null || names.isEmpty()) {
+            selected.addAll(snapshot.getVectors());
+        } else {
+            for (String name : names) selected.add(snapshot.column(name));
+        }
+
+        int offset = Math.max(0, intOption(request, "offset", 0));
+        int limit = intOption(request, "limit", Integer.MAX_VALUE);
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit negatif olamaz.");
+        }
+        int end = (int) Math.min(rows.length, (long) offset + limit);
+
+        List<Map<String, Object>> data = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            Map<String, Object> row = new HashMap<>();
+            for (ColumnarSnapshot.Column column : selected) {
+                row.put(column.getName(), column.get(rows[i]));
+            }
+            data.add(row);
+        }
+
+        List<Map<String, String>> columns = new ArrayList<>(selected.size());
+        for (ColumnarSnapshot.Column column : selected) {
+            columns.add(Map.of("name", column.getName(), "type", column.getType()));
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("columns", columns);
+        response.put("data", data);
+        response.put("totalRows", rows.length);
+        return response;
+    }
+
+    private static int intOption(Map<String, Object> request, String name, int defaultValue) {
+        Object value = request.get(name);
+        return value == null ? defaultValue : ((Number) value).intValue();
+    }
+
+    // Tüm filtrelerden geçen satırların indeksleri (artan sırada)
+    static int[] filter(ColumnarSnapshot snapshot, List<Map<String, Object>> filters) {
+        List<IntPredicate> predicates = new ArrayList<>();
+        if (filters != null) {
+            for (Map<String, Object> filter : filters) {
+                predicates.add(predicate(snapshot.column((String) filter.get("column")), (String) filter.get("op"), filter.get("value")));
+            }
+        }
+        int[] rows = new int[snapshot.getRowCount()];
+        int count = 0;
+        for (int row = 0; row < rows.length; row++) {
+            boolean matches = true;
+            for (IntPredicate predicate : predicates) {
+                if (!predicate.test(row)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) rows[count++] = row;
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    private static IntPredicate predicate(ColumnarSnapshot.Column column, String op, Object value) {
+        if (op == null) {
+            throw new IllegalArgumentException("Filtre için op zorunludur.");
+        }
+        switch (op) {
+            case "isNull":
+                return column::isNull;
+            case "notNull":
+                return row -> !column.isNull(row);
+            case "in": {
+                if (!(value instanceof List<?> values)) {
+                    throw new IllegalArgumentException("in filtresinin değeri liste olmalıdır.");
+                }
+                List<IntPredicate> any = new ArrayList<>();
+                for (Object candidate : values) any.add(predicate(column, "eq", candidate));
+                return row -> {
+                    for (IntPredicate candidate : any) {
+                        if (candidate.test(row)) return true;
+                    }
+                    return false;
+                };
+            }
+            case "eq":
+            case "ne":
+            case "lt":
+            case "lte":
+            case "gt":
+            case "gte":
+                break;
+            default:
+                throw new IllegalArgumentException("Bilinmeyen filtre operatörü: " + op);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Filtre değeri boş olamaz (isNull/notNull kullanın).");
+        }
+
+        // SQL'deki gibi null değerler hiçbir karşılaştırmayı sağlamaz
+        if (column instanceof ColumnarSnapshot.TemporalColumn temporal) {
+            long target = temporal.toEpoch(parseDateTime(value));
+            return row -> !temporal.isNull(row) && matches(op, Long.compare(temporal.getEpoch(row), target));
+        }
+        if (column.isNumeric()) {
+            double target = value instanceof Number number ? number.doubleValue() : parseNumber(value);
+            return row -> !column.isNull(row) && matches(op, Double.compare(column.getDouble(row), target));
+        }
+        String target = value.toString().trim();
+        if (column instanceof ColumnarSnapshot.DictionaryColumn dictionaryColumn) {
+            // Koşul her sözlük değeri için bir kez hesaplanır, satırlarda yalnızca kod okunur
+            String[] dictionary = dictionaryColumn.getDictionary();
+            boolean[] accepted = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                accepted[code] = matches(op, dictionary[code].compareTo(target));
+            }
+            return row -> {
+                int code = dictionaryColumn.getCode(row);
+                return code >= 0 && accepted[code];
+            };
+        }
+        ColumnarSnapshot.TextColumn textColumn = (ColumnarSnapshot.TextColumn) column;
+        return row -> {
+            String text = textColumn.getText(row);
+            return text != null && matches(op, text.compareTo(target));
+        };
+    }
+
+    private static boolean matches(String op, int comparison) {
+        return switch (op) {
+            case "eq" -> comparison == 0;
+            case "ne" -> comparison != 0;
+            case "lt" -> comparison < 0;
+            case "lte" -> comparison <= 0;
+            case "gt" -> comparison > 0;
+            default -> comparison >= 0;
+        };
+    }
+
+    private static double parseNumber(Object value) {
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Sayısal sütun için geçersiz filtre değeri: " + value);
+        }
+    }
+
+    // Tarih/zaman filtresi: "2024-01-05" gün başı, "2024-01-05 10:30" ya da ISO-8601 yerel zaman
+    private static LocalDateTime parseDateTime(Object value) {
+        String text = value.toString().trim();
+        try {
+            return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text.replace(' ', 'T'));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Geçersiz tarih filtresi: " + value);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    private static RowComparator comparator(ColumnarSnapshot snapshot, List<Map<String, Object>> sort) {
+        List<RowComparator> comparators = new ArrayList<>();
+        for (Map<String, Object> key : sort) {
+            ColumnarSnapshot.Column column = snapshot.column((String) key.get("column"));
+            String direction = (String) key.getOrDefault("direction", "asc");
+            if ("desc".equalsIgnoreCase(direction)) {
+                // PostgreSQL'deki gibi azalan sıralamada null değerler başa gelir
+                comparators.add((a, b) -> column.compare(b, a));
+            } else if ("asc".equalsIgnoreCase(direction)) {
+                comparators.add(column::compare);
+            } else {
+                throw new IllegalArgumentException("Geçersiz sıralama yönü: " + direction);
+            }
+        }
+        return (a, b) -> {
+            for (RowComparator comparator : comparators) {
+                int result = comparator.compare(a, b);
+                if (result != 0) return result;
+            }
+            return 0;
+        };
+    }
+
+    // Kararlı birleştirmeli sıralama (int dizisi kutulanmadan sıralanır)
+    static void sortRows(int[] rows, RowComparator comparator) {
+        int[] buffer = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int low = 0; low < rows.length - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, rows.length);
+                if (comparator.compare(rows[mid - 1], rows[mid]) <= 0) continue; // Zaten sıralı
+                int i = low, j = mid, k = low;
+                while (i < mid && j < high) {
+                    buffer[k++] = comparator.compare(rows[j], rows[i]) < 0 ? rows[j++] : rows[i++];
+                }
+                while (i < mid) buffer[k++] = rows[i++];
+                while (j < high) buffer[k++] = rows[j++];
+                System.arraycopy(buffer, low, rows, low, high - low);
+            }
+        }
+    }
+
+    // ChartQueryCompiler.compile'ın ürettiği SQL ile aynı sonuç: x (kovalanmış) başına y'nin özeti, x'e göre sıralı.
+    // Null y değerleri özete girmez; bir grupta hiç değer yoksa özet null'dur (count için 0).
+    private static Map<String, Object> aggregate(ColumnarSnapshot snapshot, int[] rows, ChartQueryPlan plan) {
+        ColumnarSnapshot.Column x = snapshot.column(plan.xColumn());
+        ColumnarSnapshot.Column y = plan.yColumn() != null ? snapshot.column(plan.yColumn()) : null;
+        if (y != null && !y.isNumeric() && plan.aggregate() != ChartQueryPlan.Aggregate.COUNT) {
+            throw new IllegalArgumentException("Toplama fonksiyonu yalnızca sayısal sütunlarda kullanılabilir: " + plan.yColumn());
+        }
+        if (plan.timeBucket() != null && !(x instanceof ColumnarSnapshot.TemporalColumn)) {
+            throw new IllegalArgumentException("Zaman kovası yalnızca tarih/zaman sütunlarında kullanılabilir: " + plan.xColumn());
+        }
+        if (plan.numericBucket() != null && !x.isNumeric()) {
+            throw new IllegalArgumentException("Sayısal kova yalnızca sayısal sütunlarda kullanılabilir: " + plan.xColumn());
+        }
+
+        // Grup başına durum: sayaç, toplam, en küçük, en büyük
+        Map<Object, double[]> groups = new HashMap<>();
+        Map<Long, Timestamp> buckets = new HashMap<>();
+        for (int row : rows) {
+            Object key = groupKey(x, row, plan, buckets);
+            double[] state = groups.computeIfAbsent(key, k -> new double[]{0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+            if (y == null) {
+                state[0]++;
+                continue;
+            }
+            if (y.isNull(row)) continue;
+            double value = y.isNumeric() ? y.getDouble(row) : 0;
+            state[0]++;
+            state[1] += value;
+            state[2] = Math.min(state[2], value);
+            state[3] = Math.max(state[3], value);
+        }
+
+        List<Object> keys = new ArrayList<>(groups.keySet());
+        keys.sort(Comparator.nullsLast((a, b) -> ((Comparable<Object>) a).compareTo(b)));
+
+        String yAlias = y == null ? "count" : plan.yColumn();
+        List<Map<String, Object>> data = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            double[] state = groups.get(key);
+            Map<String, Object> row = new HashMap<>();
+            row.put(plan.xColumn(), key);
+            row.put(yAlias, summary(y == null ? ChartQueryPlan.Aggregate.COUNT : plan.aggregate(), state));
+            data.add(row);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("columns", List.of(
+                Map.of("name", plan.xColumn(), "type", plan.timeBucket() != null ? "timestamp" : x.getType()),
+                Map.of("name", yAlias, "type", y == null || plan.aggregate() == ChartQueryPlan.Aggregate.COUNT ? "int8" : "float8")));
+        response.put("data", data);
+        response.put("totalRows", rows.length);
+        return response;
+    }
+
+    // buckets: dakika (tarihte gün) -> kova; her satırda tarih dönüştürmemek için
+    private static Object groupKey(ColumnarSnapshot.Column x, int row, ChartQueryPlan plan, Map<Long, Timestamp> buckets) {
+        if (x.isNull(row)) return null;
+        if (plan.numericBucket() != null) {
+            double width = plan.numericBucket();
+            return Math.floor(x.getDouble(row) / width) * width;
+        }
+        if (plan.timeBucket() != null) {
+            ColumnarSnapshot.TemporalColumn temporal = (ColumnarSnapshot.TemporalColumn) x;
+            long minute = temporal.isDate() ? temporal.getEpoch(row) : Math.floorDiv(temporal.getEpoch(row), 60_000_000L);
+            Timestamp bucket = buckets.get(minute);
+            if (bucket == null) {
+                bucket = Timestamp.valueOf(truncate(temporal.getLocalDateTime(row), plan.timeBucket()));
+                buckets.put(minute, bucket);
+            }
+            return bucket;
+        }
+        return x.get(row);
+    }
+
+    // PostgreSQL date_trunc ile aynı (hafta pazartesi başlar)
+    static LocalDateTime truncate(LocalDateTime value, String unit) {
+        return switch (unit) {
+            case "minute" -> value.truncatedTo(ChronoUnit.MINUTES);
+            case "hour" -> value.truncatedTo(ChronoUnit.HOURS);
+            case "day" -> value.truncatedTo(ChronoUnit.DAYS);
+            case "week" -> value.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case "month" -> value.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            case "quarter" -> LocalDate.of(value.getYear(), (value.getMonthValue() - 1) / 3 * 3 + 1, 1).atStartOfDay();
+            default -> LocalDate.of(value.getYear(), 1, 1).atStartOfDay();
+        };
+    }
+
+    private static Object summary(ChartQueryPlan.Aggregate aggregate, double[] state) {
+        long count = (long) state[0];
+        if (aggregate == ChartQueryPlan.Aggregate.COUNT) return count;
+        if (count == 0) return null;
+        return switch (aggregate) {
+            case SUM -> state[1];
+            case AVG -> state[1] / count;
+            case MIN -> state[2];
+            default -> state[3];
+        };
+    }
+}
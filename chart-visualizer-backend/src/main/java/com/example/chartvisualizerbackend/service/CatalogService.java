@@ -0,0 +1,212 @@
+// src/main/java/com/example/chartvisualizerbackend/service/CatalogService.java
+package com.example.chartvisualizerbackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Hedef veritabanı başına View, fonksiyon ve fonksiyon parametresi bilgisini (katalog) önbellekte tutar.
+// Katalog tek bir pg_catalog sorgusuyla yüklenir. Süresi dolan katalog bir sonraki istekte
+// eski haliyle döndürülür ve arka planda yenilenir; istek beklemez.
+// İlk yüklemesi başarısız olan hedefler (ör. hatalı şifre) tutulmaz; uzun süredir istenmeyen kataloglar
+// havuzlar gibi chart.pool.evict-after-ms sonra atılır.
+@Service
+public class CatalogService {
+
+    // public şemasındaki fonksiyonlar (tüm parametreleriyle) ve View'lar tek sorguda.
+    // Parametresiz fonksiyonlar LEFT JOIN sayesinde parametre alanları boş tek satır olarak gelir.
+    // information_schema gibi yalnızca bağlanan rolün çalıştırabildiği fonksiyonlar ve okuyabildiği View'lar listelenir.
+    private static final String CATALOG_SQL =
+            "SELECT 'FUNCTION' AS kind, p.proname AS name, p.oid AS oid, a.position, a.arg_name, " +
+            "       format_type(a.arg_type, NULL) AS arg_type, a.arg_mode " +
+            "FROM pg_proc p " +
+            "JOIN pg_namespace n ON n.oid = p.pronamespace " +
+            "LEFT JOIN LATERAL unnest(coalesce(p.proallargtypes, p.proargtypes::oid[]), p.proargnames, p.proargmodes) " +
+            "       WITH ORDINALITY AS a(arg_type, arg_name, arg_mode, position) ON true " +
+            "WHERE n.nspname = 'public' AND p.prokind = 'f' AND has_function_privilege(p.oid, 'EXECUTE') " +
+            "UNION ALL " +
+            "SELECT 'VIEW', c.relname, c.oid, NULL, NULL, NULL, NULL " +
+            "FROM pg_class c " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = 'public' AND c.relkind = 'v' AND has_table_privilege(c.oid, 'SELECT') " +
+            "ORDER BY 1, 3, 4";
+
+    @Autowired
+    private ConnectionPoolRegistry connectionPoolRegistry;
+
+    @Autowired
+    private TargetBulkhead targetBulkhead;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${chart.catalog.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${chart.pool.evict-after-ms:600000}")
+    private long evictAfterMs;
+
+    private final Map<ConnectionPoolRegistry.PoolKey, CatalogHolder> catalogs = new ConcurrentHashMap<>();
+
+    // Bir hedef veritabanının katalog görüntüsü
+    public static class Catalog {
+        private final List<String> functions;
+        private final List<String> views;
+        private final Map<String, List<Map<String, String>>> parameters;
+        private final long loadedAt;
+
+        Catalog(List<String> functions, List<String> views, Map<String, List<Map<String, String>>> parameters) {
+            this.functions = Collections.unmodifiableList(functions);
+            this.views = Collections.unmodifiableList(views);
+            this.parameters = Collections.unmodifiableMap(parameters);
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        // Fonksiyon ve View isimleri (önce fonksiyonlar), /objects cevabıyla aynı sırada
+        public List<String> objectNames() {
+            List<String> names = new ArrayList<>(functions.size() + views.size());
+            names.addAll(functions);
+            names.addAll(views);
+            return names;
+        }
+
+        // Fonksiyonun IN parametreleri; View ya da bilinmeyen isim için boş liste
+        public List<Map<String, String>> parametersOf(String objectName) {
+            return parameters.getOrDefault(objectName, List.of());
+        }
+
+        public List<String> getViews() {
+            return views;
+        }
+
+        // Toplu cevapta fonksiyonlar parametreleriyle birlikte yazılır
+        public List<Map<String, Object>> getFunctions() {
+            List<Map<String, Object>> result = new ArrayList<>(functions.size());
+            for (String function : functions) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", function);
+                entry.put("parameters", parametersOf(function));
+                result.add(entry);
+            }
+            return result;
+        }
+
+        public long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+
+    // Hedefin kataloğunu döndürür. İlk istekte senkron yüklenir; süresi dolmuşsa eski katalog
+    // döndürülürken arka planda yenilenir.
+    public Catalog getCatalog(String host, String dbName, String user, String password) throws SQLException {
+        ConnectionPoolRegistry.PoolKey key = ConnectionPoolRegistry.PoolKey.of(host, dbName, user, password);
+        CatalogHolder holder = catalogs.computeIfAbsent(key, k -> new CatalogHolder());
+        holder.lastUsed = System.currentTimeMillis();
+
+        Catalog current = holder.catalog;
+        if (current == null) {
+            synchronized (holder) {
+                if (holder.catalog == null) {
+                    try {
+                        holder.catalog = loadCatalog(host, dbName, user, password);
+                    } catch (SQLException | RuntimeException e) {
+                        // Yüklenemeyen hedef (hatalı şifre, olmayan veritabanı) haritada yer tutmaz
+                        catalogs.remove(key, holder);
+                        throw e;
+                    }
+                }
+                return holder.catalog;
+            }
+        }
+
+        if (System.currentTimeMillis() - current.loadedAt >= ttlMs && holder.refreshing.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    holder.catalog = loadCatalog(host, dbName, user, password);
+                } catch (SQLException | RuntimeException e) {
+                    // Yenileme başarısızsa (hedef meşgulse de) eski katalog kullanılmaya devam eder, sonraki istek tekrar dener
+                } finally {
+                    holder.refreshing.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    // Kataloğu beklemeden hemen yeniden yükler (ör. yeni bir View oluşturulduktan sonra)
+    public Catalog refreshCatalog(String host, String dbName, String user, String password) throws SQLException {
+        Catalog catalog = loadCatalog(host, dbName, user, password);
+        CatalogHolder holder = catalogs.computeIfAbsent(
+                ConnectionPoolRegistry.PoolKey.of(host, dbName, user, password), key -> new CatalogHolder());
+        holder.lastUsed = System.currentTimeMillis();
+        holder.catalog = catalog;
+        return catalog;
+    }
+
+    // Belirlenen süreden uzun süredir istenmeyen hedeflerin kataloglarını bellekten çıkarır
+    @Scheduled(fixedDelayString = "${chart.pool.evict-interval-ms:60000}")
+    public void evictIdleCatalogs() {
+        long now = System.currentTimeMillis();
+        catalogs.entrySet().removeIf(entry -> now - entry.getValue().lastUsed >= evictAfterMs);
+    }
+
+    private Catalog loadCatalog(String host, String dbName, String user, String password) throws SQLException {
+        List<String> functions = new ArrayList<>();
+        List<String> views = new ArrayList<>();
+        Map<String, List<Map<String, String>>> parameters = new HashMap<>();
+
+        try (TargetBulkhead.Permit permit = targetBulkhead.acquire(host, dbName);
+             Connection connection = connectionPoolRegistry.getConnection(host, dbName, user, password);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(CATALOG_SQL)) {
+
+            Map<String, Long> functionOids = new HashMap<>();
+            while (resultSet.next()) {
+                String name = resultSet.getString("name");
+                if ("VIEW".equals(resultSet.getString("kind"))) {
+                    views.add(name);
+                    continue;
+                }
+
+                // Aynı isimli aşırı yüklenmiş (overload) fonksiyonlardan yalnızca ilk tanımlanan kullanılır
+                long oid = resultSet.getLong("oid");
+                Long knownOid = functionOids.putIfAbsent(name, oid);
+                if (knownOid == null) {
+                    functions.add(name);
+                    parameters.put(name, new ArrayList<>());
+                } else if (knownOid != oid) {
+                    continue;
+                }
+
+                // Sadece IN (giriş) modundaki parametreler; mod bilgisi yoksa tüm parametreler IN'dir
+                String argType = resultSet.getString("arg_type");
+                String argMode = resultSet.getString("arg_mode");
+                if (argType != null && (argMode == null || "i".equals(argMode) || "v".equals(argMode))) {
+                    Map<String, String> param = new HashMap<>();
+                    param.put("name", resultSet.getString("arg_name"));
+                    param.put("type", argType);
+                    parameters.get(name).add(param);
+                }
+            }
+        }
+        return new Catalog(functions, views, parameters);
+    }
+
+    private static final class CatalogHolder {
+        private volatile Catalog catalog;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long lastUsed = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,294 @@
+// src/main/java/com/example/chartvisualizerbackend/service/ChartDataService.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.query.ChartQueryCompiler;
+import com.example.chartvisualizerbackend.query.ChartQueryPlan;
+import com.example.chartvisualizerbackend.result.ColumnStatistics;
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.example.chartvisualizerbackend.result.Downsampler;
+import com.example.chartvisualizerbackend.result.SeriesPivot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// /api/charts/data isteklerini (istek gövdesindeki seçeneklere göre) SQL'e çevirir ve çalıştırır.
+// Akış (stream) dışındaki tüm cevaplar sonuç önbelleğinden geçer.
+@Service
+public class ChartDataService {
+
+    @Autowired
+    private DynamicConnectionService dynamicConnectionService;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private DeltaRefreshService deltaRefreshService;
+
+    @Autowired
+    private SnapshotStore snapshotStore;
+
+    @Autowired
+    private PartitionedScanService partitionedScanService;
+
+    // İstatistik cevabında istenebilecek en fazla yüzdelik sayısı (cevap birkaç KB kalsın)
+    private static final int MAX_QUANTILES = 101;
+
+    // Satır biçimini etkileyen, istatistiklerde anlamı olmayan alanlar (önbellek anahtarına girmez)
+    private static final double PREVIEW_LIMIT_HEADROOM = 0.9;
+
+    private static final List<String> ROW_FORMAT_FIELDS = List.of("format", "downsample", "stream", "watermark", "preview");
+
+    // Ön izlemede varsayılan örnekleme oranı ve okunacak en fazla satır
+    @Value("${chart.preview.default-fraction:0.01}")
+    private double defaultPreviewFraction;
+
+    @Value("${chart.preview.max-rows:10000}")
+    private int previewMaxRows;
+
+    // Seri ayrımında istenebilecek en fazla seri ve çevirmenin paralel çalışacağı en az satır sayısı
+    @Value("${chart.series.max-series:50}")
+    private int maxSeries;
+
+    @Value("${chart.series.parallel-threshold:200000}")
+    private int seriesParallelThreshold;
+
+    // Grafik verisini döndürür. Aynı hedef/obje/parametrelerle gelen istekler önbellekten ya da
+    // hâlihazırda çalışan aynı sorgudan beslenir. "cache": false önbelleği atlar.
+    // context: süre sınırı ve iptal için isteğin kimliği (bkz. RunningQueryRegistry)
+    public Object getChartData(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        // "watermark" verilmişse yalnızca son yenilemeden sonra eklenen satırlar çekilir (bkz. DeltaRefreshService)
+        if (requestBody.get("watermark") != null) {
+            if (requestBody.get("aggregation") != null || requestBody.get("downsample") != null || requestBody.get("series") != null
+                    || requestBody.get("partition") != null) {
+                throw new IllegalArgumentException("watermark, aggregation, downsample, series ve partition ile birlikte kullanılamaz.");
+            }
+            return deltaRefreshService.refresh(requestBody, relationFor(requestBody), context);
+        }
+        if (Boolean.FALSE.equals(requestBody.get("cache"))) {
+            return loadChartData(requestBody, context);
+        }
+        String objectName = (String) requestBody.get("objectName");
+        return resultCache.get(resultCache.keyFor(requestBody), objectName, context, () -> loadChartData(requestBody, context));
+    }
+
+    // Grafiğin rastgele örneklem üzerinden hesaplanmış yaklaşık sonucu (kesin sonuçtan önce hızlıca çizmek için).
+    // "preview": {"fraction": 0.01, "limit": 10000}: satırlar fraction olasılıkla seçilir, en fazla limit satır okunur.
+    // Limit dolunca tarama erken biteceği ve örneklem kaynağın başına kayacağı için oran, planlayıcının satır
+    // tahminine göre beklenen örneklem limitin altında kalacak şekilde küçültülür.
+    // aggregation/downsample/format kesin sonuçtaki gibi uygulanır; count/sum değerleri örneklemindir (ölçeklenmez).
+    // Cevap: {"fraction" (kullanılan oran), "requestedFraction", "estimatedRows" (-1: bilinmiyor), "limit", "result"};
+    // önbellek kullanılmaz.
+    public Map<String, Object> getPreviewData(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        if (requestBody.get("watermark") != null || Boolean.TRUE.equals(requestBody.get("stream"))) {
+            throw new IllegalArgumentException("preview, watermark ve stream ile birlikte kullanılamaz.");
+        }
+        Map<String, Object> preview = (Map<String, Object>) requestBody.get("preview");
+        double fraction = ((Number) preview.getOrDefault("fraction", defaultPreviewFraction)).doubleValue();
+        if (!(fraction > 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Örnekleme oranı 0 ile 1 arasında olmalıdır: " + fraction);
+        }
+        int limit = ((Number) preview.getOrDefault("limit", previewMaxRows)).intValue();
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Ön izleme satır sınırı pozitif olmalıdır: " + limit);
+        }
+        limit = Math.min(limit, previewMaxRows);
+
+        BoundQuery source = relationFor(requestBody);
+        long estimatedRows = dynamicConnectionService.estimateRows((String) requestBody.get("host"), (String) requestBody.get("dbName"),
+                (String) requestBody.get("user"), (String) requestBody.get("password"), source, context);
+        double requestedFraction = fraction;
+        if (estimatedRows > 0) {
+            // Beklenen örneklem limitin %90'ını aşmasın; tahmin sapsa da limit nadiren dolar
+            fraction = Math.min(fraction, PREVIEW_LIMIT_HEADROOM * limit / estimatedRows);
+        }
+
+        BoundQuery relation = ChartQueryCompiler.sample(source, fraction, limit);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("fraction", fraction);
+        response.put("requestedFraction", requestedFraction);
+        response.put("estimatedRows", estimatedRows);
+        response.put("limit", limit);
+        response.put("result", loadChartData(requestBody, buildQuery(requestBody, relation, context), context));
+        return response;
+    }
+
+    // Kesin sonuç önbellekte hazırsa ön izlemeye gerek yoktur
+    public boolean isCached(Map<String, Object> requestBody) {
+        return !Boolean.FALSE.equals(requestBody.get("cache"))
+                && resultCache.contains(resultCache.keyFor(requestBody), (String) requestBody.get("objectName"));
+    }
+
+    // Grafiğin sonucundaki sütunların istatistiklerini döndürür (eksen seçimi için satırları çekmeden önce).
+    // Gövde /data ile aynıdır; "columns": [...] yalnızca verilen sütunları, "quantiles": [0.5, ...] istenen yüzdelikleri seçer.
+    // Sonuç /data cevaplarıyla aynı önbellekten geçer ("cache": false atlar).
+    public Map<String, Object> getColumnStatistics(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        List<String> columns = (List<String>) requestBody.get("columns");
+        double[] quantiles = quantilesOf(requestBody.get("quantiles"));
+        Map<String, Object> statisticsRequest = new HashMap<>(requestBody);
+        statisticsRequest.keySet().removeAll(ROW_FORMAT_FIELDS);
+
+        ResultCache.Loader loader = () -> {
+            BoundQuery query = buildQuery(statisticsRequest, context);
+            ColumnStatistics statistics = dynamicConnectionService.executeStatisticsQuery(
+                    (String) requestBody.get("host"), (String) requestBody.get("dbName"), (String) requestBody.get("user"),
+                    (String) requestBody.get("password"), query, context, columns);
+            return statistics.toMap(quantiles);
+        };
+        if (Boolean.FALSE.equals(requestBody.get("cache"))) {
+            return (Map<String, Object>) loader.load();
+        }
+        // Aynı gövdeli /data isteğiyle aynı anahtarı almasın
+        statisticsRequest.put("statistics", true);
+        String objectName = (String) requestBody.get("objectName");
+        return (Map<String, Object>) resultCache.get(resultCache.keyFor(statisticsRequest), objectName, context, loader);
+    }
+
+    // Grafiğin sonucunu sütun bazlı okuyup yerel bir anlık görüntüye yazar (bkz. SnapshotStore).
+    // Gövde /data ile aynıdır ("aggregation" verilirse gruplanmış sonuç saklanır); önbellek kullanılmaz.
+    public SnapshotStore.Snapshot createSnapshot(Map<String, Object> requestBody, QueryContext context) throws SQLException, IOException {
+        BoundQuery query = buildQuery(requestBody, context);
+        ColumnarResult result = dynamicConnectionService.executeColumnarQuery((String) requestBody.get("host"),
+                (String) requestBody.get("dbName"), (String) requestBody.get("user"), (String) requestBody.get("password"),
+                query, context);
+        return snapshotStore.create(result, context.getOwner(), (String) requestBody.get("objectName"));
+    }
+
+    private static double[] quantilesOf(Object value) {
+        if (value == null) {
+            return ColumnStatistics.DEFAULT_QUANTILES;
+        }
+        List<?> list = (List<?>) value;
+        if (list.size() > MAX_QUANTILES) {
+            throw new IllegalArgumentException("En fazla " + MAX_QUANTILES + " yüzdelik istenebilir.");
+        }
+        double[] quantiles = new double[list.size()];
+        for (int i = 0; i < quantiles.length; i++) {
+            double q = ((Number) list.get(i)).doubleValue();
+            if (q < 0 || q > 1) {
+                throw new IllegalArgumentException("Yüzdelik 0 ile 1 arasında olmalıdır: " + q);
+            }
+            quantiles[i] = q;
+        }
+        return quantiles;
+    }
+
+    // İstek gövdesindeki obje, parametre ve "aggregation" bilgisinden çalıştırılacak sorguyu üretir.
+    // Fonksiyon parametreleri SQL metnine yazılmaz, katalogdaki tiplerine göre bağlanır.
+    public BoundQuery buildQuery(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        return buildQuery(requestBody, relationFor(requestBody), context);
+    }
+
+    // relation: FROM ifadesindeki kaynak (obje ya da onun örneklemi)
+    private BoundQuery buildQuery(Map<String, Object> requestBody, BoundQuery relation, QueryContext context) throws SQLException {
+        String host = (String) requestBody.get("host");
+        String dbName = (String) requestBody.get("dbName");
+        String user = (String) requestBody.get("user");
+        String password = (String) requestBody.get("password");
+
+        // "series" verilmişse yalnızca x (kovalanmış), y ve seri sütunu seçilir; çevirme sunucuda yapılır
+        Map<String, Object> series = (Map<String, Object>) requestBody.get("series");
+        if (series != null) {
+            if (requestBody.get("aggregation") != null || requestBody.get("downsample") != null) {
+                throw new IllegalArgumentException("series, aggregation ve downsample ile birlikte kullanılamaz.");
+            }
+            ChartQueryPlan plan = ChartQueryPlan.from(series);
+            List<Map<String, String>> columns = dynamicConnectionService.describeColumns(host, dbName, user, password, relation, context);
+            return ChartQueryCompiler.project(plan, (String) series.get("by"), relation, columns);
+        }
+
+        // "aggregation" verilmişse yalnızca gereken sütunlar seçilir ve gruplama Postgres'te yapılır
+        Map<String, Object> aggregation = (Map<String, Object>) requestBody.get("aggregation");
+        if (aggregation != null) {
+            ChartQueryPlan plan = ChartQueryPlan.from(aggregation);
+            List<Map<String, String>> columns = dynamicConnectionService.describeColumns(host, dbName, user, password, relation, context);
+            return ChartQueryCompiler.compile(plan, relation, columns);
+        }
+        return ChartQueryCompiler.selectAll(relation);
+    }
+
+    // FROM ifadesindeki kaynak: view adı ya da parametreleri bağlanmış fonksiyon çağrısı
+    BoundQuery relationFor(Map<String, Object> requestBody) throws SQLException {
+        String objectName = (String) requestBody.get("objectName");
+        List<Map<String, Object>> params = (List<Map<String, Object>>) requestBody.get("parameters");
+
+        List<Map<String, String>> paramTypes = params == null || params.isEmpty()
+                ? List.of()
+                : dynamicConnectionService.getFunctionParameters((String) requestBody.get("host"), (String) requestBody.get("dbName"),
+                        (String) requestBody.get("user"), (String) requestBody.get("password"), objectName);
+        return ChartQueryCompiler.relation(objectName, params, paramTypes);
+    }
+
+    private Object loadChartData(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        // "partition" verilmişse satırlar aralık sütununa göre bölünüp birden çok bağlantıdan paralel okunur
+        if (requestBody.get("partition") != null) {
+            return partitionedScanService.read(requestBody, partitionedRelation(requestBody), context);
+        }
+        return loadChartData(requestBody, buildQuery(requestBody, context), context);
+    }
+
+    // Akışta satırları bölümlerden geldikçe yazmak için (bkz. PartitionedScanService.Scan)
+    public PartitionedScanService.Scan openPartitionedScan(Map<String, Object> requestBody, QueryContext context) throws SQLException {
+        return partitionedScanService.open(requestBody, partitionedRelation(requestBody), context);
+    }
+
+    // Paralel okuma ham satırları döndürür; sonucu dönüştüren seçeneklerle birlikte kullanılamaz
+    private BoundQuery partitionedRelation(Map<String, Object> requestBody) throws SQLException {
+        if (requestBody.get("aggregation") != null || requestBody.get("downsample") != null || requestBody.get("series") != null
+                || "columnar".equals(requestBody.get("format"))) {
+            throw new IllegalArgumentException("partition, aggregation, downsample, series ve columnar format ile birlikte kullanılamaz.");
+        }
+        return relationFor(requestBody);
+    }
+
+    private Object loadChartData(Map<String, Object> requestBody, BoundQuery query, QueryContext context) throws SQLException {
+        String host = (String) requestBody.get("host");
+        String dbName = (String) requestBody.get("dbName");
+        String user = (String) requestBody.get("user");
+        String password = (String) requestBody.get("password");
+
+        // "series": {"x", "y", "function", "bucket", "by", "maxSeries"} ise sonuç "by" sütununa göre
+        // x eksenine hizalanmış seri dizilerine çevrilir (bkz. SeriesPivot)
+        Map<String, Object> series = (Map<String, Object>) requestBody.get("series");
+        if (series != null) {
+            ChartQueryPlan plan = ChartQueryPlan.from(series);
+            int limit = ((Number) series.getOrDefault("maxSeries", maxSeries)).intValue();
+            if (limit > maxSeries) {
+                throw new IllegalArgumentException("En fazla " + maxSeries + " seri istenebilir.");
+            }
+            ColumnarResult result = dynamicConnectionService.executeColumnarQuery(host, dbName, user, password, query, context);
+            return new SeriesPivot(plan.aggregate(), limit, seriesParallelThreshold)
+                    .pivot(result, plan.xColumn(), plan.yColumn(), (String) series.get("by"));
+        }
+
+        // "downsample": {"x", "y", "targetPoints", "algorithm": "lttb" | "minmax"} ise
+        // seçilen x/y serisi sunucuda, tek geçişte hedef nokta sayısına indirilir
+        Map<String, Object> downsample = (Map<String, Object>) requestBody.get("downsample");
+        if (downsample != null) {
+            String xColumn = (String) downsample.get("x");
+            String yColumn = (String) downsample.get("y");
+            if (xColumn == null || yColumn == null) {
+                throw new IllegalArgumentException("downsample için x ve y sütunları zorunludur.");
+            }
+            Object targetPoints = downsample.getOrDefault("targetPoints", 1000);
+            Downsampler.Algorithm algorithm = Downsampler.Algorithm.from((String) downsample.get("algorithm"));
+            return dynamicConnectionService.executeDownsampledQuery(host, dbName, user, password, query, context,
+                    xColumn, yColumn, algorithm, ((Number) targetPoints).intValue());
+        }
+
+        // "format": "columnar" ise her sütun tek bir dizi olarak döner (sayısal sütunlar ilkel, metinler sözlük kodlu)
+        if ("columnar".equals(requestBody.get("format"))) {
+            return dynamicConnectionService.executeColumnarQuery(host, dbName, user, password, query, context);
+        }
+
+        return dynamicConnectionService.executeDynamicQuery(host, dbName, user, password, query, context);
+    }
+}
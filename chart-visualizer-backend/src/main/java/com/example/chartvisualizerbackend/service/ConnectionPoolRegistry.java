@@ -0,0 +1,241 @@
+// src/main/java/com/example/chartvisualizerbackend/service/ConnectionPoolRegistry.java
+package com.example.chartvisualizerbackend.service;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hedef veritabanı (host, dbName, user) başına bir bağlantı havuzu tutar.
+// Havuzlar ilk istekte oluşturulur, uzun süre kullanılmayanlar periyodik olarak kapatılır.
+@Component
+public class ConnectionPoolRegistry {
+
+    @Value("${chart.pool.max-size:5}")
+    private int maxPoolSize;
+
+    @Value("${chart.pool.connection-timeout-ms:10000}")
+    private long connectionTimeoutMs;
+
+    @Value("${chart.pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${chart.pool.evict-after-ms:600000}")
+    private long evictAfterMs;
+
+    // PgJDBC: aynı PreparedStatement metni kaçıncı çalıştırmada sunucu tarafında hazırlanır (0 kapatır)
+    @Value("${chart.pool.prepare-threshold:1}")
+    private int prepareThreshold;
+
+    // PgJDBC: bağlantı başına önbellekte tutulan hazırlanmış sorgu sayısı
+    @Value("${chart.pool.prepared-statement-cache-queries:256}")
+    private int preparedStatementCacheQueries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<PoolKey, PoolEntry> pools = new ConcurrentHashMap<>();
+
+    // Havuz anahtarı. Şifrenin kendisi yerine özeti tutulur; farklı şifreyle gelen istek
+    // başka birinin açtığı havuzu kullanamaz.
+    public record PoolKey(String host, String dbName, String user, String credentialHash) {
+
+        public static PoolKey of(String host, String dbName, String user, String password) {
+            return new PoolKey(host, dbName, user, sha256(password == null ? "" : password));
+        }
+
+        @Override
+        public String toString() {
+            return user + "@" + host + "/" + dbName;
+        }
+    }
+
+    // Havuzdan bir bağlantı ödünç alır. close() çağrıldığında bağlantı havuza geri döner.
+    public Connection getConnection(String host, String dbName, String user, String password) throws SQLException {
+        PoolKey key = PoolKey.of(host, dbName, user, password);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            PoolEntry entry = pools.computeIfAbsent(key, k -> new PoolEntry(k, password));
+            if (!entry.enter()) {
+                // Temizlik görevi havuzu tam bu sırada kapatıyor, yeni havuzla tekrar dene
+                pools.remove(key, entry);
+                continue;
+            }
+            try {
+                HikariDataSource dataSource = entry.dataSource();
+                entry.touch();
+                return dataSource.getConnection();
+            } finally {
+                entry.exit();
+            }
+        }
+        throw new SQLException("Bağlantı havuzu kapatıldı: " + key);
+    }
+
+    // Havuz istatistiklerini (aktif, boşta, bekleyen bağlantı sayıları) döndürür.
+    public List<Map<String, Object>> getPoolStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (PoolEntry entry : pools.values()) {
+            HikariDataSource dataSource = entry.dataSourceIfCreated();
+            if (dataSource == null || dataSource.isClosed()) continue;
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put("host", entry.key.host());
+            stat.put("dbName", entry.key.dbName());
+            stat.put("user", entry.key.user());
+            stat.put("maxSize", dataSource.getMaximumPoolSize());
+            stat.put("active", pool != null ? pool.getActiveConnections() : 0);
+            stat.put("idle", pool != null ? pool.getIdleConnections() : 0);
+            stat.put("total", pool != null ? pool.getTotalConnections() : 0);
+            stat.put("waiting", pool != null ? pool.getThreadsAwaitingConnection() : 0);
+            stat.put("idleForMs", now - entry.lastUsed);
+            stats.add(stat);
+        }
+        return stats;
+    }
+
+    // Belirlenen süreden uzun süredir kullanılmayan ve aktif bağlantısı olmayan havuzları kapatır.
+    // Tam o sırada bağlantı almakta olan bir istek varsa havuz kapatılmaz (bkz. PoolEntry.retire).
+    @Scheduled(fixedDelayString = "${chart.pool.evict-interval-ms:60000}")
+    public void evictIdlePools() {
+        long now = System.currentTimeMillis();
+        for (PoolEntry entry : pools.values()) {
+            if (now - entry.lastUsed < evictAfterMs) continue;
+            if (!entry.retire()) continue;
+            pools.remove(entry.key, entry);
+            HikariDataSource dataSource = entry.dataSourceIfCreated();
+            if (dataSource != null) {
+                dataSource.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (PoolEntry entry : pools.values()) {
+            HikariDataSource dataSource = entry.dataSourceIfCreated();
+            if (dataSource != null) dataSource.close();
+        }
+        pools.clear();
+    }
+
+    private HikariDataSource createDataSource(PoolKey key, String password) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(String.format("jdbc:postgresql://%s:5432/%s", key.host(), key.dbName()));
+        config.setUsername(key.user());
+        config.setPassword(password);
+        config.setPoolName("chart-" + key);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(0); // Boşta bağlantı tutma zorunluluğu yok, havuz talebe göre büyür
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        // Hazırlanmış ifadeler fiziksel bağlantıya bağlıdır; havuzdaki bağlantı tekrar kullanıldıkça plan da kullanılır
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        // Havuz metrikleri (hikaricp_connections_*, pool="chart-user@host/db"); havuz kapanınca kayıttan çıkar
+        config.setMetricRegistry(meterRegistry);
+        try {
+            return new HikariDataSource(config);
+        } catch (HikariPool.PoolInitializationException e) {
+            // Yanlış şifre, erişilemeyen host vb. durumları eskisi gibi SQLException olarak ilet
+            if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Havuz girdisi. HikariDataSource ilk kullanımda, anahtar başına bir kez oluşturulur.
+    private final class PoolEntry {
+        private final PoolKey key;
+        private final String password;
+        private volatile HikariDataSource dataSource;
+        private volatile long lastUsed = System.currentTimeMillis();
+        // getConnection içinde olan istek sayısı ve emeklilik bayrağı; ikisi de usage kilidiyle korunur.
+        // (this, havuz oluşturulurken uzun süre tutulduğu için ayrı bir kilit kullanılır.)
+        private final Object usage = new Object();
+        private int users;
+        private boolean retired;
+
+        private PoolEntry(PoolKey key, String password) {
+            this.key = key;
+            this.password = password;
+        }
+
+        private HikariDataSource dataSource() throws SQLException {
+            HikariDataSource current = dataSource;
+            if (current != null) return current;
+            synchronized (this) {
+                if (dataSource == null) {
+                    try {
+                        dataSource = createDataSource(key, password);
+                    } catch (SQLException e) {
+                        // Başarısız havuzu kayıttan çıkar ki sonraki istek yeniden denesin
+                        pools.remove(key, this);
+                        throw e;
+                    }
+                }
+                return dataSource;
+            }
+        }
+
+        private HikariDataSource dataSourceIfCreated() {
+            return dataSource;
+        }
+
+        private void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        // Havuz emekliye ayrılmadıysa kullanıcı sayısını artırır; emekliye ayrılmışsa false döner
+        private boolean enter() {
+            synchronized (usage) {
+                if (retired) return false;
+                users++;
+                return true;
+            }
+        }
+
+        private void exit() {
+            synchronized (usage) {
+                users--;
+            }
+        }
+
+        // Bağlantı almakta olan istek ya da havuzdan alınmış aktif bağlantı yoksa havuzu emekliye ayırır.
+        // İkisi aynı kilit altında bakılır: enter/exit arasındaki istek users'ta, exit sonrası elde tutulan
+        // bağlantı aktif bağlantılarda görünür; kapatılacak havuzda hiçbir istek kalmaz.
+        private boolean retire() {
+            synchronized (usage) {
+                if (users > 0) return false;
+                HikariDataSource current = dataSource;
+                HikariPoolMXBean pool = current != null ? current.getHikariPoolMXBean() : null;
+                if (pool != null && pool.getActiveConnections() > 0) return false;
+                retired = true;
+                return true;
+            }
+        }
+    }
+}
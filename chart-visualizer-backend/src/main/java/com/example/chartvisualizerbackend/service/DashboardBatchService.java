@@ -0,0 +1,171 @@
+// src/main/java/com/example/chartvisualizerbackend/service/DashboardBatchService.java
+package com.example.chartvisualizerbackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Bir dashboard'un grafiklerini tek istekte çalıştırır.
+// Grafikler hedef veritabanına göre gruplanır; her grup için en fazla max-parallel-per-target işçi açılır ve
+// her işçi grubun kuyruğundaki grafikleri kendi oturumunda (TargetSession) sırayla çalıştırır.
+// Oturumun bağlantısı ve sorgu izni her grafikten sonra bırakılır; grafik başındaki katalog yüklemesi
+// izin tutulmuyorken yapılır ve aynı hedefe ikinci bir izin beklenmez.
+// Bir toplu istekte aynı anda çalışan işçi sayısı max-parallel ile sınırlıdır.
+// Sonuçlar bittikleri sırayla kuyruğa konur; ilk grafik en yavaş grafiği beklemez.
+@Service
+public class DashboardBatchService {
+
+    // Toplu isteğin tüm grafiklerde ortak olabilecek alanları; grafiğin kendi değeri önceliklidir
+    private static final List<String> SHARED_FIELDS = List.of("host", "dbName", "user", "password", "timeoutMs");
+
+    @Autowired
+    private ChartDataService chartDataService;
+
+    @Autowired
+    private DynamicConnectionService dynamicConnectionService;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${chart.batch.max-charts:50}")
+    private int maxCharts;
+
+    @Value("${chart.batch.max-parallel:4}")
+    private int maxParallel;
+
+    @Value("${chart.batch.max-parallel-per-target:2}")
+    private int maxParallelPerTarget;
+
+    // Bir grafiğin sonucu ya da hatası. context, hatanın iptal/süre aşımı olup olmadığını ayırt etmek içindir.
+    public record Outcome(int index, Object id, QueryContext context, Object result, Exception error) {
+    }
+
+    // Grafikleri arka planda çalıştırmaya başlar. Gövde: {"charts": [...], "requestId", ve SHARED_FIELDS}.
+    // Her grafik gövdesi /data ile aynıdır, isteğe bağlı "id" alanı sonuçta geri döner.
+    // "requestId" verilmeyen grafiklere toplu isteğin kimliğinden "<requestId>:<sıra>" biçiminde kimlik verilir.
+    public Batch start(Map<String, Object> requestBody, String owner) {
+        List<Map<String, Object>> charts = (List<Map<String, Object>>) requestBody.get("charts");
+        if (charts == null || charts.isEmpty()) {
+            throw new IllegalArgumentException("charts listesi boş olamaz.");
+        }
+        if (charts.size() > maxCharts) {
+            throw new IllegalArgumentException("Bir toplu istekte en fazla " + maxCharts + " grafik olabilir.");
+        }
+
+        Object batchId = requestBody.get("requestId");
+        String requestIdPrefix = batchId != null ? String.valueOf(batchId) : UUID.randomUUID().toString();
+        Batch batch = new Batch(owner, charts.size());
+        Map<ConnectionPoolRegistry.PoolKey, Queue<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < charts.size(); i++) {
+            Map<String, Object> chart = new HashMap<>();
+            for (String field : SHARED_FIELDS) {
+                if (requestBody.get(field) != null) chart.put(field, requestBody.get(field));
+            }
+            chart.putAll(charts.get(i));
+            Object id = chart.remove("id"); // Yalnızca istemcinin eşleştirmesi için; önbellek anahtarına girmez
+            if (chart.get("requestId") == null) {
+                chart.put("requestId", requestIdPrefix + ":" + i);
+            }
+            batch.charts.add(chart);
+            batch.ids.add(id != null ? id : i);
+
+            ConnectionPoolRegistry.PoolKey target = ConnectionPoolRegistry.PoolKey.of((String) chart.get("host"),
+                    (String) chart.get("dbName"), (String) chart.get("user"), (String) chart.get("password"));
+            groups.computeIfAbsent(target, k -> new ConcurrentLinkedQueue<>()).add(i);
+        }
+
+        for (Queue<Integer> group : groups.values()) {
+            int workers = Math.min(group.size(), Math.max(maxParallelPerTarget, 1));
+            for (int w = 0; w < workers; w++) {
+                batch.waiting.add(() -> runGroup(batch, group));
+            }
+        }
+        batch.startWorkers();
+        return batch;
+    }
+
+    // Grubun kuyruğu boşalana kadar grafikleri aynı oturumda çalıştırır
+    private void runGroup(Batch batch, Queue<Integer> group) {
+        TargetSession session = null;
+        try {
+            Integer index;
+            while ((index = group.poll()) != null) {
+                if (batch.cancelled) continue;
+                Map<String, Object> chart = batch.charts.get(index);
+                if (session == null) {
+                    session = dynamicConnectionService.openSession((String) chart.get("host"), (String) chart.get("dbName"),
+                            (String) chart.get("user"), (String) chart.get("password"));
+                }
+                QueryContext context = null;
+                try {
+                    context = QueryContext.from(chart, batch.owner).withSession(session);
+                    Object result = chartDataService.getChartData(chart, context);
+                    batch.outcomes.add(new Outcome(index, batch.ids.get(index), context, result, null));
+                } catch (Exception e) {
+                    batch.outcomes.add(new Outcome(index, batch.ids.get(index), context, null, e));
+                } finally {
+                    session.release();
+                }
+            }
+        } finally {
+            if (session != null) session.close();
+            batch.workerFinished();
+        }
+    }
+
+    public final class Batch {
+        private final String owner;
+        private final int size;
+        private final List<Map<String, Object>> charts = new ArrayList<>();
+        private final List<Object> ids = new ArrayList<>();
+        private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+        private volatile boolean cancelled;
+
+        private Batch(String owner, int size) {
+            this.owner = owner;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Sıradaki biten grafiği bekler
+        public Outcome take() throws InterruptedException {
+            return outcomes.take();
+        }
+
+        // İstemci bağlantısı koptuğunda: başlamamış grafikler atlanır, çalışan sorgular iptal edilir
+        public void cancel(RunningQueryRegistry.CancelReason reason) {
+            cancelled = true;
+            for (Map<String, Object> chart : charts) {
+                runningQueryRegistry.cancel(owner, String.valueOf(chart.get("requestId")), reason);
+            }
+        }
+
+        private synchronized void startWorkers() {
+            while (running < maxParallel && !waiting.isEmpty()) {
+                running++;
+                taskExecutor.execute(waiting.poll());
+            }
+        }
+
+        private synchronized void workerFinished() {
+            running--;
+            startWorkers();
+        }
+    }
+}
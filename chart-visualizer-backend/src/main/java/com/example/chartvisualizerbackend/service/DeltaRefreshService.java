@@ -0,0 +1,257 @@
+// src/main/java/com/example/chartvisualizerbackend/service/DeltaRefreshService.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.query.ChartQueryCompiler;
+import com.example.chartvisualizerbackend.result.RowRingBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Zaman serisi grafikleri için artımlı (delta) yenileme.
+// İstek "watermark": {"column": "ts", "maxRows": 5000, "since": "<cursor>"} içerirse grafik başına
+// son görülen watermark değeri ve son satırlardan oluşan sınırlı bir tampon tutulur.
+// Her yenilemede yalnızca watermark'tan sonraki satırlar çekilip tampona eklenir.
+// İstemci bir önceki cevaptaki "cursor" değerini "since" olarak gönderirse yalnızca yeni satırları alır;
+// "since" yoksa ya da eskidiyse tampondaki tüm pencere "reset": true ile döner.
+// İki yenileme arasında tampondan fazla satır geldiyse aradaki satırlar okunmamıştır: tampon son satırlarla
+// yeniden doldurulur ve yeni bir epoch başlar, böylece tüm istemciler "reset": true alır.
+// Watermark sütunu tekil olmak zorunda değildir: son watermark değerine sahip satırlar hatırlanır ve sorgu
+// ">=" ile çalışır, böylece aynı değerle sonradan eklenen satırlar kaçırılmaz. Watermark'tan küçük bir
+// değerle sonradan eklenen satırlar ise görülmez (sütun eklemeyle birlikte artmalıdır).
+// Aynı grafiği izleyen istemciler aynı durumu paylaşır; yenilemeler en fazla min-refresh-ms'de bir veritabanına gider.
+// Durumun kilidi sorgu boyunca tutulmaz: yenilemeyi bir istek yapar, aynı anda gelenler onun sonucunu
+// (ResultCache'teki gibi) kendi süre sınırları ve requestId iptalleriyle bekler.
+@Service
+public class DeltaRefreshService {
+
+    @Autowired
+    private DynamicConnectionService dynamicConnectionService;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    @Value("${chart.delta.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${chart.delta.min-refresh-ms:1000}")
+    private long minRefreshMs;
+
+    @Value("${chart.delta.max-charts:200}")
+    private int maxCharts;
+
+    @Value("${chart.delta.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private final Map<ResultCache.CacheKey, ChartState> states = new ConcurrentHashMap<>();
+    private final AtomicLong epochs = new AtomicLong(System.currentTimeMillis());
+
+    // relation: grafiğin kaynağı (view ya da parametreleri bağlanmış fonksiyon çağrısı)
+    public Map<String, Object> refresh(Map<String, Object> requestBody, BoundQuery relation, QueryContext context) throws SQLException {
+        Map<String, Object> watermark = (Map<String, Object>) requestBody.get("watermark");
+        String column = (String) watermark.get("column");
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("watermark.column zorunludur.");
+        }
+        Object requestedRows = watermark.get("maxRows");
+        int capacity = requestedRows instanceof Number number ? Math.min(Math.max(number.intValue(), 1), maxRows) : maxRows;
+
+        // "since" istemciye özeldir; grafiğin durumu onun dışındaki tüm alanlarla belirlenir
+        Map<String, Object> stateBody = new HashMap<>(requestBody);
+        Map<String, Object> stateWatermark = new HashMap<>(watermark);
+        stateWatermark.remove("since");
+        stateBody.put("watermark", stateWatermark);
+        ResultCache.CacheKey key = resultCache.keyFor(stateBody);
+
+        ChartState state = states.get(key);
+        if (state == null) {
+            evictIfFull();
+            state = states.computeIfAbsent(key, k -> new ChartState(capacity, epochs.incrementAndGet()));
+        }
+
+        String since = (String) watermark.get("since");
+        while (true) {
+            CompletableFuture<Void> running;
+            boolean leader = false;
+            synchronized (state) {
+                long now = System.currentTimeMillis();
+                state.lastAccess = now;
+                if (state.columns != null && now - state.lastRefresh < minRefreshMs) {
+                    return response(state, since);
+                }
+                if (state.loading == null) {
+                    state.loading = new CompletableFuture<>();
+                    leader = true;
+                }
+                running = state.loading;
+            }
+
+            if (!leader) {
+                try {
+                    runningQueryRegistry.await(running, context, (String) requestBody.get("dbName"));
+                } catch (SQLException e) {
+                    // Yenileme onu yapan isteğin süre sınırı ya da iptaliyle durduysa bekleyen kendisi yeniden dener
+                    if ("57014".equals(e.getSQLState()) && context.getCancelReason() == null) continue;
+                    throw e;
+                }
+                synchronized (state) {
+                    return response(state, since);
+                }
+            }
+
+            try {
+                Fetched fetched = fetch(state, requestBody, relation, column, context);
+                synchronized (state) {
+                    apply(state, fetched, column);
+                    state.lastRefresh = System.currentTimeMillis();
+                    state.loading = null;
+                    running.complete(null);
+                    return response(state, since);
+                }
+            } catch (SQLException | RuntimeException e) {
+                synchronized (state) {
+                    state.loading = null;
+                }
+                running.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    // Yenilemede okunan satırlar ve okumanın sınıra ulaşıp ulaşmadığı
+    private record Fetched(List<Map<String, Object>> rows, List<Map<String, String>> columns, boolean overflowed) {
+    }
+
+    // İlk yüklemede son "capacity" satır, sonrakilerde watermark'tan yeni satırlar (yine en son "capacity" kadarı) okunur.
+    // Kilit dışında çalışır; durumu yalnızca yenilemeyi yapan istek değiştirir (bkz. apply).
+    private Fetched fetch(ChartState state, Map<String, Object> requestBody, BoundQuery relation, String column,
+                          QueryContext context) throws SQLException {
+        Object previous = state.watermark;
+        Set<Map<String, Object>> seen = state.atWatermark;
+        // Son watermark değerindeki, daha önce okunmuş satırlar da tekrar döner; sınır onlar kadar büyütülür
+        int limit = state.buffer.capacity() + seen.size();
+        String quoted = ChartQueryCompiler.quoteIdentifier(column);
+        String condition = previous == null ? quoted + " IS NOT NULL" : quoted + " >= ?";
+        List<BoundQuery.Bind> binds = new ArrayList<>();
+        if (previous != null) binds.add(BoundQuery.bindOf(previous));
+        binds.add(BoundQuery.bindOf(limit));
+
+        BoundQuery query = relation.wrap("SELECT * FROM (SELECT * FROM ",
+                " AS src WHERE " + condition + " ORDER BY " + quoted + " DESC LIMIT ?) AS recent ORDER BY " + quoted,
+                binds.toArray(new BoundQuery.Bind[0]));
+
+        List<Map<String, Object>> fetched = new ArrayList<>();
+        int read = 0;
+        try (QueryCursor cursor = dynamicConnectionService.openCursor(
+                (String) requestBody.get("host"), (String) requestBody.get("dbName"),
+                (String) requestBody.get("user"), (String) requestBody.get("password"), query, context)) {
+            while (cursor.next()) {
+                Map<String, Object> row = cursor.readRow();
+                read++;
+                if (previous != null && Objects.equals(row.get(column), previous) && seen.contains(row)) continue;
+                fetched.add(row);
+            }
+            // Sınır dolduysa watermark ile okunan satırlar arasında atlanan satırlar olabilir
+            return new Fetched(fetched, cursor.columns(), previous != null && read == limit);
+        }
+    }
+
+    private void apply(ChartState state, Fetched fetched, String column) {
+        Object previous = state.watermark;
+        state.columns = fetched.columns();
+        if (fetched.overflowed()) {
+            state.buffer.clear();
+            state.epoch = epochs.incrementAndGet();
+        }
+        List<Map<String, Object>> rows = fetched.rows();
+        if (rows.isEmpty()) return;
+        for (Map<String, Object> row : rows) {
+            state.buffer.add(row);
+        }
+        Object latest = rows.get(rows.size() - 1).get(column);
+        Set<Map<String, Object>> atLatest = Objects.equals(latest, previous) ? new HashSet<>(state.atWatermark) : new HashSet<>();
+        for (Map<String, Object> row : rows) {
+            if (Objects.equals(row.get(column), latest)) atLatest.add(row);
+        }
+        state.watermark = latest;
+        state.atWatermark = atLatest;
+    }
+
+    private Map<String, Object> response(ChartState state, String since) {
+        List<Map<String, Object>> rows = null;
+        long sinceSequence = parseCursor(state.epoch, since);
+        if (sinceSequence >= 0) {
+            rows = state.buffer.since(sinceSequence);
+        }
+        boolean reset = rows == null;
+        if (reset) {
+            rows = state.buffer.all();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("columns", state.columns);
+        response.put("data", rows);
+        response.put("watermark", state.watermark);
+        response.put("cursor", state.epoch + ":" + state.buffer.lastSequence());
+        response.put("reset", reset);
+        return response;
+    }
+
+    // "epoch:sıra" biçimindeki cursor'ı çözer; başka bir duruma (ör. sunucu yeniden başladıktan sonra) aitse -1 döner
+    private static long parseCursor(long epoch, String cursor) {
+        if (cursor == null) return -1;
+        int separator = cursor.indexOf(':');
+        if (separator < 0) return -1;
+        try {
+            if (Long.parseLong(cursor.substring(0, separator)) != epoch) return -1;
+            return Long.parseLong(cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Grafik sayısı sınırı doluysa en uzun süredir istenmeyen grafiğin durumunu atar
+    private void evictIfFull() {
+        while (states.size() >= maxCharts) {
+            Optional<Map.Entry<ResultCache.CacheKey, ChartState>> eldest = states.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            if (eldest.isEmpty()) return;
+            states.remove(eldest.get().getKey(), eldest.get().getValue());
+        }
+    }
+
+    // Uzun süredir yenilenmeyen grafiklerin tamponlarını bellekten çıkarır
+    @Scheduled(fixedDelayString = "${chart.delta.cleanup-interval-ms:60000}")
+    public void removeIdleStates() {
+        long now = System.currentTimeMillis();
+        states.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > idleEvictMs);
+    }
+
+    private static final class ChartState {
+        private final RowRingBuffer<Map<String, Object>> buffer;
+        private long epoch;
+        private List<Map<String, String>> columns;
+        private Object watermark;
+        // Watermark değerine sahip, okunmuş satırlar (">=" sorgusunda tekrar gelenleri ayıklamak için)
+        private Set<Map<String, Object>> atWatermark = Set.of();
+        private long lastRefresh;
+        // Süren yenileme (yoksa null); aynı anda gelen istekler bunu bekler
+        private CompletableFuture<Void> loading;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private ChartState(int capacity, long epoch) {
+            this.buffer = new RowRingBuffer<>(capacity);
+            this.epoch = epoch;
+        }
+    }
+}
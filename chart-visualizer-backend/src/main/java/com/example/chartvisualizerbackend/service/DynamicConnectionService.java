@@ -1,138 +1,178 @@
 // src/main/java/com/example/chartvisualizerbackend/service/DynamicConnectionService.java
 package com.example.chartvisualizerbackend.service;
 
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.query.ChartQueryCompiler;
+import com.example.chartvisualizerbackend.result.ColumnStatistics;
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.example.chartvisualizerbackend.result.Downsampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.sql.*;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class DynamicConnectionService {
 
-    // Veritabanı bağlantısı kurar ve verilen SQL sorgusunu çalıştırır.
+    // EXPLAIN çıktısının ilk satırındaki tahmini satır sayısı
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @Autowired
+    private ConnectionPoolRegistry connectionPoolRegistry;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private TargetBulkhead targetBulkhead;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    // İmleçle okunan sorgularda sunucudan tek seferde çekilecek satır sayısı
+    @Value("${chart.query.fetch-size:1000}")
+    private int fetchSize;
+
+    // Hedef veritabanının havuzundan bağlantı alır ve verilen SQL sorgusunu çalıştırır.
     // Sorgudan dönen sütun başlıklarını ve verileri Map listesi olarak döndürür.
     public Map<String, Object> executeDynamicQuery(
-            String host, String dbName, String user, String password, String sqlQuery) throws SQLException {
-
-        String url = String.format("jdbc:postgresql://%s:5432/%s", host, dbName);
-        Connection connection = null;
-        Statement statement = null;
-        ResultSet resultSet = null;
+            String host, String dbName, String user, String password, BoundQuery query, QueryContext context) throws SQLException {
 
         Map<String, Object> response = new HashMap<>();
-        // List<String> columns = new ArrayList<>(); // Sadece isimler yerine Map olarak tutacağız
-        List<Map<String, String>> columnsMetadata = new ArrayList<>(); // Sütun adı ve tipi için
         List<Map<String, Object>> data = new ArrayList<>();
 
-        try {
-            connection = DriverManager.getConnection(url, user, password);
-            statement = connection.createStatement();
-            resultSet = statement.executeQuery(sqlQuery);
-
-            // Sütun bilgilerini al (adı ve tipi)
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                Map<String, String> col = new HashMap<>();
-                col.put("name", metaData.getColumnName(i));
-                col.put("type", metaData.getColumnTypeName(i)); // PostgreSQL tipi (örn: varchar, int4, numeric)
-                columnsMetadata.add(col);
-                // columns.add(metaData.getColumnName(i)); // Artık buna gerek kalmadı
-            }
-
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, query, context)) {
             // Verileri oku
-            while (resultSet.next()) {
-                Map<String, Object> row = new HashMap<>();
-                // columns listesi yerine columnsMetadata'dan isimleri alıyoruz
-                for (Map<String, String> colMeta : columnsMetadata) {
-                    row.put(colMeta.get("name"), resultSet.getObject(colMeta.get("name")));
-                }
-                data.add(row);
+            while (cursor.next()) {
+                data.add(cursor.readRow());
             }
 
-            response.put("columns", columnsMetadata); // Sütun başlıkları ve tipleri
+            response.put("columns", cursor.columns()); // Sütun başlıkları ve tipleri
             response.put("data", data);       // Veri satırları
-
-        } finally {
-            if (resultSet != null) resultSet.close();
-            if (statement != null) statement.close();
-            if (connection != null) connection.close();
         }
         return response;
     }
 
-    // Veritabanındaki View ve Fonksiyonların isimlerini listeler.
-    // Sadece tablo döndüren fonksiyonları da dahil ederiz.
-    public List<String> getDatabaseObjects(String host, String dbName, String user, String password) throws SQLException {
-        String url = String.format("jdbc:postgresql://%s:5432/%s", host, dbName);
-        Connection connection = null;
-        Statement statement = null;
-        ResultSet resultSet = null;
-        List<String> objects = new ArrayList<>();
+    // Sorguyu çalıştırır ve sonucu sütun bazlı, ilkel tipli tamponlara okur.
+    public ColumnarResult executeColumnarQuery(
+            String host, String dbName, String user, String password, BoundQuery query, QueryContext context) throws SQLException {
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, query, context)) {
+            return ColumnarResult.read(cursor);
+        }
+    }
 
-        try {
-            connection = DriverManager.getConnection(url, user, password);
-            statement = connection.createStatement();
-
-            // SQL sorgusu ile View ve Fonksiyon isimlerini al
-            // PostgreSQL'de stored procedure'ler genellikle function olarak implemente edilir.
-            // Bu sorgu View'ları ve veri döndüren fonksiyonları (tablo değerli fonksiyonlar da dahil) listeler.
-            String sql = "SELECT routine_name FROM information_schema.routines " +
-                    "WHERE routine_schema = 'public' AND routine_type = 'FUNCTION' " +
-                    "UNION ALL " +
-                    "SELECT table_name FROM information_schema.views " +
-                    "WHERE table_schema = 'public';";
-
-            resultSet = statement.executeQuery(sql);
-
-            while (resultSet.next()) {
-                objects.add(resultSet.getString("routine_name")); // veya table_name
-            }
+    // Sorguyu çalıştırır ve seçilen x/y sütunlarını sonucu bellekte tutmadan, tek geçişte hedef nokta sayısına indirir.
+    public Map<String, Object> executeDownsampledQuery(
+            String host, String dbName, String user, String password, BoundQuery query, QueryContext context,
+            String xColumn, String yColumn, Downsampler.Algorithm algorithm, int targetPoints) throws SQLException {
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, query, context)) {
+            return Downsampler.downsample(cursor, xColumn, yColumn, algorithm, targetPoints);
+        }
+    }
 
-        } finally {
-            if (resultSet != null) resultSet.close();
-            if (statement != null) statement.close();
-            if (connection != null) connection.close();
+    // Sorguyu çalıştırır ve sütun istatistiklerini (aralık, null sayısı, farklı değer sayısı, yüzdelikler)
+    // satırları bellekte tutmadan tek geçişte hesaplar. columns boşsa tüm sütunlar hesaplanır.
+    public ColumnStatistics executeStatisticsQuery(
+            String host, String dbName, String user, String password, BoundQuery query, QueryContext context,
+            List<String> columns) throws SQLException {
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, query, context)) {
+            return ColumnStatistics.read(cursor, columns);
         }
-        return objects;
     }
 
-    // Seçilen veri objesinin (View/Function) parametrelerini bulur
-    public List<Map<String, String>> getFunctionParameters(String host, String dbName, String user, String password, String functionName) throws SQLException {
-        String url = String.format("jdbc:postgresql://%s:5432/%s", host, dbName);
+    // Objenin (view ya da fonksiyon çağrısı) sütun adlarını ve tiplerini satır çekmeden döndürür
+    public List<Map<String, String>> describeColumns(
+            String host, String dbName, String user, String password, BoundQuery relation, QueryContext context) throws SQLException {
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, ChartQueryCompiler.describeQuery(relation), context)) {
+            return cursor.columns();
+        }
+    }
+
+    // Kaynağın planlayıcıya göre tahmini satır sayısı (EXPLAIN); tahmin okunamazsa -1
+    public long estimateRows(
+            String host, String dbName, String user, String password, BoundQuery relation, QueryContext context) throws SQLException {
+        try (QueryCursor cursor = openCursor(host, dbName, user, password, ChartQueryCompiler.estimateRows(relation), context)) {
+            if (!cursor.next()) return -1;
+            Matcher rows = PLAN_ROWS.matcher(cursor.resultSet().getString(1));
+            return rows.find() ? Long.parseLong(rows.group(1)) : -1;
+        }
+    }
+
+    // Sorguyu çalıştırır ve satırları tek tek okumak için açık bir imleç döndürür.
+    // Autocommit kapatılarak PostgreSQL'in satırları fetch size kadar parçalar halinde göndermesi sağlanır;
+    // böylece sonuç ne kadar büyük olursa olsun bellekte en fazla bir parça tutulur.
+    // Çağıran taraf imleci kapatmakla yükümlüdür.
+    public QueryCursor openCursor(
+            String host, String dbName, String user, String password, BoundQuery query, QueryContext context) throws SQLException {
+
+        QueryMetrics.Scope metrics = queryMetrics.scope(host, dbName, context);
+        // Toplu isteklerde aynı hedefin sorguları oturumun bağlantısını ve sorgu iznini kullanır
+        TargetSession session = context.getSession() != null && context.getSession().serves(host, dbName, user, password)
+                ? context.getSession() : null;
+        // Hedefin eşzamanlı sorgu sınırı doluysa bağlantı alınmadan beklenir ya da reddedilir
+        long started = System.nanoTime();
+        TargetBulkhead.Permit permit = session == null ? targetBulkhead.acquire(host, dbName) : null;
         Connection connection = null;
         PreparedStatement statement = null;
-        ResultSet resultSet = null;
-        List<Map<String, String>> parameters = new ArrayList<>();
-
+        RunningQueryRegistry.RunningQuery running = null;
         try {
-            connection = DriverManager.getConnection(url, user, password);
-
-            // PostgreSQL'de fonksiyon parametrelerini almak için information_schema.parameters kullanılır.
-            // Sadece IN (giriş) modundaki parametreleri filtreliyoruz.
-            String sql = "SELECT p.parameter_name, p.data_type, p.ordinal_position " +
-                    "FROM information_schema.parameters p " +
-                    "WHERE p.specific_name = (SELECT specific_name FROM information_schema.routines WHERE routine_name = ? AND routine_schema = 'public') " +
-                    "AND p.parameter_mode = 'IN' " + // <-- BURAYI EKLEDİK
-                    "ORDER BY p.ordinal_position;";
-
-            statement = connection.prepareStatement(sql);
-            statement.setString(1, functionName);
-            resultSet = statement.executeQuery();
-
-            while (resultSet.next()) {
-                Map<String, String> param = new HashMap<>();
-                param.put("name", resultSet.getString("parameter_name"));
-                param.put("type", resultSet.getString("data_type"));
-                // position'ı şu anlık kullanmıyoruz, ancak isteğe bağlı olarak ekleyebilirsiniz.
-                // param.put("position", String.valueOf(resultSet.getInt("ordinal_position")));
-                parameters.add(param);
+            long acquired = System.nanoTime();
+            metrics.record("wait", acquired - started);
+            connection = session != null ? session.connection() : connectionPoolRegistry.getConnection(host, dbName, user, password);
+            long connected = System.nanoTime();
+            metrics.record("connect", connected - acquired);
+            connection.setAutoCommit(false);
+            // Parametre değerleri metne yazılmadığından aynı sorgu metni, bağlantının hazırlanmış ifade önbelleğinden yeniden kullanılır
+            statement = connection.prepareStatement(query.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            query.bind(statement);
+            // Süre sınırı ve iptal, sorgu sunucuya gönderilmeden önce kaydedilir
+            running = runningQueryRegistry.register(context, dbName, statement);
+            ResultSet resultSet = statement.executeQuery();
+            metrics.record("execute", System.nanoTime() - connected);
+            return new QueryCursor(connection, statement, resultSet, permit, running, session, metrics);
+        } catch (SQLException | RuntimeException e) {
+            // Havuz, geri dönen bağlantıdaki açık transaction'ı geri alır ve autocommit'i sıfırlar
+            if (running != null) running.close();
+            try {
+                if (statement != null) statement.close();
+            } finally {
+                if (session != null) {
+                    session.checkIn();
+                } else {
+                    try {
+                        if (connection != null) connection.close();
+                    } finally {
+                        permit.close();
+                    }
+                }
             }
-        } finally {
-            if (resultSet != null) resultSet.close();
-            if (statement != null) statement.close();
-            if (connection != null) connection.close();
+            throw e;
         }
-        return parameters;
+    }
+
+    // Aynı hedefe gidecek bir dizi sorgu için oturum açar; bağlantı ilk sorguda alınır.
+    // Oturum QueryContext.withSession ile sorgulara verilir, iş bitince kapatılmalıdır.
+    public TargetSession openSession(String host, String dbName, String user, String password) {
+        return new TargetSession(host, dbName, user, password, connectionPoolRegistry, targetBulkhead);
+    }
+
+    // Veritabanındaki View ve Fonksiyonların isimlerini listeler.
+    // İsimler hedef başına önbelleğe alınan katalogdan gelir (bkz. CatalogService).
+    public List<String> getDatabaseObjects(String host, String dbName, String user, String password) throws SQLException {
+        return catalogService.getCatalog(host, dbName, user, password).objectNames();
+    }
+
+    // Seçilen veri objesinin (View/Function) IN parametrelerini katalogdan döndürür.
+    // View'lar ve bilinmeyen isimler için liste boştur.
+    public List<Map<String, String>> getFunctionParameters(String host, String dbName, String user, String password, String functionName) throws SQLException {
+        return catalogService.getCatalog(host, dbName, user, password).parametersOf(functionName);
     }
 
 }
\ No newline at end of file
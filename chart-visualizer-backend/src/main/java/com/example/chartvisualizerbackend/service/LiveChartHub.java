@@ -0,0 +1,386 @@
+// src/main/java/com/example/chartvisualizerbackend/service/LiveChartHub.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Canlı grafikler (Server-Sent Events).
+// Aynı grafik tanımı (hedef, obje, parametreler, seçenekler) için sunucuda tek bir yenileme görevi çalışır;
+// her sonuç o grafiğe abone olan tüm istemcilere gönderilir. Son abone ayrılınca görev durur.
+// Yavaş istemciler görevi bekletmez: her abonenin en fazla bir bekleyen olayı vardır, yenisi gelince eskisinin
+// yerine geçer (en son sonuç kazanır). Watermark'lı grafiklerde atlanan delta yerine tam pencere gönderilir.
+// Sorgular görev havuzunda (grafik başına en fazla bir yenileme), istemcilere gönderim ise kendi sınırlı
+// havuzunda çalışır; yavaş SSE istemcileri toplu isteklerin ve paralel okumaların thread'lerini tutmaz.
+@Service
+public class LiveChartHub {
+
+    // Grafik tanımının parçası olmayan abonelik alanları
+    private static final Set<String> SUBSCRIPTION_FIELDS = Set.of("intervalMs", "requestId");
+
+    @Autowired
+    private ChartDataService chartDataService;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${chart.live.min-interval-ms:1000}")
+    private long minIntervalMs;
+
+    @Value("${chart.live.default-interval-ms:5000}")
+    private long defaultIntervalMs;
+
+    @Value("${chart.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // Gönderim havuzu: thread sayısı ve bekleyen gönderim sınırı (abone başına en fazla bir gönderim bekler)
+    @Value("${chart.live.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${chart.live.sender-queue:1000}")
+    private int senderQueue;
+
+    private final Map<ResultCache.CacheKey, LiveChart> charts = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor senderExecutor;
+
+    @PostConstruct
+    void startSenders() {
+        senderExecutor = new ThreadPoolTaskExecutor();
+        senderExecutor.setCorePoolSize(senderThreads);
+        senderExecutor.setMaxPoolSize(senderThreads);
+        senderExecutor.setQueueCapacity(senderQueue);
+        senderExecutor.setThreadNamePrefix("live-sender-");
+        senderExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stopSenders() {
+        senderExecutor.shutdown();
+    }
+
+    // Yeni bir abone ekler; grafik için çalışan görev yoksa başlatır.
+    public SseEmitter subscribe(Map<String, Object> requestBody) {
+        Map<String, Object> chartBody = new HashMap<>(requestBody);
+        chartBody.keySet().removeAll(SUBSCRIPTION_FIELDS);
+        chartBody.put("cache", false); // Görev zaten grafik başına tek sorgu çalıştırır
+        if (chartBody.get("watermark") instanceof Map<?, ?> watermark && watermark.containsKey("since")) {
+            Map<String, Object> withoutSince = new HashMap<>((Map<String, Object>) watermark);
+            withoutSince.remove("since");
+            chartBody.put("watermark", withoutSince);
+        }
+        ResultCache.CacheKey key = resultCache.keyFor(chartBody);
+        Object requestedInterval = requestBody.get("intervalMs");
+        long intervalMs = Math.max(minIntervalMs,
+                requestedInterval instanceof Number number ? number.longValue() : defaultIntervalMs);
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        // Abone grafiği bilerek oluşturulur; eklendiği anda çalışan bir yenileme ona olay gönderebilir
+        Subscriber[] created = new Subscriber[1];
+        LiveChart chart = charts.compute(key, (k, existing) -> {
+            LiveChart target = existing != null ? existing : new LiveChart(k, chartBody, intervalMs);
+            created[0] = new Subscriber(emitter, target);
+            target.subscribers.add(created[0]);
+            return target;
+        });
+        Subscriber subscriber = created[0];
+
+        emitter.onCompletion(() -> unsubscribe(chart, subscriber));
+        emitter.onTimeout(() -> unsubscribe(chart, subscriber));
+        emitter.onError(error -> unsubscribe(chart, subscriber));
+
+        chart.start();
+        // Yeni abone bir sonraki yenilemeyi beklemeden son sonucu alır
+        chart.sendInitial(subscriber);
+        return emitter;
+    }
+
+    // Çalışan canlı grafikler ve abone sayıları
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (LiveChart chart : charts.values()) {
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put("host", chart.key.host());
+            stat.put("dbName", chart.key.dbName());
+            stat.put("objectName", chart.key.objectName());
+            stat.put("intervalMs", chart.intervalMs);
+            stat.put("subscribers", chart.subscribers.size());
+            stat.put("refreshes", chart.refreshes.get());
+            stat.put("dropped", chart.dropped.get());
+            stats.add(stat);
+        }
+        return stats;
+    }
+
+    private void unsubscribe(LiveChart chart, Subscriber subscriber) {
+        charts.computeIfPresent(chart.key, (k, existing) -> {
+            existing.subscribers.remove(subscriber);
+            if (existing.subscribers.isEmpty()) {
+                existing.stop();
+                return null;
+            }
+            return existing;
+        });
+    }
+
+    private final class LiveChart {
+        private final ResultCache.CacheKey key;
+        private final Map<String, Object> body;
+        private final long intervalMs;
+        private final boolean watermark;
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicLong refreshes = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile ScheduledFuture<?> job;
+        private volatile Object latest;
+        private String cursor;
+
+        private LiveChart(ResultCache.CacheKey key, Map<String, Object> body, long intervalMs) {
+            this.key = key;
+            this.body = body;
+            this.intervalMs = intervalMs;
+            this.watermark = body.get("watermark") != null;
+        }
+
+        private void start() {
+            if (started.compareAndSet(false, true)) {
+                job = taskScheduler.scheduleWithFixedDelay(this::requestRefresh, Duration.ofMillis(intervalMs));
+            }
+        }
+
+        private void stop() {
+            ScheduledFuture<?> scheduled = job;
+            if (scheduled != null) scheduled.cancel(false);
+        }
+
+        // Sorgu zamanlayıcı thread'inde değil, görev havuzunda çalışır. Önceki yenileme sürüyorsa bu tur atlanır;
+        // sorgu aralıktan uzun sürse de grafik başına kuyrukta bekleyen yenileme birikmez.
+        private void requestRefresh() {
+            if (!refreshing.compareAndSet(false, true)) return;
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        refresh();
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                refreshing.set(false);
+            }
+        }
+
+        private void refresh() {
+            if (subscribers.isEmpty()) return;
+            Object result;
+            try {
+                result = load(cursor);
+            } catch (Exception e) {
+                // Sorgu hatası aboneliği bitirmez; istemciye bildirilir ve bir sonraki yenilemede tekrar denenir
+                Event error = new Event("error", errorMessage(e));
+                for (Subscriber subscriber : subscribers) subscriber.offer(error);
+                return;
+            }
+            refreshes.incrementAndGet();
+
+            if (watermark) {
+                Map<String, Object> delta = (Map<String, Object>) result;
+                cursor = (String) delta.get("cursor");
+                if (((List<?>) delta.get("data")).isEmpty() && !Boolean.TRUE.equals(delta.get("reset"))) {
+                    heartbeat();
+                    return;
+                }
+            } else if (sameResult(result, latest)) {
+                // Sonuç değişmediyse yalnızca bağlantıyı kontrol etmek için yorum satırı gönderilir
+                heartbeat();
+                return;
+            }
+            latest = result;
+            Event event = new Event("data", result);
+            for (Subscriber subscriber : subscribers) subscriber.offer(event);
+        }
+
+        // Sütun formatındaki sonuçlar içerikleriyle karşılaştırılır (ColumnarResult'ın equals'ı yalnızca kimliktir)
+        private boolean sameResult(Object result, Object previous) {
+            if (result instanceof ColumnarResult columnar && previous instanceof ColumnarResult previousColumnar) {
+                return columnar.sameContent(previousColumnar);
+            }
+            return Objects.equals(result, previous);
+        }
+
+        private void heartbeat() {
+            for (Subscriber subscriber : subscribers) subscriber.offer(Event.HEARTBEAT);
+        }
+
+        private Object load(String since) throws Exception {
+            Map<String, Object> request = new HashMap<>(body);
+            if (watermark && since != null) {
+                Map<String, Object> withSince = new HashMap<>((Map<String, Object>) body.get("watermark"));
+                withSince.put("since", since);
+                request.put("watermark", withSince);
+            }
+            return chartDataService.getChartData(request, QueryContext.from(request, null));
+        }
+
+        // İlk sonuç henüz yoksa yenileme hemen çalıştırılır; sonucu yeni abone de alır
+        private void sendInitial(Subscriber subscriber) {
+            Object current = latest;
+            if (current == null) {
+                requestRefresh();
+            } else {
+                subscriber.offer(watermark ? Event.FULL_WINDOW : new Event("data", current));
+            }
+        }
+    }
+
+    private static String errorMessage(Exception e) {
+        if (e instanceof SQLException) return "Veritabanı hatası: " + e.getMessage();
+        if (e instanceof IllegalArgumentException) return "Geçersiz istek: " + e.getMessage();
+        if (e instanceof TargetBusyException) return "Veritabanı meşgul: " + e.getMessage();
+        return "Beklenmedik bir hata oluştu: " + e.getMessage();
+    }
+
+    private record Event(String name, Object data) {
+        private static final Event HEARTBEAT = new Event(null, null);
+        // Watermark'lı grafiklerde abonenin tüm pencereyi (tampondaki satırlar) alması gerektiğini belirtir
+        private static final Event FULL_WINDOW = new Event("data", null);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<Event> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final LiveChart chart;
+        // Watermark'lı grafiklerde aboneye gönderilen son cursor; tam pencereyle çakışan delta satırları atlanır
+        private String sentCursor;
+
+        private Subscriber(SseEmitter emitter, LiveChart chart) {
+            this.emitter = emitter;
+            this.chart = chart;
+        }
+
+        // En son olay kazanır: gönderilmemiş bir olay varsa yerine geçilir
+        private void offer(Event event) {
+            Event previous = pending.getAndUpdate(current -> merge(current, event));
+            if (previous != null && previous != Event.HEARTBEAT && event != Event.HEARTBEAT) {
+                chart.dropped.incrementAndGet();
+            }
+            if (sending.compareAndSet(false, true)) {
+                scheduleDrain();
+            }
+        }
+
+        // Gönderim havuzu doluysa olay bekler; abonenin bir sonraki olayı gönderimi yeniden dener
+        private void scheduleDrain() {
+            try {
+                senderExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                sending.set(false);
+            }
+        }
+
+        private Event merge(Event current, Event event) {
+            if (current == null) return event;
+            // Bekleyen bir olay varken ping gönderilmez
+            if (event == Event.HEARTBEAT) return current;
+            // Atlanan bir delta satır kaybı demektir; abone tam pencereyi almalı
+            if (chart.watermark && "data".equals(current.name())) return Event.FULL_WINDOW;
+            return event;
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while ((event = pending.getAndSet(null)) != null) {
+                    send(event);
+                }
+            } catch (Exception e) {
+                // İstemci bağlantısı kopmuş; onError/onCompletion aboneliği kaldırır
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // Bayrak bırakılırken yeni bir olay gelmiş olabilir
+            if (pending.get() != null && sending.compareAndSet(false, true)) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(Event event) throws Exception {
+            if (event == Event.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("ping"));
+                return;
+            }
+            Object data = event.data();
+            if (event == Event.FULL_WINDOW) {
+                // Tampondaki tüm pencere; veritabanına yalnızca min-refresh süresi dolduysa gidilir
+                try {
+                    data = chart.load(null);
+                } catch (Exception e) {
+                    emitter.send(SseEmitter.event().name("error").data(errorMessage(e)));
+                    pending.compareAndSet(null, Event.FULL_WINDOW);
+                    return;
+                }
+            }
+            if (chart.watermark && "data".equals(event.name())) {
+                data = trimDelta((Map<String, Object>) data);
+                if (data == null) return;
+            }
+            emitter.send(SseEmitter.event().name(event.name()).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        // Cursor "epoch:sıra" biçimindedir; delta satırları (sıra - satır sayısı, sıra] aralığını kapsar.
+        // Abone bu satırların bir kısmını tam pencereyle almışsa yalnızca kalanlar gönderilir.
+        private Map<String, Object> trimDelta(Map<String, Object> delta) {
+            String cursor = (String) delta.get("cursor");
+            String previous = sentCursor;
+            sentCursor = cursor;
+            if (Boolean.TRUE.equals(delta.get("reset")) || previous == null || cursor == null) return delta;
+            int separator = cursor.indexOf(':');
+            int previousSeparator = previous.indexOf(':');
+            if (!cursor.substring(0, separator).equals(previous.substring(0, previousSeparator))) return delta;
+
+            long end = Long.parseLong(cursor.substring(separator + 1));
+            long sent = Long.parseLong(previous.substring(previousSeparator + 1));
+            List<?> rows = (List<?>) delta.get("data");
+            long start = end - rows.size();
+            if (sent >= end) {
+                sentCursor = previous;
+                return null;
+            }
+            if (sent <= start) return delta;
+            Map<String, Object> trimmed = new HashMap<>(delta);
+            trimmed.put("data", rows.subList((int) (sent - start), rows.size()));
+            return trimmed;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+// src/main/java/com/example/chartvisualizerbackend/service/PartitionedScanService.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.query.BoundQuery;
+import com.example.chartvisualizerbackend.query.ChartQueryCompiler;
+import com.example.chartvisualizerbackend.result.ChartDataJsonWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Büyük objeleri bir aralık sütununa (sayısal ya da tarih/zaman) göre bölerek birden çok bağlantıdan paralel okur.
+// "partition": {"column", "partitions", "ordered", "min", "max"}:
+// - Sütunun en küçük/en büyük değeri ("min"/"max" verilmemişse tek sorguyla) bulunur ve aralık eşit genişlikte bölünür.
+// - Her bölüm ayrı bir işçide, ayrı bir havuz bağlantısında okunur; bağlantı ve sorgu izni normal sorgulardaki gibi alınır.
+// - "ordered": true ise bölümler sütuna göre sıralı okunur ve sırayla birleştirilir; değilse satırlar geldikleri sırayla eklenir.
+// Bölümler aynı QueryContext'i paylaşır: requestId ile iptal ya da süre aşımı tüm bölümleri durdurur.
+// İşçiler kendi sınırlı havuzlarında çalışır; tüketiciler (istek, toplu istek ve canlı grafik thread'leri) işçileri
+// beklerken aynı havuzu doldurup kilitlenemez. Havuzun kuyruğu doluysa istek 429 ile reddedilir.
+// Tüketici işçileri süre sınırına kadar bekler; henüz başlamamış bir bölüm için de iptal ve süre aşımı geçerlidir.
+// Toplu isteklerde bile bölümler oturum bağlantısını (TargetSession) kullanmaz; oturum tek thread içindir ve
+// bir imlecin kapanışı paylaşılan transaction'ı geri alarak diğer bölümlerin imleçlerini bozardı.
+@Service
+public class PartitionedScanService {
+
+    @Autowired
+    private DynamicConnectionService dynamicConnectionService;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    // Bir istekte açılabilecek en fazla bölüm (her bölüm bir havuz bağlantısı ve bir sorgu izni kullanır)
+    @Value("${chart.partition.max-partitions:4}")
+    private int maxPartitions;
+
+    // İşçilerin tüketiciye bir seferde verdiği satır sayısı ve bölüm başına bekleyebilecek en fazla parça
+    @Value("${chart.partition.batch-rows:1000}")
+    private int batchRows;
+
+    @Value("${chart.partition.queued-batches:8}")
+    private int queuedBatches;
+
+    // Bölüm işçilerinin havuzu: thread sayısı ve başlamayı bekleyebilecek en fazla bölüm
+    @Value("${chart.partition.reader-threads:8}")
+    private int readerThreads;
+
+    @Value("${chart.partition.reader-queue:64}")
+    private int readerQueue;
+
+    private ThreadPoolTaskExecutor readerExecutor;
+
+    @PostConstruct
+    void startReaders() {
+        readerExecutor = new ThreadPoolTaskExecutor();
+        readerExecutor.setCorePoolSize(readerThreads);
+        readerExecutor.setMaxPoolSize(readerThreads);
+        readerExecutor.setQueueCapacity(readerQueue);
+        readerExecutor.setThreadNamePrefix("partition-reader-");
+        readerExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stopReaders() {
+        readerExecutor.shutdown();
+    }
+
+    // Bölümleri okur; cevap /data'nın normal cevabıyla aynıdır, "partitions" okunan bölüm sayısıdır
+    public Map<String, Object> read(Map<String, Object> requestBody, BoundQuery relation, QueryContext context) throws SQLException {
+        try (Scan scan = open(requestBody, relation, context)) {
+            List<Map<String, String>> columns = scan.columns();
+            List<Map<String, Object>> data = new ArrayList<>();
+            Object[] values;
+            while ((values = scan.next()) != null) {
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    row.put(columns.get(i).get("name"), values[i]);
+                }
+                data.add(row);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("columns", columns);
+            response.put("data", data);
+            response.put("partitions", scan.partitions());
+            return response;
+        }
+    }
+
+    // Bölümleri arka planda okumaya başlar; satırlar Scan.next ile alınır. Scan kapatılmalıdır.
+    public Scan open(Map<String, Object> requestBody, BoundQuery relation, QueryContext requestContext) throws SQLException {
+        QueryContext context = requestContext.withSession(null);
+        String host = (String) requestBody.get("host");
+        String dbName = (String) requestBody.get("dbName");
+        String user = (String) requestBody.get("user");
+        String password = (String) requestBody.get("password");
+
+        Map<String, Object> partition = (Map<String, Object>) requestBody.get("partition");
+        String column = (String) partition.get("column");
+        if (column == null) {
+            throw new IllegalArgumentException("partition için column zorunludur.");
+        }
+        int count = ((Number) partition.getOrDefault("partitions", maxPartitions)).intValue();
+        if (count < 1 || count > maxPartitions) {
+            throw new IllegalArgumentException("Bölüm sayısı 1 ile " + maxPartitions + " arasında olmalıdır: " + count);
+        }
+        boolean ordered = Boolean.TRUE.equals(partition.get("ordered"));
+
+        List<Map<String, String>> columns = dynamicConnectionService.describeColumns(host, dbName, user, password, relation, context);
+        String type = ChartQueryCompiler.findColumn(columns, column).get("type");
+        Object min = partition.get("min");
+        Object max = partition.get("max");
+        if (count > 1 && (min == null || max == null)) {
+            BoundQuery bounds = ChartQueryCompiler.bounds(relation, column);
+            try (QueryCursor cursor = dynamicConnectionService.openCursor(host, dbName, user, password, bounds, context)) {
+                cursor.next();
+                if (min == null) min = cursor.resultSet().getObject(1);
+                if (max == null) max = cursor.resultSet().getObject(2);
+            }
+        }
+        List<Object> splits = count > 1 ? ChartQueryCompiler.splitPoints(column, type, min, max, count) : List.of();
+
+        Scan scan = new Scan(columns, splits.size() + 1, ordered, context,
+                runningQueryRegistry.timeoutFor(dbName, context.getTimeoutMs()));
+        try {
+            // Bölümler sırayla kuyruğa girer; sıralı okumada tüketicinin beklediği bölüm sonrakilerden önce başlar
+            for (int i = 0; i <= splits.size(); i++) {
+                BoundQuery query = ChartQueryCompiler.range(relation, column,
+                        i == 0 ? null : splits.get(i - 1), i == splits.size() ? null : splits.get(i), ordered);
+                int index = i;
+                readerExecutor.execute(() -> scan.read(index,
+                        () -> dynamicConnectionService.openCursor(host, dbName, user, password, query, context)));
+            }
+        } catch (TaskRejectedException e) {
+            scan.close();
+            throw new TargetBusyException("paralel okuma havuzu", true);
+        } catch (RuntimeException e) {
+            scan.close();
+            throw e;
+        }
+        return scan;
+    }
+
+    interface CursorOpener {
+        QueryCursor open() throws SQLException;
+    }
+
+    // Çalışan paralel okuma. İşçiler satırları parçalar halinde kuyruklara koyar, tüketici next() ile alır:
+    // sıralı okumada her bölümün kendi kuyruğu vardır ve bölümler sırayla tüketilir; sırasızda tek ortak kuyruk vardır.
+    // Kuyruklar sınırlı olduğundan tüketiciden hızlı okuyan bölümler bekler; bellekte en fazla
+    // bölüm sayısı x queued-batches x batch-rows satır tutulur.
+    // Tüketici parçaları kısa aralıklarla bekler; arada isteğin iptal nedenine ve süre sınırına bakar.
+    public final class Scan implements ChartDataJsonWriter.Rows, AutoCloseable {
+
+        // Bölümün bittiğini bildiren işaret
+        private static final List<Object[]> END = new ArrayList<>();
+
+        private final List<Map<String, String>> columns;
+        private final int partitions;
+        private final boolean ordered;
+        private final QueryContext context;
+        // Süre sınırının dolduğu an (System.nanoTime), sınır yoksa 0
+        private final long deadline;
+        private final List<BlockingQueue<List<Object[]>>> queues = new ArrayList<>();
+        private final Queue<QueryCursor> cursors = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+        private volatile Exception failure;
+        private int finished;
+        private List<Object[]> batch = List.of();
+        private int position;
+
+        Scan(List<Map<String, String>> columns, int partitions, boolean ordered, QueryContext context, long timeoutMs) {
+            this.columns = columns;
+            this.partitions = partitions;
+            this.ordered = ordered;
+            this.context = context;
+            this.deadline = timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+            for (int i = 0; i < (ordered ? partitions : 1); i++) {
+                queues.add(new ArrayBlockingQueue<>(queuedBatches * (ordered ? 1 : partitions) + 1));
+            }
+        }
+
+        public List<Map<String, String>> columns() {
+            return columns;
+        }
+
+        public int partitions() {
+            return partitions;
+        }
+
+        // Sıradaki satırın değerleri (sütun sırasıyla); tüm bölümler bitince null.
+        // Bölümlerden biri hata verirse diğerleri durdurulur ve ilk hata burada fırlatılır.
+        @Override
+        public Object[] next() throws SQLException {
+            while (position == batch.size()) {
+                if (finished == partitions) return null;
+                List<Object[]> taken = take(queues.get(ordered ? finished : 0));
+                rethrowFailure();
+                if (taken == END) {
+                    finished++;
+                } else {
+                    batch = taken;
+                    position = 0;
+                }
+            }
+            return batch.get(position++);
+        }
+
+        // Parça gelene kadar bekler; istek iptal edildiyse ya da süre dolduysa (bölüm henüz başlamamış olsa bile) durur
+        private List<Object[]> take(BlockingQueue<List<Object[]>> queue) throws SQLException {
+            try {
+                while (true) {
+                    List<Object[]> taken = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (taken != null) return taken;
+                    rethrowFailure();
+                    if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                        context.markCancelled(RunningQueryRegistry.CancelReason.TIMEOUT);
+                    }
+                    if (context.getCancelReason() != null) {
+                        throw new SQLException("Paralel okuma iptal edildi.", "57014");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Paralel okuma kesildi.", e);
+            }
+        }
+
+        // İstemci bağlantısı koptuğunda çalışan bölümleri iptal eder
+        public void cancel(RunningQueryRegistry.CancelReason reason) {
+            for (QueryCursor cursor : cursors) cursor.cancel(reason);
+        }
+
+        // Okuma yarıda bırakıldıysa hâlâ çalışan bölümler kesilir; işçiler bağlantılarını kendileri geri verir
+        @Override
+        public void close() {
+            closed = true;
+            for (QueryCursor cursor : cursors) cursor.abort();
+        }
+
+        void read(int index, CursorOpener opener) {
+            BlockingQueue<List<Object[]>> queue = queues.get(ordered ? index : 0);
+            try {
+                if (closed || failure != null) return;
+                try (QueryCursor cursor = opener.open()) {
+                    cursors.add(cursor);
+                    try {
+                        readRows(cursor, queue);
+                    } finally {
+                        cursors.remove(cursor);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                fail(e);
+            } finally {
+                offer(queue, END);
+            }
+        }
+
+        private void readRows(QueryCursor cursor, BlockingQueue<List<Object[]>> queue) throws SQLException {
+            ResultSet resultSet = cursor.resultSet();
+            int columnCount = cursor.columnCount();
+            List<Object[]> rows = new ArrayList<>(batchRows);
+            while (cursor.next()) {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                rows.add(values);
+                if (rows.size() == batchRows) {
+                    if (!offer(queue, rows) || failure != null) return;
+                    rows = new ArrayList<>(batchRows);
+                }
+            }
+            if (!rows.isEmpty()) offer(queue, rows);
+        }
+
+        // Tüketici okumayı bıraktıysa (closed) beklemeden vazgeçer
+        private boolean offer(BlockingQueue<List<Object[]>> queue, List<Object[]> rows) {
+            try {
+                while (!closed) {
+                    if (queue.offer(rows, 100, TimeUnit.MILLISECONDS)) return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        // İlk hata saklanır; diğer bölümler isteği iptal edilmiş saymadan kesilir (cevap ilk hataya göre seçilir)
+        private void fail(Exception e) {
+            synchronized (this) {
+                if (failure != null) return;
+                failure = e;
+            }
+            for (QueryCursor cursor : cursors) cursor.abort();
+        }
+
+        private void rethrowFailure() throws SQLException {
+            Exception e = failure;
+            if (e instanceof SQLException sqlException) throw sqlException;
+            if (e instanceof RuntimeException runtimeException) throw runtimeException;
+        }
+    }
+}
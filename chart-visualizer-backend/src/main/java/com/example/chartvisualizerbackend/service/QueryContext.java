@@ -0,0 +1,85 @@
+// src/main/java/com/example/chartvisualizerbackend/service/QueryContext.java
+package com.example.chartvisualizerbackend.service;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Bir grafik isteğinin sorgularına eşlik eden bilgiler: isteği yapan kullanıcı, istemcinin verdiği
+// istek kimliği ("requestId", iptal için), istenen süre sınırı ("timeoutMs") ve metrik etiketi için obje adı.
+// Sorgu iptal edilirse nedeni burada işaretlenir; controller hata cevabını buna göre seçer.
+// Toplu isteklerde sorgular havuz yerine hedefin oturum bağlantısını (TargetSession) kullanabilir.
+// withSession ile türetilen bağlamlar iptal nedenini paylaşır.
+public final class QueryContext {
+
+    private final String owner;
+    private final String requestId;
+    private final Long timeoutMs;
+    private final String objectName;
+    private final TargetSession session;
+    private final AtomicReference<RunningQueryRegistry.CancelReason> cancelReason;
+
+    public QueryContext(String owner, String requestId, Long timeoutMs) {
+        this(owner, requestId, timeoutMs, null, null, new AtomicReference<>());
+    }
+
+    private QueryContext(String owner, String requestId, Long timeoutMs, String objectName, TargetSession session,
+                         AtomicReference<RunningQueryRegistry.CancelReason> cancelReason) {
+        this.owner = owner;
+        this.requestId = requestId;
+        this.timeoutMs = timeoutMs;
+        this.objectName = objectName;
+        this.session = session;
+        this.cancelReason = cancelReason;
+    }
+
+    public static QueryContext from(Map<String, Object> requestBody, String owner) {
+        Object requestId = requestBody.get("requestId");
+        Object timeoutMs = requestBody.get("timeoutMs");
+        if (timeoutMs != null && !(timeoutMs instanceof Number)) {
+            throw new IllegalArgumentException("timeoutMs sayı olmalıdır.");
+        }
+        Object objectName = requestBody.get("objectName");
+        return new QueryContext(owner, requestId == null ? null : String.valueOf(requestId),
+                timeoutMs == null ? null : ((Number) timeoutMs).longValue(),
+                objectName == null ? null : String.valueOf(objectName), null, new AtomicReference<>());
+    }
+
+    // İstek bilgisi olmayan iç sorgular için (yalnızca hedefin varsayılan süre sınırı uygulanır)
+    public static QueryContext none() {
+        return new QueryContext(null, null, null);
+    }
+
+    // Aynı istek bilgisiyle, sorgularını verilen oturumun bağlantısında çalıştıran bir bağlam
+    // (session null ise sorgular oturumu kullanmadan havuzdan bağlantı alır)
+    public QueryContext withSession(TargetSession session) {
+        return new QueryContext(owner, requestId, timeoutMs, objectName, session, cancelReason);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    TargetSession getSession() {
+        return session;
+    }
+
+    public RunningQueryRegistry.CancelReason getCancelReason() {
+        return cancelReason.get();
+    }
+
+    void markCancelled(RunningQueryRegistry.CancelReason reason) {
+        cancelReason.compareAndSet(null, reason);
+    }
+}
@@ -0,0 +1,121 @@
+// src/main/java/com/example/chartvisualizerbackend/service/QueryCursor.java
+package com.example.chartvisualizerbackend.service;
+
+import java.sql.*;
+import java.util.*;
+
+// Açık bir sorgu imlecini (bağlantı, statement ve ResultSet) bir arada tutar.
+// Satırlar fetch size kadar parçalar halinde çekilir; close() ile bağlantı havuza, sorgu izni hedefin bulkhead'ine geri döner.
+// Bağlantı bir TargetSession'a aitse açık kalır ve oturumun sonraki sorgusuna hazırlanır.
+public class QueryCursor implements AutoCloseable {
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final List<Map<String, String>> columns;
+    private final TargetBulkhead.Permit permit;
+    private final RunningQueryRegistry.RunningQuery running;
+    private final TargetSession session;
+    private final QueryMetrics.Scope metrics;
+    private final long openedAt = System.nanoTime();
+    private long rows;
+
+    // session verilirse bağlantı ve sorgu izni oturumundur (permit null)
+    QueryCursor(Connection connection, Statement statement, ResultSet resultSet, TargetBulkhead.Permit permit,
+                RunningQueryRegistry.RunningQuery running, TargetSession session, QueryMetrics.Scope metrics) throws SQLException {
+        this.permit = permit;
+        this.running = running;
+        this.session = session;
+        this.metrics = metrics;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+
+        // Sütun bilgilerini al (adı ve tipi)
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<Map<String, String>> columnsMetadata = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            Map<String, String> col = new HashMap<>();
+            col.put("name", metaData.getColumnName(i));
+            col.put("type", metaData.getColumnTypeName(i)); // PostgreSQL tipi (örn: varchar, int4, numeric)
+            columnsMetadata.add(col);
+        }
+        this.columns = Collections.unmodifiableList(columnsMetadata);
+    }
+
+    // Sütun adları ve PostgreSQL tipleri
+    public List<Map<String, String>> columns() {
+        return columns;
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public String columnName(int index) {
+        return columns.get(index).get("name");
+    }
+
+    public ResultSet resultSet() {
+        return resultSet;
+    }
+
+    // Sorgu iptal edildiyse ya da süresi dolduysa okuma durur. Statement.cancel yalnızca sunucuda çalışan
+    // sorguyu keser; parçalar arasında bekleyen imleç burada durdurulur.
+    public boolean next() throws SQLException {
+        if (running.isCancelled()) {
+            throw new SQLException("Sorgu iptal edildi.", "57014");
+        }
+        if (!resultSet.next()) return false;
+        rows++;
+        return true;
+    }
+
+    // İstemci bağlantısı koptuğunda çalışan sorguyu iptal eder
+    public void cancel(RunningQueryRegistry.CancelReason reason) {
+        running.cancel(reason);
+    }
+
+    // İsteği iptal etmeden yalnızca bu imlecin sorgusunu keser (bkz. RunningQuery.abort)
+    void abort() {
+        running.abort();
+    }
+
+    // Geçerli satırı sütun adı -> değer şeklinde okur (sütunlara indeksle erişilir)
+    public Map<String, Object> readRow() throws SQLException {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            row.put(columnName(i), resultSet.getObject(i + 1));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        // Önce kayıttan çıkar; bağlantı havuza döndükten sonra iptal gönderilemesin
+        running.close();
+        metrics.record("fetch", System.nanoTime() - openedAt);
+        metrics.rows(rows);
+        try {
+            resultSet.close();
+            statement.close();
+            // İmleç için açılan salt okunur transaction'ı kapat, bağlantıyı eski haline getir
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            if (session != null) {
+                session.checkIn();
+            } else {
+                try {
+                    connection.close();
+                } finally {
+                    // Hedefin sorgu izni bağlantı havuza döndükten sonra serbest bırakılır
+                    permit.close();
+                }
+            }
+        }
+    }
+}
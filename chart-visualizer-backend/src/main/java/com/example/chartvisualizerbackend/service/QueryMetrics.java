@@ -0,0 +1,113 @@
+// src/main/java/com/example/chartvisualizerbackend/service/QueryMetrics.java
+package com.example.chartvisualizerbackend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Grafik sorgularının aşama süreleri ve boyutları (/actuator/prometheus).
+// chart.query.phase{phase, target, object}: wait (bulkhead kuyruğu), connect (havuzdan bağlantı),
+// execute (sorgunun ilk parçası gelene kadar), fetch (imleç açık kaldığı süre), serialize (cevabın yazılması).
+// chart.query.rows ve chart.response.bytes sorgu başına satır sayısı ve cevap boyutu dağılımlarıdır.
+// "object" etiketinin değer sayısı MetricsConfig'te sınırlandırılır. Etiketler istekten geldiği için bir sorgunun
+// aşamaları ancak sorgu başarıyla çalıştıktan (execute) sonra kaydedilir: var olmayan obje ya da ulaşılamayan hedef
+// adları metriklerde yer tutmaz. Kullanılmayan hedeflerin metrikleri TargetBulkhead tarafından kaldırılır.
+@Component
+public class QueryMetrics {
+
+    public static final String PHASE_TIMER = "chart.query.phase";
+    public static final String ROWS_SUMMARY = "chart.query.rows";
+    public static final String RESPONSE_BYTES_SUMMARY = "chart.response.bytes";
+
+    // Controller'ın cevap metriği için isteğe bıraktığı etiketler (bkz. ResponseMetricsFilter)
+    public static final String TARGET_ATTRIBUTE = QueryMetrics.class.getName() + ".target";
+    public static final String OBJECT_ATTRIBUTE = QueryMetrics.class.getName() + ".object";
+    public static final String STREAMED_ATTRIBUTE = QueryMetrics.class.getName() + ".streamed";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public Scope scope(String host, String dbName, QueryContext context) {
+        return new Scope(target(host, dbName), context.getObjectName());
+    }
+
+    public static String target(String host, String dbName) {
+        return TargetBulkhead.Target.of(host, dbName).toString();
+    }
+
+    // Cevabın kaç bayt olduğu ve yazılmasının ne kadar sürdüğü (serializeNanos < 0 ise süre kaydedilmez)
+    public void recordResponse(String target, String objectName, long bytes, long serializeNanos) {
+        Tags tags = tags(target, objectName);
+        DistributionSummary.builder(RESPONSE_BYTES_SUMMARY)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(1024.0 * 1024 * 1024)
+                .register(meterRegistry)
+                .record(bytes);
+        if (serializeNanos >= 0) {
+            phaseTimer("serialize", tags).record(serializeNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer phaseTimer(String phase, Tags tags) {
+        return Timer.builder(PHASE_TIMER)
+                .tags(tags)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry);
+    }
+
+    private static Tags tags(String target, String objectName) {
+        return Tags.of("target", target, "object", objectName == null ? "none" : objectName);
+    }
+
+    // Tek bir sorgunun aşamalarını aynı etiketlerle kaydeder.
+    // execute'tan önceki aşamalar (wait, connect) sorgu çalışana kadar bekletilir; sorgu hata verirse kaydedilmez.
+    public final class Scope {
+        private final Tags tags;
+        private final Map<String, Long> pending = new LinkedHashMap<>();
+        private boolean executed;
+
+        private Scope(String target, String objectName) {
+            this.tags = tags(target, objectName);
+        }
+
+        public void record(String phase, long nanos) {
+            if (!executed && !"execute".equals(phase)) {
+                pending.put(phase, nanos);
+                return;
+            }
+            if (!executed) {
+                executed = true;
+                pending.forEach((pendingPhase, pendingNanos) ->
+                        phaseTimer(pendingPhase, tags).record(pendingNanos, TimeUnit.NANOSECONDS));
+                pending.clear();
+            }
+            phaseTimer(phase, tags).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void rows(long count) {
+            if (!executed) return;
+            DistributionSummary.builder(ROWS_SUMMARY)
+                    .baseUnit("rows")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(10_000_000.0)
+                    .register(meterRegistry)
+                    .record(count);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+// src/main/java/com/example/chartvisualizerbackend/service/ResultCache.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Grafik sorgu sonuçları için uygulama içi önbellek.
+// - Girdiler obje bazında ayarlanabilen süre (TTL) sonunda geçersiz olur.
+// - Sınır girdi sayısı değil, sonuçların tahmini bellek boyutudur; sınır aşılınca en uzun süredir kullanılmayan (LRU) girdi atılır.
+// - Aynı anahtarla eşzamanlı gelen istekler tek bir sorguyu paylaşır (single-flight). Bekleyen istekler kendi
+//   süre sınırlarına ve requestId iptallerine uyar: başka bir isteğin uzun sorgusunu sınırsız beklemezler.
+//   Paylaşılan sorgu başlatanın süre sınırı ya da iptaliyle durursa bekleyenler hata almaz, yeniden dener.
+@Component
+public class ResultCache {
+
+    // Önbellek anahtarının parçası olmayan (sonucu değiştirmeyen) istek alanları
+    private static final Set<String> NON_KEY_FIELDS = Set.of("host", "dbName", "user", "password", "cache", "stream",
+            "requestId", "timeoutMs");
+
+    @Value("${chart.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${chart.cache.default-ttl-ms:30000}")
+    private long defaultTtlMs;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RunningQueryRegistry runningQueryRegistry;
+
+    private final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    // accessOrder = true: her okuma girdiyi sona taşır, ilk girdi en uzun süredir kullanılmayandır
+    private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<CacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    // Hedef veritabanı (şifre özetiyle), obje ve sonucu etkileyen diğer istek alanlarının normalize edilmiş hali
+    public record CacheKey(String host, String dbName, String user, String credentialHash, String objectName, String variant) {
+    }
+
+    // Önbellek sayaçları /actuator/prometheus'ta chart.cache.* olarak yayınlanır
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("chart.cache.bytes", this, ResultCache::currentBytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("chart.cache.entries", this, ResultCache::currentEntries).register(meterRegistry);
+        Gauge.builder("chart.cache.in.flight", inFlight, Map::size).register(meterRegistry);
+        FunctionCounter.builder("chart.cache.requests", hits, AtomicLong::get).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("chart.cache.requests", misses, AtomicLong::get).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("chart.cache.requests", coalesced, AtomicLong::get).tag("result", "coalesced").register(meterRegistry);
+        FunctionCounter.builder("chart.cache.removals", evictions, AtomicLong::get).tag("cause", "evicted").register(meterRegistry);
+        FunctionCounter.builder("chart.cache.removals", expirations, AtomicLong::get).tag("cause", "expired").register(meterRegistry);
+    }
+
+    private synchronized long currentBytes() {
+        return totalBytes;
+    }
+
+    private synchronized int currentEntries() {
+        return entries.size();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        Object load() throws SQLException;
+    }
+
+    private record Entry(Object value, long bytes, long expiresAt) {
+    }
+
+    // İstek gövdesinden önbellek anahtarını üretir. Parametreler ve seçenekler anahtar sırasına göre
+    // JSON'a çevrildiği için aynı istek her zaman aynı anahtarı verir.
+    public CacheKey keyFor(Map<String, Object> requestBody) {
+        ConnectionPoolRegistry.PoolKey target = ConnectionPoolRegistry.PoolKey.of(
+                normalize((String) requestBody.get("host")), (String) requestBody.get("dbName"),
+                (String) requestBody.get("user"), (String) requestBody.get("password"));
+        Map<String, Object> variant = new TreeMap<>(requestBody);
+        variant.keySet().removeAll(NON_KEY_FIELDS);
+        try {
+            return new CacheKey(target.host(), target.dbName(), target.user(), target.credentialHash(),
+                    (String) requestBody.get("objectName"), canonicalMapper.writeValueAsString(variant));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("İstek önbellek anahtarına çevrilemedi: " + e.getMessage(), e);
+        }
+    }
+
+    // Önbellekte geçerli bir sonuç varsa onu döndürür; yoksa loader'ı çalıştırır ve sonucu saklar.
+    // Aynı anahtar için çalışan bir sorgu varsa yenisi başlatılmaz, onun sonucu beklenir.
+    // context: bekleyen isteğin süre sınırı ve iptali (bkz. RunningQueryRegistry.await)
+    public Object get(CacheKey key, String objectName, QueryContext context, Loader loader) throws SQLException {
+        long ttlMs = ttlFor(objectName);
+        if (ttlMs <= 0) {
+            return loader.load();
+        }
+
+        while (true) {
+            Object cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                coalesced.incrementAndGet();
+                try {
+                    return runningQueryRegistry.await(running, context, key.dbName());
+                } catch (SQLException e) {
+                    // Paylaşılan sorgu, onu başlatan isteğin süre sınırı ya da iptali yüzünden durduysa
+                    // (timeoutMs ve requestId anahtarın parçası değildir) bekleyen kendi isteği için yeniden dener:
+                    // sorguyu kendisi başlatır ya da o arada başlamış olanı bekler.
+                    if ("57014".equals(e.getSQLState()) && context.getCancelReason() == null) continue;
+                    throw e;
+                }
+            }
+
+            try {
+                // İlk kontrol ile putIfAbsent arasında başka bir istek sonucu yazmış olabilir
+                cached = lookup(key);
+                if (cached == null) {
+                    misses.incrementAndGet();
+                    cached = loader.load();
+                    store(key, cached, ttlMs);
+                } else {
+                    hits.incrementAndGet();
+                }
+                mine.complete(cached);
+                return cached;
+            } catch (SQLException | RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    // Sorgu çalıştırmadan yalnızca önbellekte geçerli bir sonuç olup olmadığına bakar (sayaçlara yansımaz)
+    public boolean contains(CacheKey key, String objectName) {
+        return ttlFor(objectName) > 0 && lookup(key) != null;
+    }
+
+    // Verilen alanlarla eşleşen girdileri siler. Boş bırakılan alanlar joker kabul edilir; hepsi boşsa önbellek tamamen temizlenir.
+    public synchronized int invalidate(String host, String dbName, String objectName) {
+        String normalizedHost = host == null ? null : normalize(host);
+        int removed = 0;
+        Iterator<Map.Entry<CacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CacheKey, Entry> next = iterator.next();
+            CacheKey key = next.getKey();
+            if ((normalizedHost == null || normalizedHost.equals(key.host()))
+                    && (dbName == null || dbName.equals(key.dbName()))
+                    && (objectName == null || objectName.equals(key.objectName()))) {
+                totalBytes -= next.getValue().bytes();
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("bytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    // Süresi dolmuş girdileri periyodik olarak temizler (okunmayan girdiler de bellekten çıksın diye)
+    @Scheduled(fixedDelayString = "${chart.cache.cleanup-interval-ms:60000}")
+    public synchronized void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt() <= now) {
+                totalBytes -= entry.bytes();
+                iterator.remove();
+                expirations.incrementAndGet();
+            }
+        }
+    }
+
+    // Obje bazında TTL: chart.cache.ttl.<objectName>=ms, yoksa chart.cache.default-ttl-ms
+    private long ttlFor(String objectName) {
+        if (objectName == null) return defaultTtlMs;
+        return environment.getProperty("chart.cache.ttl." + objectName, Long.class, defaultTtlMs);
+    }
+
+    private synchronized Object lookup(CacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            totalBytes -= entry.bytes();
+            expirations.incrementAndGet();
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void store(CacheKey key, Object value, long ttlMs) {
+        long bytes = estimateBytes(value);
+        // Tek başına önbelleğin dörtte birinden büyük sonuçlar saklanmaz; diğer girdilerin hepsini silerdi
+        if (bytes > maxBytes / 4) return;
+
+        Entry previous = entries.put(key, new Entry(value, bytes, System.currentTimeMillis() + ttlMs));
+        if (previous != null) totalBytes -= previous.bytes();
+        totalBytes += bytes;
+
+        Iterator<Map.Entry<CacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<CacheKey, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) continue;
+            totalBytes -= eldest.getValue().bytes();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String normalize(String host) {
+        return host == null ? null : host.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Sonucun heap'te kapladığı yeri kabaca tahmin eder (nesne başlıkları ve referanslar dahil)
+    static long estimateBytes(Object value) {
+        if (value == null) return 0;
+        if (value instanceof ColumnarResult columnar) return columnar.estimateBytes();
+        if (value instanceof String text) return 40 + 2L * text.length();
+        if (value instanceof BigDecimal) return 64;
+        if (value instanceof Number || value instanceof Boolean) return 24;
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 64;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                // Satırlardaki sütun adları aynı String örneğini paylaşır, anahtar için yalnızca girdi maliyeti sayılır
+                bytes += 48 + estimateBytes(entry.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 40 + 8L * collection.size();
+            for (Object element : collection) {
+                bytes += estimateBytes(element);
+            }
+            return bytes;
+        }
+        return 32; // Tarih ve diğer küçük nesneler
+    }
+}
@@ -0,0 +1,229 @@
+// src/main/java/com/example/chartvisualizerbackend/service/RunningQueryRegistry.java
+package com.example.chartvisualizerbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Çalışan sorguları izler ve gerektiğinde Statement.cancel ile durdurur:
+// - Süre sınırı: istekteki "timeoutMs" ile hedefin sınırından küçük olanı; süre dolunca sorgu iptal edilir.
+// - Açık iptal: kullanıcı + "requestId" ile /api/charts/cancel/{requestId}.
+// - Yenisiyle değiştirme: aynı kullanıcı aynı requestId ile yeni bir sorgu başlatırsa eskisi iptal edilir.
+//   Aynı QueryContext'i paylaşan sorgular (paralel bölümler) birbirinin yerine geçmez, birlikte iptal edilir.
+// - İstemci bağlantısı koptuğunda (akışta yazma hatası) sorgu iptal edilir.
+// Başka bir isteğin sorgusunu bekleyenler de (önbellekte paylaşılan sorgu) aynı şekilde kaydedilir; iptal ya da
+// süre aşımı yalnızca bekleyeni bırakır, paylaşılan sorgu çalışmaya devam eder.
+// Süre sınırları kendi zamanlayıcısında tetiklenir (@Scheduled işleri ve canlı grafik turlarıyla paylaşılmaz).
+// Statement.cancel hedefe yeni bir bağlantı açar; ulaşılamayan bir hedefte uzun sürebileceği için iptaller
+// küçük bir iptal havuzunda gönderilir, yavaş bir hedef diğer hedeflerin süre sınırlarını geciktirmez.
+// İptal nedeni ise hemen işaretlenir; imleç parçalar arasında beklerken bir sonraki okumada durur.
+@Component
+public class RunningQueryRegistry {
+
+    public enum CancelReason { TIMEOUT, CANCELLED, SUPERSEDED, DISCONNECTED }
+
+    @Autowired
+    private Environment environment;
+
+    // Hedef başına sınır için: chart.query.timeout.<dbName>=ms (0 sınırsız)
+    @Value("${chart.query.timeout-ms:120000}")
+    private long defaultTimeoutMs;
+
+    // İptal isteklerini gönderen thread sayısı ve sırada bekleyebilecek en fazla iptal
+    // (kuyruk doluysa iptal, isteyen thread'de gönderilir)
+    @Value("${chart.query.canceller-threads:4}")
+    private int cancellerThreads;
+
+    @Value("${chart.query.canceller-queue:1000}")
+    private int cancellerQueue;
+
+    private ThreadPoolTaskScheduler deadlineScheduler;
+    private ThreadPoolTaskExecutor cancelExecutor;
+
+    @PostConstruct
+    void start() {
+        deadlineScheduler = new ThreadPoolTaskScheduler();
+        deadlineScheduler.setPoolSize(1);
+        deadlineScheduler.setThreadNamePrefix("query-deadline-");
+        // İptal edilen (kapanan) sorguların süre sınırları kuyrukta birikmesin
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+        deadlineScheduler.initialize();
+
+        cancelExecutor = new ThreadPoolTaskExecutor();
+        cancelExecutor.setCorePoolSize(cancellerThreads);
+        cancelExecutor.setMaxPoolSize(cancellerThreads);
+        cancelExecutor.setQueueCapacity(cancellerQueue);
+        cancelExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        cancelExecutor.setThreadNamePrefix("query-canceller-");
+        cancelExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        deadlineScheduler.shutdown();
+        cancelExecutor.shutdown();
+    }
+
+    // Listeler değiştirilmez, her kayıt/kapanışta yenisiyle değiştirilir
+    private final Map<String, List<RunningQuery>> byRequestId = new ConcurrentHashMap<>();
+
+    // Sorguyu çalıştırmadan önce kaydeder; dönen nesne imleç kapanınca kapatılmalıdır.
+    public RunningQuery register(QueryContext context, String dbName, Statement statement) {
+        return register(context, dbName, statement::cancel);
+    }
+
+    // Sorgu yerine bir beklemeyi kaydeder; iptal edilince abort çalıştırılır (bekleyen uyandırılır)
+    public RunningQuery register(QueryContext context, String dbName, Abort abort) {
+        RunningQuery running = new RunningQuery(context, abort);
+
+        long timeoutMs = timeoutFor(dbName, context.getTimeoutMs());
+        if (timeoutMs > 0) {
+            running.deadline = deadlineScheduler.schedule(() -> running.cancel(CancelReason.TIMEOUT),
+                    Instant.now().plusMillis(timeoutMs));
+        }
+
+        if (running.key != null) {
+            List<RunningQuery> superseded = new ArrayList<>();
+            byRequestId.compute(running.key, (key, queries) -> {
+                List<RunningQuery> next = new ArrayList<>();
+                if (queries != null) {
+                    for (RunningQuery query : queries) {
+                        if (query.context == context) next.add(query);
+                        else superseded.add(query);
+                    }
+                }
+                next.add(running);
+                return List.copyOf(next);
+            });
+            superseded.forEach(query -> query.cancel(CancelReason.SUPERSEDED));
+        }
+        return running;
+    }
+
+    // Başka bir isteğin başlattığı işin (paylaşılan sorgu) sonucunu bekler. Bekleme bir sorgu gibi kaydedilir:
+    // isteğin süre sınırı dolarsa ya da requestId ile iptal edilirse bekleyen SQLState 57014 ile bırakılır ve
+    // bağlamdaki iptal nedeni (TIMEOUT/CANCELLED) cevabı belirler. Paylaşılan iş çalışmaya devam eder.
+    public <T> T await(CompletableFuture<T> shared, QueryContext context, String dbName) throws SQLException {
+        CompletableFuture<T> waiting = new CompletableFuture<>();
+        shared.whenComplete((value, error) -> {
+            if (error != null) waiting.completeExceptionally(error);
+            else waiting.complete(value);
+        });
+        try (RunningQuery ignored = register(context, dbName,
+                () -> waiting.completeExceptionally(new SQLException("Paylaşılan sorgunun beklenmesi iptal edildi.", "57014")))) {
+            return waiting.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Sorgu beklenirken kesildi.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) throw sqlException;
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Kullanıcının verilen requestId ile çalışan sorgusunu iptal eder; sorgu bulunamazsa false döner
+    public boolean cancel(String owner, String requestId) {
+        return cancel(owner, requestId, CancelReason.CANCELLED);
+    }
+
+    public boolean cancel(String owner, String requestId, CancelReason reason) {
+        List<RunningQuery> queries = requestId == null ? null : byRequestId.get(key(owner, requestId));
+        if (queries == null) return false;
+        boolean cancelled = false;
+        for (RunningQuery running : queries) {
+            cancelled |= running.cancel(reason);
+        }
+        return cancelled;
+    }
+
+    // İstekteki süre hedefin sınırını aşamaz; yalnızca kısaltabilir
+    long timeoutFor(String dbName, Long requestedMs) {
+        long targetMs = dbName == null ? defaultTimeoutMs
+                : environment.getProperty("chart.query.timeout." + dbName, Long.class, defaultTimeoutMs);
+        if (requestedMs == null || requestedMs <= 0) return targetMs;
+        return targetMs > 0 ? Math.min(requestedMs, targetMs) : requestedMs;
+    }
+
+    private static String key(String owner, String requestId) {
+        return requestId == null ? null : owner + "/" + requestId;
+    }
+
+    // İptalde çalışan işlem (Statement.cancel ya da bekleyenin uyandırılması)
+    public interface Abort {
+        void abort() throws SQLException;
+    }
+
+    public final class RunningQuery implements AutoCloseable {
+        private final QueryContext context;
+        private final Abort action;
+        private final String key;
+        private volatile ScheduledFuture<?> deadline;
+        private boolean closed;
+
+        private RunningQuery(QueryContext context, Abort action) {
+            this.context = context;
+            this.action = action;
+            this.key = key(context.getOwner(), context.getRequestId());
+        }
+
+        public boolean isCancelled() {
+            return context.getCancelReason() != null;
+        }
+
+        // İptal nedeni hemen işaretlenir, iptal isteği iptal havuzunda gönderilir (bkz. abort)
+        public boolean cancel(CancelReason reason) {
+            synchronized (this) {
+                if (closed) return false;
+                context.markCancelled(reason);
+            }
+            cancelExecutor.execute(this::abort);
+            return true;
+        }
+
+        // Kilit, bağlantı havuza döndükten sonra cancel gönderilmesini önler;
+        // aksi halde aynı sunucu sürecini kullanan başka bir sorgu iptal edilebilirdi.
+        // Bağlamı iptal edilmiş olarak işaretlemeden yalnızca bu sorguyu keser
+        // (paralel bölümlerden biri hata verdiğinde diğerleri için; hata cevabı ilk hataya göre seçilir)
+        synchronized void abort() {
+            if (closed) return;
+            try {
+                action.abort();
+            } catch (SQLException e) {
+                // İptal isteği gönderilemediyse imleç bir sonraki okumada yine durur (bkz. QueryCursor.next)
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            ScheduledFuture<?> scheduled = deadline;
+            if (scheduled != null) scheduled.cancel(false);
+            if (key != null) {
+                byRequestId.computeIfPresent(key, (k, queries) -> {
+                    List<RunningQuery> next = new ArrayList<>(queries);
+                    next.remove(this);
+                    return next.isEmpty() ? null : List.copyOf(next);
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// src/main/java/com/example/chartvisualizerbackend/service/SnapshotStore.java
+package com.example.chartvisualizerbackend.service;
+
+import com.example.chartvisualizerbackend.result.ColumnarBinaryWriter;
+import com.example.chartvisualizerbackend.result.ColumnarResult;
+import com.example.chartvisualizerbackend.result.ColumnarSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sorgu sonuçlarının yerel diskteki sütun bazlı anlık görüntüleri (snapshot).
+// Sonuç ikili sütun formatında (CVC2, bkz. ColumnarBinaryWriter) bir dosyaya yazılır ve bellek eşlemeli açılır;
+// değerler heap'te değil işletim sisteminin sayfa önbelleğindedir. Eksen ya da grafik tipi değiştiğinde
+// yeniden şekillendirme (SnapshotQuery) uzak veritabanına gitmeden bu dosya üzerinde yapılır.
+// - Anlık görüntüye yalnızca onu oluşturan kullanıcı erişebilir.
+// - Son erişimden ttl-ms sonra silinir; dosyaların toplam boyutu max-bytes'ı aşarsa en uzun süredir kullanılmayan silinir.
+// - Kimlikler bellekte tutulur; uygulama yeniden başladığında dizindeki eski dosyalar temizlenir.
+@Service
+public class SnapshotStore {
+
+    private static final String FILE_SUFFIX = ".cvc";
+
+    @Value("${chart.snapshot.dir:${java.io.tmpdir}/chart-snapshots}")
+    private String directory;
+
+    @Value("${chart.snapshot.max-bytes:2147483648}")
+    private long maxBytes;
+
+    @Value("${chart.snapshot.ttl-ms:1800000}")
+    private long ttlMs;
+
+    private Path root;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public static final class Snapshot {
+        private final String id;
+        private final String owner;
+        private final String objectName;
+        private final Path file;
+        private final long bytes;
+        private final long createdAt = System.currentTimeMillis();
+        private final ColumnarSnapshot data;
+        private volatile long lastAccess = createdAt;
+
+        private Snapshot(String id, String owner, String objectName, Path file, long bytes, ColumnarSnapshot data) {
+            this.id = id;
+            this.owner = owner;
+            this.objectName = objectName;
+            this.file = file;
+            this.bytes = bytes;
+            this.data = data;
+        }
+
+        public ColumnarSnapshot data() {
+            return data;
+        }
+
+        // Oluşturma cevabı ve /snapshots listesi için özet
+        public Map<String, Object> describe(long ttlMs) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("snapshotId", id);
+            info.put("objectName", objectName);
+            info.put("rowCount", data.getRowCount());
+            info.put("columns", data.getColumns());
+            info.put("bytes", bytes);
+            info.put("createdAt", createdAt);
+            info.put("expiresAt", lastAccess + ttlMs);
+            return info;
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        // Önceki çalışmadan kalan dosyaların kimlikleri artık bilinmiyor
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(root, "*" + FILE_SUFFIX + "*")) {
+            for (Path file : stale) {
+                delete(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (String id : new ArrayList<>(snapshots.keySet())) {
+            remove(id);
+        }
+    }
+
+    // Sonucu dosyaya yazar ve bellek eşlemeli olarak açar
+    public Snapshot create(ColumnarResult result, String owner, String objectName) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path file = root.resolve(id + FILE_SUFFIX);
+        Path temporary = root.resolve(id + FILE_SUFFIX + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024)) {
+                ColumnarBinaryWriter.write(result, out);
+            }
+            long bytes = Files.size(temporary);
+            if (bytes > maxBytes || bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Sonuç anlık görüntü için çok büyük (" + bytes + " bayt).");
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            Snapshot snapshot = new Snapshot(id, owner, objectName, file, bytes, ColumnarSnapshot.open(file));
+            snapshots.put(id, snapshot);
+            evictToFit(id);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            delete(temporary);
+            delete(file);
+            throw e;
+        }
+    }
+
+    // Kullanıcının anlık görüntüsünü döndürür; yoksa, süresi dolduysa ya da başka kullanıcınınsa null
+    public Snapshot get(String id, String owner) {
+        Snapshot snapshot = snapshots.get(id);
+        if (snapshot == null || !snapshot.owner.equals(owner)) return null;
+        long now = System.currentTimeMillis();
+        if (now - snapshot.lastAccess > ttlMs) {
+            if (remove(id)) expirations.incrementAndGet();
+            return null;
+        }
+        snapshot.lastAccess = now;
+        return snapshot;
+    }
+
+    public boolean delete(String id, String owner) {
+        Snapshot snapshot = snapshots.get(id);
+        return snapshot != null && snapshot.owner.equals(owner) && remove(id);
+    }
+
+    public List<Map<String, Object>> list(String owner) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Snapshot snapshot : snapshots.values()) {
+            if (snapshot.owner.equals(owner)) result.add(snapshot.describe(ttlMs));
+        }
+        return result;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", snapshots.size());
+        stats.put("bytes", totalBytes());
+        stats.put("maxBytes", maxBytes);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${chart.snapshot.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        for (Snapshot snapshot : snapshots.values()) {
+            if (now - snapshot.lastAccess > ttlMs && remove(snapshot.id)) {
+                expirations.incrementAndGet();
+            }
+        }
+    }
+
+    // Toplam boyut sınırı aşıldıysa yeni eklenen dışındaki en uzun süredir kullanılmayanları siler
+    private synchronized void evictToFit(String keep) {
+        while (totalBytes() > maxBytes) {
+            Optional<Snapshot> eldest = snapshots.values().stream()
+                    .filter(snapshot -> !snapshot.id.equals(keep))
+                    .min(Comparator.comparingLong(snapshot -> snapshot.lastAccess));
+            if (eldest.isEmpty()) return;
+            if (remove(eldest.get().id)) evictions.incrementAndGet();
+        }
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (Snapshot snapshot : snapshots.values()) total += snapshot.bytes;
+        return total;
+    }
+
+    // Dosya silinse de açık eşlemeler geçerli kalır; o anda okunan bir anlık görüntü okuma bitince GC ile bırakılır
+    private boolean remove(String id) {
+        Snapshot snapshot = snapshots.remove(id);
+        if (snapshot == null) return false;
+        delete(snapshot.file);
+        return true;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Eşlemesi açık dosyalar bazı işletim sistemlerinde silinemez; dizin bir sonraki başlangıçta temizlenir
+        }
+    }
+}
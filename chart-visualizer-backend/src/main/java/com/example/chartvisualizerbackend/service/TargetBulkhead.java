@@ -0,0 +1,179 @@
+// src/main/java/com/example/chartvisualizerbackend/service/TargetBulkhead.java
+package com.example.chartvisualizerbackend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hedef veritabanı (host, dbName) başına eşzamanlı sorgu sınırı (bulkhead).
+// Her hedefin kendi adil (fair) semaforu ve sınırlı bekleme kuyruğu vardır; yavaşlayan bir veritabanı
+// en fazla "max-concurrent + max-waiting" istek thread'ini meşgul edebilir, diğer hedeflere giden istekler etkilenmez.
+// Kuyruk doluysa istek hemen reddedilir (429), kuyrukta bekleme süresi dolarsa 503 döner.
+// Uzun süredir kullanılmayan hedefler (havuzlar gibi) atılır; hedefin "target" etiketli metrikleri de kaldırılır.
+@Component
+public class TargetBulkhead {
+
+    @Value("${chart.bulkhead.max-concurrent:5}")
+    private int maxConcurrent;
+
+    @Value("${chart.bulkhead.max-waiting:20}")
+    private int maxWaiting;
+
+    @Value("${chart.bulkhead.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Value("${chart.pool.evict-after-ms:600000}")
+    private long evictAfterMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Target, Compartment> compartments = new ConcurrentHashMap<>();
+
+    public record Target(String host, String dbName) {
+
+        static Target of(String host, String dbName) {
+            return new Target(host == null ? null : host.trim().toLowerCase(Locale.ROOT), dbName);
+        }
+
+        @Override
+        public String toString() {
+            return host + "/" + dbName;
+        }
+    }
+
+    // Hedef için bir sorgu izni alır; izin close() ile geri verilir (birden fazla çağrı güvenlidir).
+    // Bölme, compute içinde bulunup kullanıcı sayısı artırıldığı için temizlik görevi onu bu arada atamaz.
+    public Permit acquire(String host, String dbName) {
+        Target target = Target.of(host, dbName);
+        Compartment compartment = compartments.compute(target, (key, current) -> {
+            Compartment result = current != null ? current : new Compartment(key);
+            result.users.incrementAndGet();
+            return result;
+        });
+        try {
+            return compartment.acquire();
+        } finally {
+            compartment.users.decrementAndGet();
+        }
+    }
+
+    // Belirlenen süreden uzun süredir izin alınmayan, çalışan, bekleyen ya da izin almakta olan isteği olmayan hedefleri atar.
+    // Hedefin bulkhead, sorgu aşaması ve cevap metrikleri de kayıttan çıkarılır; etiket değerleri birikmez.
+    // Karar ve metriklerin kaldırılması computeIfPresent içinde yapılır: aynı hedef için acquire bu sırada
+    // bekler, sonra yeni bir bölme (ve yeni metrikler) oluşturur.
+    @Scheduled(fixedDelayString = "${chart.pool.evict-interval-ms:60000}")
+    public void evictIdleTargets() {
+        long now = System.currentTimeMillis();
+        for (Target target : compartments.keySet()) {
+            compartments.computeIfPresent(target, (key, compartment) -> {
+                if (now - compartment.lastUsed < evictAfterMs || compartment.users.get() > 0
+                        || compartment.semaphore.availablePermits() < maxConcurrent) {
+                    return compartment;
+                }
+                String tag = key.toString();
+                for (Meter meter : meterRegistry.getMeters()) {
+                    if (tag.equals(meter.getId().getTag("target"))) meterRegistry.remove(meter);
+                }
+                return null;
+            });
+        }
+    }
+
+    // Hedef başına çalışan, bekleyen, reddedilen ve zaman aşımına uğrayan istek sayıları
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Compartment compartment : compartments.values()) {
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put("host", compartment.target.host());
+            stat.put("dbName", compartment.target.dbName());
+            stat.put("maxConcurrent", maxConcurrent);
+            stat.put("running", maxConcurrent - compartment.semaphore.availablePermits());
+            stat.put("waiting", compartment.waiting.get());
+            stat.put("rejected", compartment.rejected.get());
+            stat.put("timedOut", compartment.timedOut.get());
+            stats.add(stat);
+        }
+        return stats;
+    }
+
+    private final class Compartment {
+        private final Target target;
+        private final Semaphore semaphore = new Semaphore(maxConcurrent, true);
+        private final AtomicInteger waiting = new AtomicInteger();
+        // acquire içinde olan istekler (bekleyenler dahil); izin alındıktan sonra semafor sayılır
+        private final AtomicInteger users = new AtomicInteger();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Compartment(Target target) {
+            this.target = target;
+            // Hedef başına chart.bulkhead.* metrikleri; hedef atılınca kaldırılır (bkz. evictIdleTargets)
+            Tags tags = Tags.of("target", target.toString());
+            Gauge.builder("chart.bulkhead.running", semaphore, s -> maxConcurrent - s.availablePermits()).tags(tags).register(meterRegistry);
+            Gauge.builder("chart.bulkhead.waiting", waiting, AtomicInteger::get).tags(tags).register(meterRegistry);
+            FunctionCounter.builder("chart.bulkhead.rejected", rejected, AtomicLong::get).tags(tags).tag("cause", "queue_full").register(meterRegistry);
+            FunctionCounter.builder("chart.bulkhead.rejected", timedOut, AtomicLong::get).tags(tags).tag("cause", "timeout").register(meterRegistry);
+        }
+
+        private Permit acquire() {
+            lastUsed = System.currentTimeMillis();
+            // tryAcquire(0, ...) adil sırayı korur; bekleyen varken kuyruğun önüne geçmez
+            try {
+                if (semaphore.tryAcquire(0, TimeUnit.MILLISECONDS)) return new Permit(semaphore);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TargetBusyException(target.toString(), false);
+            }
+
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                rejected.incrementAndGet();
+                throw new TargetBusyException(target.toString(), true);
+            }
+            try {
+                if (!semaphore.tryAcquire(waitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    timedOut.incrementAndGet();
+                    throw new TargetBusyException(target.toString(), false);
+                }
+                return new Permit(semaphore);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TargetBusyException(target.toString(), false);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+// src/main/java/com/example/chartvisualizerbackend/service/TargetBusyException.java
+package com.example.chartvisualizerbackend.service;
+
+// Hedef veritabanının sorgu sınırı dolu olduğunda fırlatılır.
+// queueFull: bekleme kuyruğu da dolu (429); false ise kuyrukta bekleme süresi doldu (503).
+public class TargetBusyException extends RuntimeException {
+
+    private final boolean queueFull;
+
+    public TargetBusyException(String target, boolean queueFull) {
+        super(queueFull
+                ? "Hedef veritabanı için bekleyen istek sınırı doldu: " + target
+                : "Hedef veritabanı için bekleme süresi doldu: " + target);
+        this.queueFull = queueFull;
+    }
+
+    public boolean isQueueFull() {
+        return queueFull;
+    }
+}
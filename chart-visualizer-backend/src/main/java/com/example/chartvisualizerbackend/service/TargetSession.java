@@ -0,0 +1,88 @@
+// src/main/java/com/example/chartvisualizerbackend/service/TargetSession.java
+package com.example.chartvisualizerbackend.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Aynı hedefe art arda gönderilen sorguların (ör. bir grafiğin describe ve veri sorguları) tek bağlantıyı paylaşması için.
+// Bağlantı ve hedefin sorgu izni ilk sorguda alınır, release() ya da close() çağrılana kadar tutulur.
+// Toplu isteklerde izin grafikler arasında bırakılır: izin tutulurken katalog gibi iç yüklemeler aynı hedeften
+// ikinci bir izin isterse, izinlerin tamamı birbirini bekleyen işçilerde kalabilirdi.
+// Oturum QueryContext ile taşınır; openCursor aynı hedefe giden sorgularda havuz yerine bu bağlantıyı kullanır.
+// Oturumlar tek thread'den, sırayla kullanılmak içindir.
+public class TargetSession implements AutoCloseable {
+
+    private final ConnectionPoolRegistry.PoolKey key;
+    private final String host;
+    private final String dbName;
+    private final String user;
+    private final String password;
+    private final ConnectionPoolRegistry connectionPoolRegistry;
+    private final TargetBulkhead targetBulkhead;
+    private TargetBulkhead.Permit permit;
+    private Connection connection;
+
+    TargetSession(String host, String dbName, String user, String password,
+                  ConnectionPoolRegistry connectionPoolRegistry, TargetBulkhead targetBulkhead) {
+        this.key = ConnectionPoolRegistry.PoolKey.of(host, dbName, user, password);
+        this.host = host;
+        this.dbName = dbName;
+        this.user = user;
+        this.password = password;
+        this.connectionPoolRegistry = connectionPoolRegistry;
+        this.targetBulkhead = targetBulkhead;
+    }
+
+    // Sorgu bu oturumun hedefine mi gidiyor
+    boolean serves(String host, String dbName, String user, String password) {
+        return key.equals(ConnectionPoolRegistry.PoolKey.of(host, dbName, user, password));
+    }
+
+    // Oturumun bağlantısı; henüz alınmadıysa ya da önceki sorguda koptuysa yenisi alınır
+    Connection connection() throws SQLException {
+        if (connection != null && !connection.isClosed()) return connection;
+        discard();
+        if (permit == null) permit = targetBulkhead.acquire(host, dbName);
+        connection = connectionPoolRegistry.getConnection(host, dbName, user, password);
+        return connection;
+    }
+
+    // Sorgudan sonra bağlantıyı bir sonraki sorgu için hazırlar (imlecin transaction'ı kapatılır).
+    // Bağlantının durumu bilinemiyorsa havuza geri verilir; sonraki sorgu yenisini alır.
+    void checkIn() {
+        if (connection == null) return;
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard();
+        }
+    }
+
+    private void discard() {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Havuz kopmuş bağlantıyı kendisi atar
+        }
+        connection = null;
+    }
+
+    // Bağlantıyı havuza, sorgu iznini bulkhead'e geri verir; oturum sonraki sorguda yenilerini alır
+    public void release() {
+        try {
+            discard();
+        } finally {
+            if (permit != null) permit.close();
+            permit = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
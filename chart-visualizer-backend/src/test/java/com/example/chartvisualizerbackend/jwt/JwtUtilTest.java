@@ -0,0 +1,70 @@
+package com.example.chartvisualizerbackend.jwt;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS1hdC1sZWFzdC0zMi1ieXRlcw==";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(SECRET, 2);
+    }
+
+    private static JwtUtil newJwtUtil(String secret, int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "SECRET_KEY", secret);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+
+    @Test
+    void verifiesGeneratedTokenAndCachesResult() {
+        String token = jwtUtil.generateToken("user");
+
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token);
+        JwtUtil.VerifiedToken second = jwtUtil.verify(token);
+
+        assertThat(first.username()).isEqualTo("user");
+        assertThat(first.expiresAt()).isGreaterThan(System.currentTimeMillis());
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = jwtUtil.generateToken("user");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        JwtUtil other = newJwtUtil("b3RoZXIta2V5LWZvci10ZXN0cy1vbmx5LWF0LWxlYXN0LTMyLWJ5dGVzISE=", 2);
+        String token = other.generateToken("user");
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void cacheIsBoundedButEvictedTokensStillVerify() {
+        String first = jwtUtil.generateToken("user");
+        JwtUtil.VerifiedToken cached = jwtUtil.verify(first);
+        jwtUtil.verify(jwtUtil.generateToken("admin"));
+        jwtUtil.verify(jwtUtil.generateToken("other"));
+
+        JwtUtil.VerifiedToken again = jwtUtil.verify(first);
+
+        assertThat(again).isNotSameAs(cached);
+        assertThat(again.username()).isEqualTo("user");
+    }
+}
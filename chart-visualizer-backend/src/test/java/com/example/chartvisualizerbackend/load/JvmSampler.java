@@ -0,0 +1,68 @@
+package com.example.chartvisualizerbackend.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ölçüm süresince kullanılan heap'in zirvesini örnekler ve toplayıcı başına GC sayısı/süresindeki artışı hesaplar.
+// Uygulama ve yük üretici aynı JVM'de çalıştığından değerler ikisini birlikte kapsar.
+final class JvmSampler {
+
+    private static final long MB = 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-jvm-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong peakUsed = new AtomicLong();
+    private final Map<String, long[]> gcBefore = new HashMap<>();
+
+    static JvmSampler start() {
+        JvmSampler sampler = new JvmSampler();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sampler.gcBefore.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        sampler.scheduler.scheduleAtFixedRate(sampler::sample, 0, 100, TimeUnit.MILLISECONDS);
+        return sampler;
+    }
+
+    private void sample() {
+        peakUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+    }
+
+    // jvm.heap.*-mb ve jvm.gc.<toplayıcı>.count / .time-ms değerleri
+    Map<String, Object> stop() {
+        scheduler.shutdownNow();
+        sample();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("jvm.heap.peak-used-mb", peakUsed.get() / MB);
+        stats.put("jvm.heap.committed-mb", heap.getCommitted() / MB);
+        stats.put("jvm.heap.max-mb", heap.getMax() / MB);
+        long totalCount = 0;
+        long totalTime = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            long[] before = gcBefore.getOrDefault(collector.getName(), new long[2]);
+            long count = collector.getCollectionCount() - before[0];
+            long time = collector.getCollectionTime() - before[1];
+            String name = collector.getName().replace(' ', '-');
+            stats.put("jvm.gc." + name + ".count", count);
+            stats.put("jvm.gc." + name + ".time-ms", time);
+            totalCount += count;
+            totalTime += time;
+        }
+        stats.put("jvm.gc.count", totalCount);
+        stats.put("jvm.gc.time-ms", totalTime);
+        return stats;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.chartvisualizerbackend.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// İstekleri sabit varış hızında (açık model) gönderir: i. istek başlangıçtan i / rate saniye sonra planlanır ve
+// gecikme planlanan andan cevabın tamamı okunana kadar ölçülür. Sunucu yavaşladığında sonraki istekler
+// ertelenmediği için kuyrukta geçen süre ölçümden düşmez (coordinated omission).
+final class LoadGenerator {
+
+    // Histogramın izleyebildiği en yüksek gecikme (mikrosaniye); üstündeki değerler bu değere kırpılır
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final Map<String, Supplier<HttpRequest>> operations;
+    private final List<String> sequence;
+    private final int maxInFlight;
+
+    LoadGenerator(HttpClient client, Map<String, Supplier<HttpRequest>> operations, List<String> sequence, int maxInFlight) {
+        for (String operation : sequence) {
+            if (!operations.containsKey(operation)) throw new IllegalArgumentException("Bilinmeyen işlem: " + operation);
+        }
+        this.client = client;
+        this.operations = operations;
+        this.sequence = sequence;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // İşlem başına gecikme histogramı (mikrosaniye), hata ve gönderilemeyen istek sayıları
+    static final class Stats {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    record Results(Map<String, Stats> operations, Duration duration) {
+    }
+
+    Results run(double rate, Duration duration) throws InterruptedException {
+        Map<String, Stats> stats = new TreeMap<>();
+        sequence.forEach(operation -> stats.computeIfAbsent(operation, name -> new Stats()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) break;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            String operation = sequence.get((int) (i % sequence.size()));
+            Stats operationStats = stats.get(operation);
+            if (!inFlight.tryAcquire()) {
+                operationStats.dropped.increment();
+                continue;
+            }
+            client.sendAsync(operations.get(operation).get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        operationStats.histogram.recordValue(Math.min(micros, HIGHEST_MICROS));
+                        if (error != null || response.statusCode() >= 400) operationStats.errors.increment();
+                        inFlight.release();
+                    });
+        }
+        // Süre sonunda gönderilmiş isteklerin tamamlanması beklenir
+        if (!inFlight.tryAcquire(maxInFlight, HIGHEST_MICROS, TimeUnit.MICROSECONDS)) {
+            throw new IllegalStateException("İstekler süresinde tamamlanmadı.");
+        }
+        inFlight.release(maxInFlight);
+        return new Results(stats, duration);
+    }
+}
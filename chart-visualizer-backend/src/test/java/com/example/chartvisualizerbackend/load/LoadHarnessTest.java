@@ -0,0 +1,143 @@
+package com.example.chartvisualizerbackend.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uçtan uca yük testi (JwtAuthFilter -> ChartController -> DynamicConnectionService -> JSON).
+// Yalnızca "load" profiliyle çalışır: mvn -B -Pload test (ayarlar için bkz. load/load.properties)
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadHarnessTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void replaysMixWithinBaseline() throws Exception {
+        LoadSettings settings = LoadSettings.load();
+        Map<String, Object> target = new LinkedHashMap<>();
+        target.put("host", settings.get("load.target.host", "localhost"));
+        target.put("dbName", settings.get("load.target.db", null));
+        target.put("user", settings.get("load.target.user", null));
+        target.put("password", settings.get("load.target.password", environment.getProperty("spring.datasource.password")));
+        seed(target);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String token = login(client);
+        LoadGenerator generator = new LoadGenerator(client, operations(token, target), settings.sequence(),
+                settings.getInt("load.max-in-flight"));
+
+        double rate = settings.getDouble("load.rate");
+        // Isınma: JIT, bağlantı havuzları, katalog ve hazırlanmış ifadeler ölçümden önce oturur
+        generator.run(rate, Duration.ofSeconds(settings.getInt("load.warmup-seconds")));
+        JvmSampler jvm = JvmSampler.start();
+        LoadGenerator.Results results = generator.run(rate, Duration.ofSeconds(settings.getInt("load.duration-seconds")));
+        LoadReport report = new LoadReport(results, jvm.stop(), rate);
+
+        System.out.println(report.table());
+        Path directory = Path.of("target", "load");
+        report.write(directory);
+        if (settings.getBoolean("load.record-baseline")) {
+            report.writeBaseline(directory.resolve("baseline.properties"));
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/load/baseline.properties")) {
+            baseline.load(in);
+        }
+        assertThat(report.regressions(baseline, settings.getDouble("load.tolerance"), settings.getDouble("load.slack-ms"),
+                settings.getDouble("load.max-error-rate"), settings.getDouble("load.min-throughput-ratio"))).isEmpty();
+    }
+
+    // Sentetik veri kümelerini hedef veritabanına yükler (load/seed.sql tekrar çalıştırılabilir)
+    private static void seed(Map<String, Object> target) throws Exception {
+        String url = "jdbc:postgresql://" + target.get("host") + ":5432/" + target.get("dbName");
+        try (Connection connection = DriverManager.getConnection(url, (String) target.get("user"), (String) target.get("password"))) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("load/seed.sql"));
+        }
+    }
+
+    private String login(HttpClient client) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return (String) objectMapper.readValue(response.body(), Map.class).get("jwt");
+    }
+
+    private HttpRequest loginRequest() {
+        return post("/api/auth/login", Map.of("username", "user", "password", "password"), null);
+    }
+
+    // İşlem karışımında kullanılabilecek istekler; "data" istekleri önbelleği atlar, her istek veritabanına gider
+    private Map<String, Supplier<HttpRequest>> operations(String token, Map<String, Object> target) {
+        Map<String, Object> parameters = new HashMap<>(target);
+        parameters.put("objectName", "load_readings_since");
+
+        Map<String, Object> data = new HashMap<>(target);
+        data.put("objectName", "load_small_view");
+        data.put("cache", false);
+
+        Map<String, Object> function = new HashMap<>(target);
+        function.put("objectName", "load_readings_since");
+        function.put("parameters", List.of(Map.of("name", "p_since", "value", "2024-01-05 00:00:00"),
+                Map.of("name", "p_region", "value", "eu")));
+        function.put("cache", false);
+
+        Map<String, Object> aggregate = new HashMap<>(target);
+        aggregate.put("objectName", "load_large_view");
+        aggregate.put("aggregation", Map.of("x", "ts", "y", "value", "function", "avg", "bucket", "day"));
+        aggregate.put("cache", false);
+
+        Map<String, Supplier<HttpRequest>> operations = new LinkedHashMap<>();
+        operations.put("login", this::loginRequest);
+        operations.put("objects", () -> post("/api/charts/objects", target, token));
+        operations.put("parameters", () -> post("/api/charts/object-parameters", parameters, token));
+        operations.put("data", () -> post("/api/charts/data", data, token));
+        operations.put("function", () -> post("/api/charts/data", function, token));
+        operations.put("aggregate", () -> post("/api/charts/data", aggregate, token));
+        return operations;
+    }
+
+    private HttpRequest post(String path, Map<String, ?> body, String token) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (token != null) request.header("Authorization", "Bearer " + token);
+            return request.build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.chartvisualizerbackend.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Ölçüm sonuçlarının özeti: işlem başına sayılar, throughput ve p50/p99/p999 gecikme (ms), JVM heap/GC değerleri.
+// Özet target/load/report.properties'e, her işlemin yüzdelik dağılımı <işlem>.hgrm dosyasına yazılır
+// (HdrHistogram'ın çizim araçlarıyla açılabilir).
+final class LoadReport {
+
+    private final LoadGenerator.Results results;
+    private final Map<String, Object> jvm;
+    private final double rate;
+
+    LoadReport(LoadGenerator.Results results, Map<String, Object> jvm, double rate) {
+        this.results = results;
+        this.jvm = jvm;
+        this.rate = rate;
+    }
+
+    long completed() {
+        return results.operations().values().stream().mapToLong(stats -> stats.histogram.getTotalCount()).sum();
+    }
+
+    long failed() {
+        return results.operations().values().stream().mapToLong(stats -> stats.errors.sum() + stats.dropped.sum()).sum();
+    }
+
+    double throughput() {
+        return completed() / (results.duration().toMillis() / 1000.0);
+    }
+
+    String table() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-12s %8s %7s %9s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Histogram total = new Histogram(3);
+        results.operations().forEach((operation, stats) -> {
+            total.add(stats.histogram);
+            table.append(row(operation, stats.histogram, stats.errors.sum() + stats.dropped.sum()));
+        });
+        table.append(row("total", total, failed()));
+        table.append(String.format(Locale.ROOT, "requested %.1f req/s, achieved %.1f req/s%n", rate, throughput()));
+        jvm.forEach((name, value) -> table.append(name).append(" = ").append(value).append(System.lineSeparator()));
+        return table.toString();
+    }
+
+    private String row(String operation, Histogram histogram, long errors) {
+        return String.format(Locale.ROOT, "%-12s %8d %7d %9.1f %10.1f %10.1f %10.1f %10.1f%n", operation,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / (results.duration().toMillis() / 1000.0),
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, String> summary = new TreeMap<>();
+        results.operations().forEach((operation, stats) -> {
+            summary.put(operation + ".count", String.valueOf(stats.histogram.getTotalCount()));
+            summary.put(operation + ".errors", String.valueOf(stats.errors.sum()));
+            summary.put(operation + ".dropped", String.valueOf(stats.dropped.sum()));
+            summary.put(operation + ".p50-ms", format(millis(stats.histogram, 50)));
+            summary.put(operation + ".p99-ms", format(millis(stats.histogram, 99)));
+            summary.put(operation + ".p999-ms", format(millis(stats.histogram, 99.9)));
+            summary.put(operation + ".max-ms", format(stats.histogram.getMaxValue() / 1000.0));
+        });
+        summary.put("total.requested-rate", format(rate));
+        summary.put("total.throughput", format(throughput()));
+        jvm.forEach((name, value) -> summary.put(name, String.valueOf(value)));
+        store(summary, directory.resolve("report.properties"), "Yük testi sonucu");
+
+        for (Map.Entry<String, LoadGenerator.Stats> entry : results.operations().entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Ölçülen p50/p99 değerleri baseline biçiminde (yukarı yuvarlanmış, ms)
+    void writeBaseline(Path file) throws IOException {
+        Map<String, String> baseline = new TreeMap<>();
+        results.operations().forEach((operation, stats) -> {
+            baseline.put(operation + ".p50-ms", format(Math.ceil(millis(stats.histogram, 50))));
+            baseline.put(operation + ".p99-ms", format(Math.ceil(millis(stats.histogram, 99))));
+        });
+        Files.createDirectories(file.getParent());
+        store(baseline, file, "Ölçülen değerler; src/test/resources/load/baseline.properties'e kopyalanabilir");
+    }
+
+    // Baseline'daki p50/p99 sınırlarını tolerance oranı ve slackMs payından fazla aşan işlemler, izin verilenden
+    // yüksek hata oranı ve istenen hıza yetişemeyen throughput. Boş liste gerileme olmadığı anlamına gelir.
+    List<String> regressions(Properties baseline, double tolerance, double slackMs, double maxErrorRate, double minThroughputRatio) {
+        List<String> regressions = new ArrayList<>();
+        results.operations().forEach((operation, stats) -> {
+            for (String percentile : List.of("p50", "p99")) {
+                String limit = baseline.getProperty(operation + "." + percentile + "-ms");
+                if (limit == null) continue;
+                double measured = millis(stats.histogram, "p50".equals(percentile) ? 50 : 99);
+                double allowed = Double.parseDouble(limit) * (1 + tolerance) + slackMs;
+                if (measured > allowed) {
+                    regressions.add(String.format(Locale.ROOT, "%s %s %.1f ms > %.1f ms (baseline %s ms)",
+                            operation, percentile, measured, allowed, limit));
+                }
+            }
+        });
+        long requests = completed() + results.operations().values().stream().mapToLong(stats -> stats.dropped.sum()).sum();
+        double errorRate = requests == 0 ? 0 : (double) failed() / requests;
+        if (errorRate > maxErrorRate) {
+            regressions.add(String.format(Locale.ROOT, "hata oranı %.3f > %.3f", errorRate, maxErrorRate));
+        }
+        if (throughput() < rate * minThroughputRatio) {
+            regressions.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f req/s", throughput(), rate * minThroughputRatio));
+        }
+        return regressions;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    // Anahtarlar sıralı yazılır; çalıştırmalar arasında dosyalar karşılaştırılabilir
+    private static void store(Map<String, String> values, Path file, String comment) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# " + comment);
+        values.forEach((name, value) -> lines.add(name + "=" + value));
+        Files.write(file, lines);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.chartvisualizerbackend.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+// load/load.properties'teki varsayılanlar; -Dload.<ad>=... sistem özellikleri önceliklidir
+final class LoadSettings {
+
+    private final Properties properties = new Properties();
+
+    static LoadSettings load() throws IOException {
+        LoadSettings settings = new LoadSettings();
+        try (InputStream in = LoadSettings.class.getResourceAsStream("/load/load.properties")) {
+            settings.properties.load(in);
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("load.")) settings.properties.setProperty(name, System.getProperty(name));
+        }
+        return settings;
+    }
+
+    String get(String name, String defaultValue) {
+        String value = properties.getProperty(name, "").trim();
+        return value.isEmpty() ? defaultValue : value;
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(get(name, null));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(get(name, null));
+    }
+
+    boolean getBoolean(String name) {
+        return Boolean.parseBoolean(get(name, "false"));
+    }
+
+    // "login:1,data:4" -> işlem adı -> ağırlık
+    Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : get("load.mix", "").split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) mix.put(parts[0].trim(), weight);
+        }
+        return mix;
+    }
+
+    // Ağırlıklara göre açılmış ve sabit tohumla karıştırılmış işlem sırası; istekler bu sırayı döngüyle izler,
+    // böylece her çalıştırma aynı karışımı aynı sırada gönderir
+    List<String> sequence() {
+        List<String> sequence = new ArrayList<>();
+        mix().forEach((operation, weight) -> sequence.addAll(Collections.nCopies(weight, operation)));
+        Collections.shuffle(sequence, new Random(42));
+        return sequence;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.chartvisualizerbackend.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChartQueryCompilerTest {
+
+    private static final List<Map<String, String>> COLUMNS = List.of(
+            Map.of("name", "order_date", "type", "date"),
+            Map.of("name", "total_amount", "type", "numeric"),
+            Map.of("name", "customer_name", "type", "varchar"));
+
+    @Test
+    void compilesTimeBucketedAggregate() {
+        ChartQueryPlan plan = ChartQueryPlan.from(Map.of("x", "order_date", "y", "total_amount", "function", "avg", "bucket", "month"));
+
+        String sql = ChartQueryCompiler.compile(plan, BoundQuery.of("orders_view"), COLUMNS).sql();
+
+        assertThat(sql).isEqualTo("SELECT date_trunc('month', \"order_date\") AS \"order_date\", avg(\"total_amount\") AS \"total_amount\""
+                + " FROM orders_view AS src GROUP BY 1 ORDER BY 1");
+    }
+
+    @Test
+    void countWithoutYColumnUsesCountStar() {
+        ChartQueryPlan plan = ChartQueryPlan.from(Map.of("x", "customer_name", "function", "count"));
+
+        String sql = ChartQueryCompiler.compile(plan, BoundQuery.of("orders_view"), COLUMNS).sql();
+
+        assertThat(sql).isEqualTo("SELECT \"customer_name\" AS \"customer_name\", count(*) AS \"count\" FROM orders_view AS src GROUP BY 1 ORDER BY 1");
+    }
+
+    @Test
+    void rejectsUnknownColumns() {
+        ChartQueryPlan plan = ChartQueryPlan.from(Map.of("x", "order_date\"; drop table orders; --", "y", "total_amount"));
+
+        assertThatThrownBy(() -> ChartQueryCompiler.compile(plan, BoundQuery.of("orders_view"), COLUMNS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTimeBucketOnNonTemporalColumn() {
+        ChartQueryPlan plan = ChartQueryPlan.from(Map.of("x", "customer_name", "y", "total_amount", "bucket", "day"));
+
+        assertThatThrownBy(() -> ChartQueryCompiler.compile(plan, BoundQuery.of("orders_view"), COLUMNS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownAggregateAndBucket() {
+        assertThatThrownBy(() -> ChartQueryPlan.from(Map.of("x", "order_date", "y", "total_amount", "function", "stddev")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChartQueryPlan.from(Map.of("x", "order_date", "y", "total_amount", "bucket", "fortnight")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsObjectNamesThatAreNotIdentifiers() {
+        assertThatThrownBy(() -> ChartQueryCompiler.relation("orders; drop table orders", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ChartQueryCompiler.relation("public.orders_view", null, null).sql()).isEqualTo("public.orders_view");
+    }
+
+    @Test
+    void bindsFunctionParametersByCatalogType() {
+        List<Map<String, Object>> params = List.of(
+                Map.of("name", "p_order_id", "value", "42", "type", "text"),
+                Map.of("name", "p_tax_rate", "value", "0.18"),
+                Map.of("name", "p_since", "value", "2024-01-31"));
+        List<Map<String, String>> catalog = List.of(
+                Map.of("name", "p_order_id", "type", "integer"),
+                Map.of("name", "p_tax_rate", "type", "numeric(5,2)"),
+                Map.of("name", "p_since", "type", "date"));
+
+        BoundQuery query = ChartQueryCompiler.selectAll(ChartQueryCompiler.relation("calculate_order_tax", params, catalog));
+
+        assertThat(query.sql()).isEqualTo("SELECT * FROM calculate_order_tax(?, ?, ?)");
+        assertThat(query.binds()).containsExactly(
+                new BoundQuery.Bind(42, Types.INTEGER),
+                new BoundQuery.Bind(new BigDecimal("0.18"), Types.NUMERIC),
+                new BoundQuery.Bind(LocalDate.of(2024, 1, 31), Types.DATE));
+    }
+
+    @Test
+    void sampledRelationKeepsFunctionBindsBeforeSampleBinds() {
+        List<Map<String, Object>> params = List.of(Map.of("name", "p_since", "value", "2024-01-31"));
+        BoundQuery relation = ChartQueryCompiler.relation("orders_since", params, List.of(Map.of("name", "p_since", "type", "date")));
+        ChartQueryPlan plan = ChartQueryPlan.from(Map.of("x", "customer_name", "function", "count"));
+
+        BoundQuery query = ChartQueryCompiler.compile(plan, ChartQueryCompiler.sample(relation, 0.05, 10000), COLUMNS);
+
+        assertThat(query.sql()).isEqualTo("SELECT \"customer_name\" AS \"customer_name\", count(*) AS \"count\""
+                + " FROM (SELECT * FROM orders_since(?) AS sampled WHERE random() < ? LIMIT ?) AS src GROUP BY 1 ORDER BY 1");
+        assertThat(query.binds()).containsExactly(
+                new BoundQuery.Bind(LocalDate.of(2024, 1, 31), Types.DATE),
+                new BoundQuery.Bind(0.05, Types.DOUBLE),
+                new BoundQuery.Bind(10000, Types.INTEGER));
+    }
+
+    @Test
+    void sampleBindsFractionAndLimitAndEstimateOnlyExplains() {
+        BoundQuery relation = ChartQueryCompiler.relation("orders_view", null, null);
+
+        BoundQuery sample = ChartQueryCompiler.selectAll(ChartQueryCompiler.sample(relation, 0.25, 500));
+        BoundQuery estimate = ChartQueryCompiler.estimateRows(relation);
+
+        assertThat(sample.sql()).isEqualTo("SELECT * FROM (SELECT * FROM orders_view AS sampled WHERE random() < ? LIMIT ?)");
+        assertThat(sample.binds()).containsExactly(new BoundQuery.Bind(0.25, Types.DOUBLE), new BoundQuery.Bind(500, Types.INTEGER));
+        assertThat(estimate.sql()).isEqualTo("EXPLAIN SELECT * FROM orders_view AS src");
+        assertThat(estimate.binds()).isEmpty();
+    }
+
+    @Test
+    void rejectsParameterValuesThatDoNotMatchTheType() {
+        List<Map<String, Object>> params = List.of(Map.of("name", "p_order_id", "value", "1; drop table orders"));
+
+        assertThatThrownBy(() -> ChartQueryCompiler.relation("calculate_order_tax", params, List.of(Map.of("name", "p_order_id", "type", "integer"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void splitsIntegerRangeIntoEqualPartitionsAndSkipsEmptyOnes() {
+        assertThat(ChartQueryCompiler.splitPoints("id", "int8", 1L, 8L, 4)).containsExactly(3L, 5L, 7L);
+        assertThat(ChartQueryCompiler.splitPoints("id", "int4", 1, 2, 4)).containsExactly(2L);
+        assertThat(ChartQueryCompiler.splitPoints("id", "int8", null, null, 4)).isEmpty();
+        assertThat(ChartQueryCompiler.splitPoints("ts", "timestamp", "2024-01-01 00:00:00", "2024-01-05 00:00:00", 2))
+                .containsExactly(Timestamp.valueOf("2024-01-03 00:00:00"));
+        assertThatThrownBy(() -> ChartQueryCompiler.splitPoints("name", "varchar", "a", "z", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void splitsDateRangeOnDayBoundariesWithoutDuplicates() {
+        assertThat(ChartQueryCompiler.splitPoints("order_date", "date", "2024-01-01", "2024-01-09", 4))
+                .containsExactly(java.sql.Date.valueOf("2024-01-03"), java.sql.Date.valueOf("2024-01-05"), java.sql.Date.valueOf("2024-01-07"));
+        // Bir günlük aralık dört parçaya bölünemez; gün başına yuvarlanan sınırlar tekrar ettiği için tek bölüm kalır
+        assertThat(ChartQueryCompiler.splitPoints("order_date", "date", "2024-01-01", "2024-01-02", 4)).isEmpty();
+        assertThat(ChartQueryCompiler.splitPoints("id", "int8", 5L, 5L, 3)).isEmpty();
+    }
+
+    @Test
+    void rangePartitionsCoverAllRowsIncludingNulls() {
+        BoundQuery relation = ChartQueryCompiler.relation("metrics_view", null, null);
+
+        BoundQuery first = ChartQueryCompiler.range(relation, "id", null, 3L, false);
+        BoundQuery middle = ChartQueryCompiler.range(relation, "id", 3L, 5L, true);
+        BoundQuery last = ChartQueryCompiler.range(relation, "id", 5L, null, false);
+
+        assertThat(first.sql()).isEqualTo("SELECT * FROM metrics_view AS src WHERE \"id\" < ?");
+        assertThat(middle.sql()).isEqualTo("SELECT * FROM metrics_view AS src WHERE \"id\" >= ? AND \"id\" < ? ORDER BY \"id\"");
+        assertThat(middle.binds()).containsExactly(new BoundQuery.Bind(3L, Types.BIGINT), new BoundQuery.Bind(5L, Types.BIGINT));
+        assertThat(last.sql()).isEqualTo("SELECT * FROM metrics_view AS src WHERE (\"id\" >= ? OR \"id\" IS NULL)");
+    }
+
+    @Test
+    void singleRangeAndLastDateRangeKeepNullRows() {
+        BoundQuery relation = ChartQueryCompiler.relation("orders_view", null, null);
+
+        BoundQuery all = ChartQueryCompiler.range(relation, "order_date", null, null, true);
+        BoundQuery last = ChartQueryCompiler.range(relation, "order_date", java.sql.Date.valueOf("2024-01-05"), null, true);
+
+        assertThat(all.sql()).isEqualTo("SELECT * FROM orders_view AS src ORDER BY \"order_date\"");
+        assertThat(all.binds()).isEmpty();
+        assertThat(last.sql()).isEqualTo("SELECT * FROM orders_view AS src WHERE (\"order_date\" >= ? OR \"order_date\" IS NULL) ORDER BY \"order_date\"");
+        assertThat(last.binds()).containsExactly(new BoundQuery.Bind(java.sql.Date.valueOf("2024-01-05"), Types.DATE));
+    }
+}
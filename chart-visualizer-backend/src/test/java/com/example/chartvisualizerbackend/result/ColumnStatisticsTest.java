@@ -0,0 +1,98 @@
+package com.example.chartvisualizerbackend.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ColumnStatisticsTest {
+
+    @Test
+    void hyperLogLogEstimatesDistinctCount() {
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            small.add("city-" + (i % 40));
+        }
+        for (long i = 0; i < 1_000_000; i++) {
+            large.add(i % 250_000);
+        }
+
+        assertThat(small.estimate()).isEqualTo(40);
+        assertThat((double) large.estimate()).isCloseTo(250_000, within(250_000 * 0.05));
+    }
+
+    @Test
+    void hyperLogLogTreatsEqualNumbersAsSameValue() {
+        HyperLogLog hll = new HyperLogLog();
+        hll.add(5);
+        hll.add(5L);
+        hll.add(new BigDecimal("5.00"));
+        hll.add(5.0);
+
+        assertThat(hll.estimate()).isEqualTo(1);
+    }
+
+    @Test
+    void kllQuantilesStayWithinRankError() {
+        KllSketch sketch = new KllSketch();
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(random.nextDouble() * 1000);
+        }
+
+        assertThat(sketch.count()).isEqualTo(1_000_000);
+        assertThat(sketch.quantile(0.5)).isCloseTo(500, within(20.0));
+        assertThat(sketch.quantile(0.99)).isCloseTo(990, within(20.0));
+        assertThat(sketch.quantile(0)).isEqualTo(sketch.min());
+        assertThat(sketch.quantile(1)).isEqualTo(sketch.max());
+    }
+
+    @Test
+    void mergedPartitionsMatchSinglePass() {
+        List<Map<String, String>> columns = List.of(Map.of("name", "value", "type", "float8"), Map.of("name", "region", "type", "text"));
+        ColumnStatistics whole = new ColumnStatistics(columns);
+        ColumnStatistics first = new ColumnStatistics(columns);
+        ColumnStatistics second = new ColumnStatistics(columns);
+        String[] regions = {"apac", "eu", "latam", "us"};
+        for (int i = 0; i < 200_000; i++) {
+            Object value = i % 10 == 0 ? null : (double) i;
+            whole.addRow(value, regions[i % 4]);
+            (i < 50_000 ? first : second).addRow(value, regions[i % 4]);
+        }
+
+        first.merge(second);
+
+        assertThat(first.rows()).isEqualTo(whole.rows());
+        Map<String, Object> merged = first.column(0).toMap(new double[]{0.5});
+        Map<String, Object> single = whole.column(0).toMap(new double[]{0.5});
+        assertThat(merged).containsEntry("count", 180_000L).containsEntry("nulls", 20_000L)
+                .containsEntry("min", 1.0).containsEntry("max", 199_999.0);
+        assertThat((double) merged.get("mean")).isCloseTo((double) single.get("mean"), within(1e-6));
+        double median = (double) ((Map<?, ?>) merged.get("quantiles")).get("0.5");
+        assertThat(median).isCloseTo(100_000, within(200_000 * 0.02));
+        assertThat(first.column(1).distinct()).isEqualTo(4);
+        assertThat(first.column(1).toMap(new double[]{0.5})).doesNotContainKeys("min", "quantiles");
+    }
+
+    @Test
+    void temporalColumnsReportTimestamps() {
+        ColumnStatistics statistics = new ColumnStatistics(List.of(Map.of("name", "ts", "type", "timestamp")));
+        statistics.addRow(Timestamp.valueOf("2024-01-01 00:00:00"));
+        statistics.addRow(Timestamp.valueOf("2024-06-01 00:00:00"));
+        statistics.addRow((Object) null);
+
+        Map<String, Object> column = statistics.column(0).toMap(ColumnStatistics.DEFAULT_QUANTILES);
+
+        assertThat(column).containsEntry("min", Timestamp.valueOf("2024-01-01 00:00:00"))
+                .containsEntry("max", Timestamp.valueOf("2024-06-01 00:00:00"))
+                .containsEntry("nulls", 1L)
+                .doesNotContainKey("mean");
+    }
+}
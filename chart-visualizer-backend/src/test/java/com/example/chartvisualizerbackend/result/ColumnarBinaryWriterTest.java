@@ -0,0 +1,152 @@
+package com.example.chartvisualizerbackend.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ColumnarBinaryWriterTest {
+
+    @Test
+    void writesDocumentedLayout() throws Exception {
+        ColumnVector ids = ColumnVector.forType("int8");
+        ColumnVector amounts = ColumnVector.forType("float8");
+        ColumnVector cities = ColumnVector.forType("varchar");
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(1L, 2L, 0L);
+        when(resultSet.getDouble(2)).thenReturn(1.5, 0.0, 3.25);
+        when(resultSet.wasNull()).thenReturn(false, false, false, true, false, false);
+        when(resultSet.getString(3)).thenReturn("Ankara", "İzmir", "Ankara");
+        for (int row = 0; row < 3; row++) {
+            ids.read(resultSet, 1);
+            amounts.read(resultSet, 2);
+            cities.read(resultSet, 3);
+        }
+        List<Map<String, String>> columns = List.of(
+                Map.of("name", "id", "type", "int8"),
+                Map.of("name", "amount", "type", "float8"),
+                Map.of("name", "city", "type", "varchar"));
+        ColumnarResult result = new ColumnarResult(columns, List.of(ids, amounts, cities), 3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarBinaryWriter.write(result, out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(in.readNBytes(4)).isEqualTo("CVC2".getBytes(StandardCharsets.US_ASCII));
+        assertThat(in.readInt()).isEqualTo(3);
+        assertThat(in.readInt()).isEqualTo(3);
+
+        assertThat(readString(in)).isEqualTo("id");
+        assertThat(readString(in)).isEqualTo("int8");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_LONG);
+        assertThat(in.readInt()).isEqualTo(0);
+        assertThat(new long[]{in.readLong(), in.readLong(), in.readLong()}).containsExactly(1L, 2L, 0L);
+
+        assertThat(readString(in)).isEqualTo("amount");
+        assertThat(readString(in)).isEqualTo("float8");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_DOUBLE);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(new double[]{in.readDouble(), in.readDouble(), in.readDouble()}).containsExactly(1.5, 0.0, 3.25);
+
+        assertThat(readString(in)).isEqualTo("city");
+        assertThat(readString(in)).isEqualTo("varchar");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_DICTIONARY);
+        assertThat(in.readInt()).isEqualTo(0);
+        assertThat(in.readInt()).isEqualTo(2);
+        assertThat(readString(in)).isEqualTo("Ankara");
+        assertThat(readString(in)).isEqualTo("İzmir");
+        assertThat(new int[]{in.readInt(), in.readInt(), in.readInt()}).containsExactly(0, 1, 0);
+
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void writesIntegersAtNativeWidthAndTemporalValuesAsNumbers() throws Exception {
+        ColumnVector small = ColumnVector.forType("int2");
+        ColumnVector counts = ColumnVector.forType("int4");
+        ColumnVector times = ColumnVector.forType("timestamptz");
+        ColumnVector days = ColumnVector.forType("date");
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(-3L, 7L);
+        when(resultSet.getLong(2)).thenReturn(100000L, 0L);
+        when(resultSet.wasNull()).thenReturn(false, false, false, true);
+        Timestamp time = Timestamp.from(Instant.parse("2024-01-06T18:53:21.123456Z"));
+        when(resultSet.getObject(3)).thenReturn(time, null);
+        when(resultSet.getObject(4)).thenReturn(java.sql.Date.valueOf("1970-01-11"), null);
+        for (int row = 0; row < 2; row++) {
+            small.read(resultSet, 1);
+            counts.read(resultSet, 2);
+            times.read(resultSet, 3);
+            days.read(resultSet, 4);
+        }
+        List<Map<String, String>> columns = List.of(
+                Map.of("name", "small", "type", "int2"),
+                Map.of("name", "count", "type", "int4"),
+                Map.of("name", "ts", "type", "timestamptz"),
+                Map.of("name", "day", "type", "date"));
+        ColumnarResult result = new ColumnarResult(columns, List.of(small, counts, times, days), 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarBinaryWriter.write(result, out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        in.skipNBytes(12);
+
+        assertThat(readString(in)).isEqualTo("small");
+        assertThat(readString(in)).isEqualTo("int2");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_SHORT);
+        assertThat(in.readInt()).isEqualTo(0);
+        assertThat(new short[]{in.readShort(), in.readShort()}).containsExactly((short) -3, (short) 7);
+
+        assertThat(readString(in)).isEqualTo("count");
+        assertThat(readString(in)).isEqualTo("int4");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_INT);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(new int[]{in.readInt(), in.readInt()}).containsExactly(100000, 0);
+
+        assertThat(readString(in)).isEqualTo("ts");
+        assertThat(readString(in)).isEqualTo("timestamptz");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_TIMESTAMP);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(new long[]{in.readLong(), in.readLong()}).containsExactly(1704567201123456L, 0L);
+
+        assertThat(readString(in)).isEqualTo("day");
+        assertThat(readString(in)).isEqualTo("date");
+        assertThat(in.readByte()).isEqualTo(ColumnarBinaryWriter.ENCODING_DATE);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(new int[]{in.readInt(), in.readInt()}).containsExactly(10, 0);
+
+        assertThat(in.read()).isEqualTo(-1);
+
+        ColumnarSnapshot snapshot = ColumnarSnapshot.parse(ByteBuffer.wrap(out.toByteArray()));
+        assertThat(snapshot.column("small").get(0)).isEqualTo(-3L);
+        assertThat(snapshot.column("count").get(0)).isEqualTo(100000L);
+        assertThat(snapshot.column("count").get(1)).isNull();
+        assertThat(snapshot.column("ts").get(0)).isEqualTo(time);
+        assertThat(snapshot.column("ts").get(1)).isNull();
+        assertThat(snapshot.column("day").get(0)).isEqualTo(java.sql.Date.valueOf("1970-01-11"));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chartvisualizerbackend.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DownsamplerTest {
+
+    @Test
+    void keepsAllPointsWhenBelowTarget() {
+        Downsampler downsampler = new Downsampler(Downsampler.Algorithm.LTTB, 100);
+        for (int i = 0; i < 50; i++) {
+            downsampler.add(i, i * 2, i, i * 2);
+        }
+
+        List<Downsampler.Point> result = downsampler.result();
+
+        assertThat(result).hasSize(50);
+        assertThat(result).extracting(Downsampler.Point::index).isSorted();
+    }
+
+    @Test
+    void lttbReducesToTargetAndKeepsEnds() {
+        Downsampler downsampler = new Downsampler(Downsampler.Algorithm.LTTB, 500);
+        for (int i = 0; i < 1_000_000; i++) {
+            downsampler.add(i, Math.sin(i / 1000.0), i, null);
+        }
+
+        List<Downsampler.Point> result = downsampler.result();
+
+        assertThat(result).hasSize(500);
+        assertThat(result.get(0).index()).isZero();
+        assertThat(result.get(result.size() - 1).index()).isEqualTo(999_999);
+        assertThat(result).extracting(Downsampler.Point::index).isSorted();
+    }
+
+    @Test
+    void minMaxKeepsGlobalExtremes() {
+        Downsampler downsampler = new Downsampler(Downsampler.Algorithm.MINMAX, 200);
+        for (int i = 0; i < 100_000; i++) {
+            double y = i == 31_337 ? 1_000 : (i == 77_777 ? -1_000 : Math.cos(i / 500.0));
+            downsampler.add(i, y, i, null);
+        }
+
+        List<Downsampler.Point> result = downsampler.result();
+
+        assertThat(result.size()).isLessThanOrEqualTo(200);
+        assertThat(result).extracting(Downsampler.Point::y).contains(1_000.0, -1_000.0);
+        assertThat(result.get(0).index()).isZero();
+        assertThat(result.get(result.size() - 1).index()).isEqualTo(99_999);
+    }
+
+    @Test
+    void rejectsTooSmallTarget() {
+        assertThatThrownBy(() -> new Downsampler(Downsampler.Algorithm.LTTB, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
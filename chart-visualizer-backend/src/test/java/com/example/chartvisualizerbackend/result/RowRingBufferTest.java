@@ -0,0 +1,44 @@
+package com.example.chartvisualizerbackend.result;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowRingBufferTest {
+
+    @Test
+    void keepsLastRowsInOrderAfterWrapping() {
+        RowRingBuffer<Integer> buffer = new RowRingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.firstSequence()).isEqualTo(3);
+        assertThat(buffer.lastSequence()).isEqualTo(5);
+        assertThat(buffer.all()).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    void returnsOnlyRowsAfterSequence() {
+        RowRingBuffer<Integer> buffer = new RowRingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer.since(4)).containsExactly(5);
+        assertThat(buffer.since(5)).isEmpty();
+        assertThat(buffer.since(2)).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    void signalsResetWhenRequestedRowsWereOverwritten() {
+        RowRingBuffer<Integer> buffer = new RowRingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer.since(1)).isNull();
+        assertThat(buffer.since(6)).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.chartvisualizerbackend.result;
+
+import com.example.chartvisualizerbackend.query.ChartQueryPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeriesPivotTest {
+
+    private ColumnarResult result;
+
+    // x: 1, 1, 2, 2, 3, 3, 1, null / seri: a, b, a, b, a, c, a, a / y: 10, 20, 30, null, 50, 60, 5, 7
+    @BeforeEach
+    void readResult() throws Exception {
+        ColumnVector x = ColumnVector.forType("int8");
+        ColumnVector region = ColumnVector.forType("varchar");
+        ColumnVector amount = ColumnVector.forType("float8");
+
+        ResultSet xSet = mock(ResultSet.class);
+        when(xSet.getLong(1)).thenReturn(1L, 1L, 2L, 2L, 3L, 3L, 1L, 0L);
+        when(xSet.wasNull()).thenReturn(false, false, false, false, false, false, false, true);
+        ResultSet regionSet = mock(ResultSet.class);
+        when(regionSet.getString(1)).thenReturn("a", "b", "a", "b", "a", "c", "a", "a");
+        ResultSet amountSet = mock(ResultSet.class);
+        when(amountSet.getDouble(1)).thenReturn(10.0, 20.0, 30.0, 0.0, 50.0, 60.0, 5.0, 7.0);
+        when(amountSet.wasNull()).thenReturn(false, false, false, true, false, false, false, false);
+        for (int row = 0; row < 8; row++) {
+            x.read(xSet, 1);
+            region.read(regionSet, 1);
+            amount.read(amountSet, 1);
+        }
+        result = new ColumnarResult(List.of(
+                Map.of("name", "x", "type", "int8"),
+                Map.of("name", "region", "type", "varchar"),
+                Map.of("name", "amount", "type", "float8")), List.of(x, region, amount), 8);
+    }
+
+    @Test
+    void alignsSeriesOnSortedXAndFoldsTheRestIntoOther() {
+        Map<String, Object> pivot = new SeriesPivot(ChartQueryPlan.Aggregate.SUM, 2, Integer.MAX_VALUE)
+                .pivot(result, "x", "amount", "region");
+
+        assertThat((List<Object>) pivot.get("x")).containsExactly(1L, 2L, 3L, null);
+        List<Map<String, Object>> series = (List<Map<String, Object>>) pivot.get("series");
+        assertThat(series).extracting(entry -> entry.get("name")).containsExactly("a", "b", null);
+        assertThat(series.get(0).get("values")).isEqualTo(Arrays.asList(15.0, 30.0, 50.0, 7.0));
+        assertThat(series.get(1).get("values")).isEqualTo(Arrays.asList(20.0, null, null, null));
+        assertThat(series.get(2)).containsEntry("other", true).containsEntry("series", 1).containsEntry("rows", 1L);
+        assertThat(series.get(2).get("values")).isEqualTo(Arrays.asList(null, null, 60.0, null));
+        assertThat(pivot).containsEntry("totalSeries", 3).containsEntry("totalRows", 8);
+    }
+
+    @Test
+    void countsNonNullValuesAndRows() {
+        Map<String, Object> counts = new SeriesPivot(ChartQueryPlan.Aggregate.COUNT, 10, Integer.MAX_VALUE)
+                .pivot(result, "x", "amount", "region");
+        Map<String, Object> rows = new SeriesPivot(ChartQueryPlan.Aggregate.COUNT, 10, Integer.MAX_VALUE)
+                .pivot(result, "x", null, "region");
+
+        assertThat(((List<Map<String, Object>>) counts.get("series")).get(1).get("values"))
+                .isEqualTo(Arrays.asList(1L, 0L, null, null));
+        assertThat(((List<Map<String, Object>>) rows.get("series")).get(1).get("values"))
+                .isEqualTo(Arrays.asList(1L, 1L, null, null));
+    }
+
+    @Test
+    void parallelChunksGiveTheSameResult() {
+        for (ChartQueryPlan.Aggregate aggregate : ChartQueryPlan.Aggregate.values()) {
+            Map<String, Object> sequential = new SeriesPivot(aggregate, 2, Integer.MAX_VALUE).pivot(result, "x", "amount", "region");
+            Map<String, Object> parallel = new SeriesPivot(aggregate, 2, 1).pivot(result, "x", "amount", "region");
+
+            assertThat(parallel).isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    void groupsManyDistinctKeys() throws Exception {
+        int rows = 50_000;
+        ColumnVector x = ColumnVector.forType("int8");
+        ColumnVector group = ColumnVector.forType("int4");
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] row = {0};
+        when(resultSet.getLong(anyInt())).thenAnswer(call -> call.getArgument(0, Integer.class) == 1 ? (long) row[0] * 7 : row[0] % 3);
+        for (; row[0] < rows; row[0]++) {
+            x.read(resultSet, 1);
+            group.read(resultSet, 2);
+        }
+        ColumnarResult wide = new ColumnarResult(List.of(Map.of("name", "x", "type", "int8"), Map.of("name", "g", "type", "int4")),
+                List.of(x, group), rows);
+
+        Map<String, Object> pivot = new SeriesPivot(ChartQueryPlan.Aggregate.COUNT, 5, 1000).pivot(wide, "x", null, "g");
+
+        List<Object> xValues = (List<Object>) pivot.get("x");
+        assertThat(xValues).hasSize(rows).startsWith(0L, 7L, 14L);
+        List<Map<String, Object>> series = (List<Map<String, Object>>) pivot.get("series");
+        assertThat(series).extracting(entry -> entry.get("name")).containsExactly(0L, 1L, 2L);
+        assertThat(((List<Object>) series.get(1).get("values")).subList(0, 3)).containsExactly(null, 1L, null);
+    }
+
+    @Test
+    void rejectsUnknownColumnsAndNonNumericAggregates() {
+        SeriesPivot pivot = new SeriesPivot(ChartQueryPlan.Aggregate.SUM, 5, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> pivot.pivot(result, "x", "amount", "missing")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pivot.pivot(result, "x", "region", "amount")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
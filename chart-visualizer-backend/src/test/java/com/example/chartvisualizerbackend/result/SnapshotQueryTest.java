@@ -0,0 +1,130 @@
+package com.example.chartvisualizerbackend.result;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SnapshotQueryTest {
+
+    private ColumnarSnapshot snapshot;
+
+    @BeforeEach
+    void writeSnapshot() throws Exception {
+        ColumnVector ids = ColumnVector.forType("int8");
+        ColumnVector amounts = ColumnVector.forType("float8");
+        ColumnVector cities = ColumnVector.forType("varchar");
+        ColumnVector times = ColumnVector.forType("timestamp");
+
+        ResultSet idSet = mock(ResultSet.class);
+        when(idSet.getLong(1)).thenReturn(1L, 2L, 3L, 4L, 5L, 6L);
+        when(idSet.wasNull()).thenReturn(false);
+        ResultSet amountSet = mock(ResultSet.class);
+        when(amountSet.getDouble(1)).thenReturn(10.0, 0.0, 30.0, 40.0, 50.0, 60.0);
+        when(amountSet.wasNull()).thenReturn(false, true, false, false, false, false);
+        ResultSet citySet = mock(ResultSet.class);
+        when(citySet.getString(1)).thenReturn("Ankara", "İzmir", "Ankara", null, "İstanbul", "Ankara");
+        ResultSet timeSet = mock(ResultSet.class);
+        when(timeSet.getObject(1)).thenReturn(Timestamp.valueOf("2024-01-01 10:00:00"), Timestamp.valueOf("2024-01-01 12:00:00"),
+                Timestamp.valueOf("2024-01-02 09:00:00"), Timestamp.valueOf("2024-01-03 00:00:00"),
+                Timestamp.valueOf("2024-01-03 18:30:15"), null);
+        for (int row = 0; row < 6; row++) {
+            ids.read(idSet, 1);
+            amounts.read(amountSet, 1);
+            cities.read(citySet, 1);
+            times.read(timeSet, 1);
+        }
+        List<Map<String, String>> columns = List.of(
+                Map.of("name", "id", "type", "int8"),
+                Map.of("name", "amount", "type", "float8"),
+                Map.of("name", "city", "type", "varchar"),
+                Map.of("name", "ts", "type", "timestamp"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarBinaryWriter.write(new ColumnarResult(columns, List.of(ids, amounts, cities, times), 6), out);
+        snapshot = ColumnarSnapshot.parse(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @Test
+    void readsValuesBackWithOriginalTypes() {
+        assertThat(snapshot.getRowCount()).isEqualTo(6);
+        assertThat(snapshot.column("id").get(5)).isEqualTo(6L);
+        assertThat(snapshot.column("amount").get(1)).isNull();
+        assertThat(snapshot.column("city").get(1)).isEqualTo("İzmir");
+        assertThat(snapshot.column("city").get(3)).isNull();
+        assertThat(snapshot.column("ts").get(4)).isEqualTo(Timestamp.valueOf("2024-01-03 18:30:15"));
+        assertThat(snapshot.column("ts").get(5)).isNull();
+    }
+
+    @Test
+    void filtersSortsProjectsAndPages() {
+        Map<String, Object> response = SnapshotQuery.run(snapshot, Map.of(
+                "columns", List.of("id", "amount"),
+                "filters", List.of(Map.of("column", "city", "op", "in", "value", List.of("Ankara", "İstanbul")),
+                        Map.of("column", "ts", "op", "gte", "value", "2024-01-01 11:00")),
+                "sort", List.of(Map.of("column", "amount", "direction", "desc")),
+                "limit", 1));
+
+        assertThat(response).containsEntry("totalRows", 2);
+        assertThat((List<Map<String, Object>>) response.get("data")).containsExactly(
+                Map.of("id", 5L, "amount", 50.0));
+    }
+
+    @Test
+    void sortsNullsLastAscending() {
+        Map<String, Object> response = SnapshotQuery.run(snapshot, Map.of(
+                "columns", List.of("id"),
+                "sort", List.of(Map.of("column", "city"), Map.of("column", "id", "direction", "desc"))));
+
+        assertThat((List<Map<String, Object>>) response.get("data")).extracting(row -> row.get("id"))
+                .containsExactly(6L, 3L, 1L, 5L, 2L, 4L);
+    }
+
+    @Test
+    void aggregatesLikeCompiledQuery() {
+        Map<String, Object> byDay = SnapshotQuery.run(snapshot, Map.of(
+                "aggregation", Map.of("x", "ts", "y", "amount", "function", "sum", "bucket", "day")));
+        Map<String, Object> byCity = SnapshotQuery.run(snapshot, Map.of(
+                "aggregation", Map.of("x", "city", "function", "count")));
+
+        assertThat((List<Map<String, Object>>) byDay.get("data")).extracting(row -> row.get("amount"))
+                .containsExactly(10.0, 30.0, 90.0, 60.0);
+        assertThat((List<Map<String, Object>>) byDay.get("data")).extracting(row -> row.get("ts"))
+                .containsExactly(Timestamp.valueOf("2024-01-01 00:00:00"), Timestamp.valueOf("2024-01-02 00:00:00"),
+                        Timestamp.valueOf("2024-01-03 00:00:00"), null);
+        assertThat((List<Map<String, Object>>) byCity.get("data")).extracting(row -> row.get("count"))
+                .containsExactly(3L, 1L, 1L, 1L);
+    }
+
+    @Test
+    void filtersAndSortsTimestampsNumerically() {
+        Map<String, Object> response = SnapshotQuery.run(snapshot, Map.of(
+                "columns", List.of("id"),
+                "filters", List.of(Map.of("column", "ts", "op", "lt", "value", "2024-01-03")),
+                "sort", List.of(Map.of("column", "ts", "direction", "desc"))));
+
+        assertThat((List<Map<String, Object>>) response.get("data")).extracting(row -> row.get("id"))
+                .containsExactly(3L, 2L, 1L);
+        assertThatThrownBy(() -> SnapshotQuery.run(snapshot, Map.of(
+                "filters", List.of(Map.of("column", "ts", "op", "gt", "value", "dün")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownColumnsAndOperators() {
+        assertThatThrownBy(() -> SnapshotQuery.run(snapshot, Map.of("columns", List.of("missing"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SnapshotQuery.run(snapshot, Map.of("filters", List.of(Map.of("column", "id", "op", "like", "value", 1)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.chartvisualizerbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartitionedScanServiceTest {
+
+    private static final List<Map<String, String>> COLUMNS = List.of(Map.of("name", "id", "type", "int4"));
+
+    private final PartitionedScanService service = service();
+
+    @Test
+    void orderedScanReturnsPartitionsInOrderWhenLaterPartitionFinishesFirst() throws Exception {
+        PartitionedScanService.Scan scan = service.new Scan(COLUMNS, 2, true, QueryContext.none(), 0);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        Thread second = new Thread(() -> {
+            scan.read(1, () -> cursor(4));
+            secondDone.countDown();
+        });
+        second.start();
+        secondDone.await();
+        Thread first = new Thread(() -> scan.read(0, () -> cursor(1, 2, 3)));
+        first.start();
+
+        assertThat(drain(scan)).containsExactly(1, 2, 3, 4);
+        first.join();
+        second.join();
+    }
+
+    @Test
+    void unorderedScanReturnsEveryRowAcrossBatches() throws Exception {
+        PartitionedScanService.Scan scan = service.new Scan(COLUMNS, 3, false, QueryContext.none(), 0);
+        List<Thread> readers = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            int base = p * 10;
+            int index = p;
+            readers.add(new Thread(() -> scan.read(index, () -> cursor(base + 1, base + 2, base + 3))));
+        }
+        readers.forEach(Thread::start);
+
+        assertThat(drain(scan)).containsExactlyInAnyOrder(1, 2, 3, 11, 12, 13, 21, 22, 23);
+        for (Thread reader : readers) reader.join();
+    }
+
+    @Test
+    void firstPartitionFailureIsRethrownToConsumer() {
+        PartitionedScanService.Scan scan = service.new Scan(COLUMNS, 2, true, QueryContext.none(), 0);
+        scan.read(0, () -> {
+            throw new SQLException("bağlantı reddedildi", "08001");
+        });
+        scan.read(1, () -> cursor(1));
+
+        assertThatThrownBy(scan::next)
+                .isInstanceOf(SQLException.class)
+                .extracting(e -> ((SQLException) e).getSQLState()).isEqualTo("08001");
+    }
+
+    @Test
+    void consumerTimesOutWhilePartitionHasNotStarted() {
+        QueryContext context = new QueryContext("u", "r", 200L);
+        PartitionedScanService.Scan scan = service.new Scan(COLUMNS, 2, true, context, 200);
+        // İkinci bölüm biter, tüketicinin beklediği ilk bölüm hiç başlamaz (işçi havuzu dolu)
+        scan.read(1, () -> cursor(1));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(scan::next)
+                .isInstanceOf(SQLException.class)
+                .extracting(e -> ((SQLException) e).getSQLState()).isEqualTo("57014");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+        assertThat(context.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.TIMEOUT);
+    }
+
+    @Test
+    void consumerStopsWhenRequestIsCancelled() throws Exception {
+        QueryContext context = new QueryContext("u", "r", null);
+        PartitionedScanService.Scan scan = service.new Scan(COLUMNS, 1, true, context, 0);
+        // Bölüm başlamadan istek iptal edilir (/cancel/{requestId})
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(150);
+            } catch (InterruptedException e) {
+                return;
+            }
+            context.markCancelled(RunningQueryRegistry.CancelReason.CANCELLED);
+        });
+        canceller.start();
+
+        assertThatThrownBy(scan::next)
+                .isInstanceOf(SQLException.class)
+                .extracting(e -> ((SQLException) e).getSQLState()).isEqualTo("57014");
+        assertThat(context.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.CANCELLED);
+        canceller.join();
+    }
+
+    private static PartitionedScanService service() {
+        PartitionedScanService service = new PartitionedScanService();
+        ReflectionTestUtils.setField(service, "batchRows", 2);
+        ReflectionTestUtils.setField(service, "queuedBatches", 1);
+        return service;
+    }
+
+    private static List<Integer> drain(PartitionedScanService.Scan scan) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        Object[] values;
+        while ((values = scan.next()) != null) {
+            ids.add((Integer) values[0]);
+        }
+        return ids;
+    }
+
+    private static QueryCursor cursor(Integer... ids) throws SQLException {
+        QueryCursor cursor = mock(QueryCursor.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        AtomicInteger position = new AtomicInteger(-1);
+        when(cursor.columnCount()).thenReturn(1);
+        when(cursor.resultSet()).thenReturn(resultSet);
+        when(cursor.next()).thenAnswer(invocation -> position.incrementAndGet() < ids.length);
+        when(resultSet.getObject(anyInt())).thenAnswer(invocation -> ids[position.get()]);
+        return cursor;
+    }
+}
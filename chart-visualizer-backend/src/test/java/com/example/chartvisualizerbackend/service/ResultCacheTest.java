@@ -0,0 +1,170 @@
+package com.example.chartvisualizerbackend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultCacheTest {
+
+    private final RunningQueryRegistry registry = new RunningQueryRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ResultCache cache = cache(1000);
+
+    @AfterEach
+    void stopThreads() {
+        registry.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() throws Exception {
+        ResultCache.CacheKey key = key("a");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> get(key, new QueryContext("u", "1", null), () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitQuietly(release);
+            return "sonuç";
+        }), executor);
+        loading.await();
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> get(key, new QueryContext("u", "2", null), () -> {
+            loads.incrementAndGet();
+            return "ikinci";
+        }), executor);
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("sonuç");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("sonuç");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStats()).containsEntry("misses", 1L).containsEntry("coalesced", 1L);
+    }
+
+    @Test
+    void followerRetriesWhenLeaderIsCancelledByItsOwnTimeout() throws Exception {
+        ResultCache.CacheKey key = key("a");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> get(key, new QueryContext("u", "1", 500L), () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            throw new SQLException("Sorgu iptal edildi.", "57014");
+        }), executor);
+        loading.await();
+        QueryContext followerContext = new QueryContext("u", "2", null);
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> get(key, followerContext, () -> "kendi sonucu"), executor);
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("kendi sonucu");
+        assertThat(followerContext.getCancelReason()).isNull();
+    }
+
+    @Test
+    void followerLeavesAfterItsOwnTimeoutWhileLeaderKeepsRunning() throws Exception {
+        ResultCache.CacheKey key = key("a");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> get(key, new QueryContext("u", "1", null), () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return "sonuç";
+        }), executor);
+        loading.await();
+        QueryContext followerContext = new QueryContext("u", "2", 200L);
+
+        assertThatThrownBy(() -> cache.get(key, "chart", followerContext, () -> "ikinci"))
+                .isInstanceOf(SQLException.class)
+                .extracting(e -> ((SQLException) e).getSQLState()).isEqualTo("57014");
+        assertThat(followerContext.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.TIMEOUT);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("sonuç");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenByteLimitIsExceeded() throws Exception {
+        // 100 karakterlik her sonuç 240 bayt sayılır; 1000 baytlık sınıra dört sonuç sığar
+        for (String name : new String[]{"a", "b", "c", "d"}) {
+            cache.get(key(name), "chart", QueryContext.none(), () -> "x".repeat(100));
+        }
+        cache.get(key("a"), "chart", QueryContext.none(), () -> "okunmamalı");
+        cache.get(key("e"), "chart", QueryContext.none(), () -> "x".repeat(100));
+
+        assertThat(cache.contains(key("a"), "chart")).isTrue();
+        assertThat(cache.contains(key("b"), "chart")).isFalse();
+        assertThat(cache.contains(key("e"), "chart")).isTrue();
+        assertThat(cache.getStats()).containsEntry("evictions", 1L).containsEntry("bytes", 960L);
+    }
+
+    @Test
+    void doesNotStoreResultLargerThanQuarterOfLimit() throws Exception {
+        cache.get(key("a"), "chart", QueryContext.none(), () -> "x".repeat(200));
+
+        assertThat(cache.contains(key("a"), "chart")).isFalse();
+    }
+
+    private Object get(ResultCache.CacheKey key, QueryContext context, ResultCache.Loader loader) {
+        try {
+            return cache.get(key, "chart", context, loader);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForCoalesced(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) cache.getStats().get("coalesced") < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Bekleyen sayaç artışından hemen sonra beklemeye geçer
+        Thread.sleep(50);
+    }
+
+    private ResultCache cache(long maxBytes) {
+        MockEnvironment environment = new MockEnvironment();
+        ReflectionTestUtils.setField(registry, "environment", environment);
+        ReflectionTestUtils.setField(registry, "defaultTimeoutMs", 120000L);
+        ReflectionTestUtils.setField(registry, "cancellerThreads", 2);
+        ReflectionTestUtils.setField(registry, "cancellerQueue", 10);
+        registry.start();
+
+        ResultCache cache = new ResultCache();
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+        ReflectionTestUtils.setField(cache, "defaultTtlMs", 60000L);
+        ReflectionTestUtils.setField(cache, "environment", environment);
+        ReflectionTestUtils.setField(cache, "runningQueryRegistry", registry);
+        return cache;
+    }
+
+    private ResultCache.CacheKey key(String name) {
+        return cache.keyFor(Map.of("host", "localhost", "dbName", "db", "user", "u", "password", "p", "objectName", name));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.chartvisualizerbackend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunningQueryRegistryTest {
+
+    private final RunningQueryRegistry registry = new RunningQueryRegistry();
+
+    @BeforeEach
+    void startRegistry() {
+        ReflectionTestUtils.setField(registry, "environment", new MockEnvironment().withProperty("chart.query.timeout.slow", "100"));
+        ReflectionTestUtils.setField(registry, "defaultTimeoutMs", 120000L);
+        ReflectionTestUtils.setField(registry, "cancellerThreads", 2);
+        ReflectionTestUtils.setField(registry, "cancellerQueue", 10);
+        registry.start();
+    }
+
+    @AfterEach
+    void stopRegistry() {
+        registry.stop();
+    }
+
+    @Test
+    void newQueryWithSameRequestIdSupersedesPreviousOne() throws Exception {
+        QueryContext first = new QueryContext("u", "chart-1", null);
+        QueryContext second = new QueryContext("u", "chart-1", null);
+        QueryContext otherUser = new QueryContext("v", "chart-1", null);
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        try (RunningQueryRegistry.RunningQuery ignored = registry.register(first, "db", aborted::countDown);
+             RunningQueryRegistry.RunningQuery other = registry.register(otherUser, "db", () -> { });
+             RunningQueryRegistry.RunningQuery current = registry.register(second, "db", () -> { })) {
+            assertThat(aborted.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(first.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.SUPERSEDED);
+            assertThat(second.getCancelReason()).isNull();
+            assertThat(otherUser.getCancelReason()).isNull();
+        }
+    }
+
+    @Test
+    void queriesSharingContextDoNotSupersedeEachOther() {
+        QueryContext context = new QueryContext("u", "chart-1", null);
+
+        try (RunningQueryRegistry.RunningQuery first = registry.register(context, "db", () -> { });
+             RunningQueryRegistry.RunningQuery second = registry.register(context, "db", () -> { })) {
+            assertThat(context.getCancelReason()).isNull();
+            assertThat(registry.cancel("u", "chart-1")).isTrue();
+            assertThat(context.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.CANCELLED);
+        }
+    }
+
+    @Test
+    void deadlineUsesShorterOfRequestAndTargetLimit() throws Exception {
+        QueryContext context = new QueryContext("u", null, 150L);
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        try (RunningQueryRegistry.RunningQuery ignored = registry.register(context, "db", aborted::countDown)) {
+            assertThat(aborted.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(context.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.TIMEOUT);
+        }
+        assertThat(registry.timeoutFor("db", 500000L)).isEqualTo(120000L);
+        assertThat(registry.timeoutFor("slow", null)).isEqualTo(100L);
+    }
+
+    @Test
+    void closedQueryIsNeitherTimedOutNorCancelled() throws Exception {
+        QueryContext context = new QueryContext("u", "chart-1", 100L);
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        registry.register(context, "db", aborted::countDown).close();
+
+        assertThat(aborted.await(300, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(registry.cancel("u", "chart-1")).isFalse();
+        assertThat(context.getCancelReason()).isNull();
+    }
+
+    @Test
+    void slowCancelDoesNotDelayOtherDeadlines() throws Exception {
+        QueryContext slow = new QueryContext("u", null, 100L);
+        QueryContext fast = new QueryContext("u", null, 200L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastAborted = new CountDownLatch(1);
+
+        // Ulaşılamayan bir hedefe gönderilen iptal gibi uzun süren abort
+        RunningQueryRegistry.RunningQuery stuck = registry.register(slow, "db", () -> awaitQuietly(release));
+        RunningQueryRegistry.RunningQuery other = registry.register(fast, "db", fastAborted::countDown);
+        try {
+            assertThat(fastAborted.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(slow.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.TIMEOUT);
+            assertThat(fast.getCancelReason()).isEqualTo(RunningQueryRegistry.CancelReason.TIMEOUT);
+        } finally {
+            // close, süren abort bitene kadar bekler (bağlantı havuza dönmeden iptal gönderilmeli)
+            release.countDown();
+            stuck.close();
+            other.close();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.chartvisualizerbackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TargetBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TargetBulkhead bulkhead = bulkhead(300L);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stopThreads() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitTimeoutIsReportedAsServiceUnavailable() {
+        TargetBulkhead.Permit running = bulkhead.acquire("DB-1", "sales");
+
+        long started = System.nanoTime();
+        // isQueueFull() == false -> ChartController 503 döner
+        assertThatThrownBy(() -> bulkhead.acquire("db-1", "sales"))
+                .isInstanceOfSatisfying(TargetBusyException.class, e -> assertThat(e.isQueueFull()).isFalse());
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(250L);
+        assertThat(stat("timedOut")).isEqualTo(1L);
+        assertThat(stat("waiting")).isEqualTo(0);
+
+        running.close();
+        running.close();
+        bulkhead.acquire("db-1", "sales").close();
+        assertThat(stat("running")).isEqualTo(0);
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediatelyAsTooManyRequests() throws Exception {
+        TargetBulkhead slowBulkhead = bulkhead(5000L);
+        TargetBulkhead.Permit running = slowBulkhead.acquire("db-1", "sales");
+        CompletableFuture<TargetBulkhead.Permit> waiter = CompletableFuture.supplyAsync(() -> slowBulkhead.acquire("db-1", "sales"), executor);
+        awaitWaiting(slowBulkhead, 1);
+
+        long started = System.nanoTime();
+        // isQueueFull() == true -> ChartController 429 döner
+        assertThatThrownBy(() -> slowBulkhead.acquire("db-1", "sales"))
+                .isInstanceOfSatisfying(TargetBusyException.class, e -> assertThat(e.isQueueFull()).isTrue());
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000L);
+        assertThat(slowBulkhead.getStats().get(0).get("rejected")).isEqualTo(1L);
+
+        running.close();
+        waiter.get(2, TimeUnit.SECONDS).close();
+        assertThat(slowBulkhead.getStats().get(0).get("running")).isEqualTo(0);
+    }
+
+    @Test
+    void otherTargetsAreNotAffected() {
+        try (TargetBulkhead.Permit ignored = bulkhead.acquire("db-1", "sales")) {
+            bulkhead.acquire("db-2", "sales").close();
+            bulkhead.acquire("db-1", "hr").close();
+        }
+    }
+
+    @Test
+    void evictionSkipsTargetsInUseAndRemovesIdleOnesWithTheirMeters() throws Exception {
+        TargetBulkhead slowBulkhead = bulkhead(5000L);
+        TargetBulkhead.Permit running = slowBulkhead.acquire("db-1", "sales");
+        CompletableFuture<TargetBulkhead.Permit> waiter = CompletableFuture.supplyAsync(() -> slowBulkhead.acquire("db-1", "sales"), executor);
+        awaitWaiting(slowBulkhead, 1);
+
+        slowBulkhead.evictIdleTargets();
+        assertThat(slowBulkhead.getStats()).hasSize(1);
+
+        running.close();
+        TargetBulkhead.Permit next = waiter.get(2, TimeUnit.SECONDS);
+        slowBulkhead.evictIdleTargets();
+        assertThat(slowBulkhead.getStats()).hasSize(1);
+
+        next.close();
+        slowBulkhead.evictIdleTargets();
+        assertThat(slowBulkhead.getStats()).isEmpty();
+        assertThat(meterRegistry.find("chart.bulkhead.running").tag("target", "db-1/sales").gauge()).isNull();
+
+        // Atılan hedefe gelen yeni istek yeni bir bölme ve metrik oluşturur
+        slowBulkhead.acquire("db-1", "sales").close();
+        assertThat(meterRegistry.find("chart.bulkhead.running").tag("target", "db-1/sales").gauge()).isNotNull();
+    }
+
+    private TargetBulkhead bulkhead(long waitTimeoutMs) {
+        TargetBulkhead bulkhead = new TargetBulkhead();
+        ReflectionTestUtils.setField(bulkhead, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkhead, "maxWaiting", 1);
+        ReflectionTestUtils.setField(bulkhead, "waitTimeoutMs", waitTimeoutMs);
+        ReflectionTestUtils.setField(bulkhead, "evictAfterMs", 0L);
+        ReflectionTestUtils.setField(bulkhead, "meterRegistry", meterRegistry);
+        return bulkhead;
+    }
+
+    private Object stat(String name) {
+        List<Map<String, Object>> stats = bulkhead.getStats();
+        assertThat(stats).hasSize(1);
+        return stats.get(0).get(name);
+    }
+
+    private static void awaitWaiting(TargetBulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            List<Map<String, Object>> stats = bulkhead.getStats();
+            if (!stats.isEmpty() && Integer.valueOf(expected).equals(stats.get(0).get("waiting"))) return;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Bekleyen istek sayısı " + expected + " olmadı");
+    }
+}
@@ -0,0 +1,21 @@
+-- Yük testi için sentetik veri kümeleri. Tekrar çalıştırılabilir; tablo bir kez oluşturulur.
+-- load_small_view: satır cevabı için 1000 satır, load_large_view: sunucuda gruplanan 1M satır,
+-- load_readings_since: parametreli fonksiyon (katalog ve parametre bağlama yolu için).
+CREATE TABLE IF NOT EXISTS load_readings AS
+SELECT g AS id,
+       TIMESTAMP '2024-01-01 00:00:00' + g * INTERVAL '1 second' AS ts,
+       (ARRAY['eu', 'us', 'apac', 'latam'])[1 + g % 4] AS region,
+       ((g * 7919) % 100000) / 100.0::float8 AS value
+FROM generate_series(1::bigint, 1000000) AS g;
+
+CREATE INDEX IF NOT EXISTS load_readings_ts ON load_readings (ts);
+
+CREATE OR REPLACE VIEW load_small_view AS
+SELECT * FROM load_readings WHERE id <= 1000;
+
+CREATE OR REPLACE VIEW load_large_view AS
+SELECT * FROM load_readings;
+
+CREATE OR REPLACE FUNCTION load_readings_since(p_since timestamp, p_region text)
+RETURNS SETOF load_readings LANGUAGE sql STABLE AS
+'SELECT * FROM load_readings WHERE ts >= p_since AND region = p_region ORDER BY ts LIMIT 500';